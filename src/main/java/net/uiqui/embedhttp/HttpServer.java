@@ -1,6 +1,7 @@
 package net.uiqui.embedhttp;
 
 import net.uiqui.embedhttp.server.io.IOServer;
+import net.uiqui.embedhttp.server.nio.NioServer;
 
 /**
  * Interface for an HTTP server.
@@ -51,6 +52,20 @@ public interface HttpServer {
      * @return A new instance of the HTTP server.
      */
     static HttpServer newInstance(int port) {
-        return new IOServer(port, DEFAULT_BACKLOG);
+        return newInstance(port, ServerEngine.IO);
+    }
+
+    /**
+     * Creates a new instance of the HTTP server with the specified port, engine and default backlog.
+     *
+     * @param port   The port on which the server will listen for incoming connections.
+     * @param engine The I/O engine used to accept and serve connections.
+     * @return A new instance of the HTTP server.
+     */
+    static HttpServer newInstance(int port, ServerEngine engine) {
+        return switch (engine) {
+            case IO -> new IOServer(port, DEFAULT_BACKLOG);
+            case NIO -> new NioServer(port, DEFAULT_BACKLOG);
+        };
     }
 }
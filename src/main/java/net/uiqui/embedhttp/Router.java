@@ -4,6 +4,8 @@ import net.uiqui.embedhttp.api.HttpMethod;
 import net.uiqui.embedhttp.api.HttpRequestHandler;
 import net.uiqui.embedhttp.routing.RouterImpl;
 
+import java.util.function.Consumer;
+
 /**
  * Interface for a router that maps HTTP request paths to handlers.
  * <p>
@@ -13,6 +15,8 @@ import net.uiqui.embedhttp.routing.RouterImpl;
  * <p>
  * The path patterns can include parameters, which are indicated by a colon ":" followed by the parameter name,
  * that can include letters and digits, but must start with a letter.
+ * The last segment can also be a catch-all, indicated by an asterisk "*" followed by the parameter name,
+ * that captures the rest of the path, e.g. "/static/*file".
  * <p>
  * * Example usage:
  * <pre>
@@ -38,6 +42,22 @@ public interface Router {
      */
     Router withRoute(HttpMethod method, String pathPattern, HttpRequestHandler handler);
 
+    /**
+     * Registers a handler for a specific HTTP method and path pattern that consumes the request body as a stream.
+     * <p>
+     * The body is not loaded into memory before the handler runs, and it is not subject to the maximum body size.
+     * The handler reads it incrementally through {@link net.uiqui.embedhttp.api.HttpRequest#getBodyStream()}.
+     * Any part of the body left unread after the handler returns is discarded, or the connection is closed if
+     * too much remains.
+     * </p>
+     *
+     * @param method      The HTTP method.
+     * @param pathPattern The path pattern to match against incoming requests.
+     * @param handler     The handler to be invoked when a request matches the specified method and path pattern.
+     * @return The current Router instance for method chaining.
+     */
+    Router withStreamingRoute(HttpMethod method, String pathPattern, HttpRequestHandler handler);
+
     /**
      * Registers a handler for GET method and path pattern.
      *
@@ -101,6 +121,82 @@ public interface Router {
      */
     Router patch(String pathPattern, HttpRequestHandler handler);
 
+    /**
+     * Mounts the routes of another router under a path prefix.
+     * <p>
+     * The prefix is joined to every route of the mounted router, e.g. a "/users/:id" route mounted at "/api/v1"
+     * answers "/api/v1/users/:id". The prefix can include parameters, but not a catch-all.
+     * The routes are copied into this router when it is compiled, at server start, so a mounted route
+     * is matched as fast as one registered directly, and routes added to the mounted router until then are included.
+     * Only routes are mounted, the virtual hosts and route cache of the mounted router are ignored.
+     * </p>
+     *
+     * @param prefix The path prefix for the mounted routes.
+     * @param router The router with the routes to mount, created with {@link #newRouter()}.
+     * @return The current Router instance for method chaining.
+     * @throws net.uiqui.embedhttp.routing.InvalidRouteException if the prefix is invalid.
+     * @throws IllegalArgumentException if the router is this router.
+     */
+    Router mount(String prefix, Router router);
+
+    /**
+     * Registers a group of routes sharing a path prefix.
+     * <p>
+     * The builder receives a new router where the routes are registered without the prefix,
+     * which is then mounted under the prefix, see {@link #mount(String, Router)}.
+     * </p>
+     * <pre>
+     *     Router router = Router.newRouter()
+     *     .group("/api/v1", api -> api
+     *       .get("/users/:id", request -> ...)
+     *       .post("/users", request -> ...)
+     *     );
+     * </pre>
+     *
+     * @param prefix  The path prefix for the routes of the group.
+     * @param builder The function registering the routes of the group.
+     * @return The current Router instance for method chaining.
+     * @throws net.uiqui.embedhttp.routing.InvalidRouteException if the prefix is invalid.
+     */
+    Router group(String prefix, Consumer<Router> builder);
+
+    /**
+     * Registers a router for the requests sent to a given host.
+     * <p>
+     * The host pattern is either an exact host name, e.g. "api.example.com", or a wildcard for its subdomains,
+     * e.g. "*.example.com". The host is taken from the Host header, ignoring case and port, before the method and
+     * path are matched. Exact names take precedence over wildcards, and longer wildcards over shorter ones.
+     * Requests for other hosts are handled by the routes of this router.
+     * </p>
+     *
+     * @param hostPattern The host name or wildcard pattern.
+     * @param router      The router handling the requests for the host, created with {@link #newRouter()}.
+     * @return The current Router instance for method chaining.
+     * @throws IllegalArgumentException if the host pattern is invalid or the router is this router.
+     */
+    Router withHost(String hostPattern, Router router);
+
+    /**
+     * Enables a bounded cache of route matches for paths with parameters.
+     * <p>
+     * Requests with the same method and path reuse the previous match instead of walking the route tree again.
+     * Static paths are always found with a single lookup and are not cached.
+     * The cache is disabled by default.
+     * </p>
+     *
+     * @param maxEntries The maximum number of cached matches.
+     * @return The current Router instance for method chaining.
+     * @throws IllegalArgumentException if maxEntries is not positive.
+     */
+    Router withRouteCache(int maxEntries);
+
+    /**
+     * Returns the fraction of lookups served by the route cache.
+     *
+     * @return The hit rate between 0 and 1, or 0 if the cache is disabled or unused.
+     */
+    double getRouteCacheHitRate();
+
     /**
      * Creates a new router instance.
      *
@@ -0,0 +1,15 @@
+package net.uiqui.embedhttp;
+
+/**
+ * Enum representing the I/O engines available to run an HTTP server.
+ */
+public enum ServerEngine {
+    /**
+     * Blocking sockets, with one virtual thread per open connection.
+     */
+    IO,
+    /**
+     * Non-blocking channels multiplexed by a selector, idle connections don't hold a thread.
+     */
+    NIO
+}
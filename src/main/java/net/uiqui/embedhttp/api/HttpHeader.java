@@ -7,12 +7,15 @@ package net.uiqui.embedhttp.api;
 public enum HttpHeader {
     ACCEPT("Accept"),
     ACCEPT_ENCODING("Accept-Encoding"),
+    ACCEPT_LANGUAGE("Accept-Language"),
+    ALLOW("Allow"),
     AUTHORIZATION("Authorization"),
     CACHE_CONTROL("Cache-Control"),
     CONTENT_LENGTH("Content-Length"),
     CONTENT_TYPE("Content-Type"),
     COOKIE("Cookie"),
     DATE("Date"),
+    EXPECT("Expect"),
     HOST("Host"),
     LOCATION("Location"),
     ORIGIN("Origin"),
@@ -1,5 +1,8 @@
 package net.uiqui.embedhttp.api;
 
+import java.io.InputStream;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
 
 /**
@@ -30,8 +33,9 @@ public interface HttpRequest {
 
     /**
      * Gets the path parameters extracted from the URL.
+     * The map is read-only, changing it throws {@link UnsupportedOperationException}.
      *
-     * @return a map of path parameter names to their values
+     * @return a read-only map of path parameter names to their values
      */
     Map<String, String> getPathParameters();
 
@@ -47,6 +51,8 @@ public interface HttpRequest {
 
     /**
      * Gets the query parameters from the URL.
+     * A parameter repeated in the query is mapped to its last value.
+     * The map is built on first access, {@link #getQueryParameter(String)} reads a single parameter without building it.
      *
      * @return a map of query parameter names to their values
      */
@@ -56,14 +62,36 @@ public interface HttpRequest {
      * Gets a specific query parameter by name.
      *
      * @param name the name of the query parameter
-     * @return the value of the query parameter, or null if not found
+     * @return the last value of the query parameter, or null if not found
      */
     default String getQueryParameter(String name) {
         return getQueryParameters().get(name);
     }
 
+    /**
+     * Gets the query parameters from the URL, including every value of repeated parameters.
+     *
+     * @return a map of query parameter names to their values, in the order they appear in the query
+     */
+    default Map<String, List<String>> getAllQueryParameters() {
+        var parameters = new LinkedHashMap<String, List<String>>();
+        getQueryParameters().forEach((name, value) -> parameters.put(name, List.of(value)));
+        return parameters;
+    }
+
+    /**
+     * Gets every value of a specific query parameter, like "tag" in "?tag=a&amp;tag=b".
+     *
+     * @param name the name of the query parameter
+     * @return the values of the query parameter, in the order they appear in the query, or an empty list if not found
+     */
+    default List<String> getQueryParameterValues(String name) {
+        return getAllQueryParameters().getOrDefault(name, List.of());
+    }
+
     /**
      * Gets the headers of the request.
+     * The map is built on first access, {@link #getHeader(HttpHeader)} reads a single header without building it.
      *
      * @return a map of header names to their values
      */
@@ -79,13 +107,24 @@ public interface HttpRequest {
         return getHeaders().get(name);
     }
 
+    /**
+     * Gets a specific well-known header.
+     * Well-known headers are looked up directly, without a search by name.
+     *
+     * @param header the header
+     * @return the value of the header, or null if not found
+     */
+    default String getHeader(HttpHeader header) {
+        return getHeader(header.getValue());
+    }
+
     /**
      * Gets the content type of the request.
      *
      * @return the content type as a string
      */
     default String getContentType() {
-        return getHeader(HttpHeader.CONTENT_TYPE.getValue());
+        return getHeader(HttpHeader.CONTENT_TYPE);
     }
 
     /**
@@ -94,13 +133,34 @@ public interface HttpRequest {
      * @return the accept header as a string
      */
     default String getAccept() {
-        return getHeader(HttpHeader.ACCEPT.getValue());
+        return getHeader(HttpHeader.ACCEPT);
     }
 
     /**
-     * Gets the body of the request.
+     * Gets the body of the request decoded as UTF-8.
+     * The body is decoded on first access.
      *
      * @return the body as a string
+     * @throws IllegalStateException if the route was registered to stream the request body
      */
     String getBody();
+
+    /**
+     * Gets the raw bytes of the request body, exactly as received.
+     * The returned array is shared with the request and must not be modified.
+     *
+     * @return the body as a byte array, empty if the request has no body
+     * @throws IllegalStateException if the route was registered to stream the request body
+     */
+    byte[] getBodyBytes();
+
+    /**
+     * Gets the body of the request as a stream.
+     * For routes registered with {@link net.uiqui.embedhttp.Router#withStreamingRoute}, the stream reads the body
+     * from the connection as it arrives, and can only be consumed once.
+     * For other routes, the stream reads the body already loaded in memory.
+     *
+     * @return the body as an input stream, empty if the request has no body
+     */
+    InputStream getBodyStream();
 }
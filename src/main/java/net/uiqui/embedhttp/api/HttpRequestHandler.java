@@ -1,5 +1,7 @@
 package net.uiqui.embedhttp.api;
 
+import java.io.IOException;
+
 /**
  * Interface representing an HTTP request handler.
  * Implementations of this interface define how to handle HTTP requests.
@@ -8,9 +10,12 @@ package net.uiqui.embedhttp.api;
 public interface HttpRequestHandler {
     /**
      * Handles an HTTP request and returns an HTTP response.
+     * An {@link IOException}, like a failure reading a streamed request body, is answered with
+     * a 500 Internal Server Error and the connection is closed.
      *
      * @param request the HTTP request to handle
      * @return the HTTP response generated by handling the request
+     * @throws IOException if an I/O error occurs while handling the request
      */
-    HttpResponse handle(HttpRequest request);
+    HttpResponse handle(HttpRequest request) throws IOException;
 }
@@ -2,6 +2,8 @@ package net.uiqui.embedhttp.api;
 
 import net.uiqui.embedhttp.api.impl.HttpResponseImpl;
 
+import java.nio.ByteBuffer;
+
 /**
  * Class representing an HTTP response.
  * Contains details such as the status code, headers, and body.
@@ -39,6 +41,91 @@ public interface HttpResponse {
      */
     HttpResponse setBody(String contentType, String body);
 
+    /**
+     * Sets a binary body of the response with a specific content type.
+     * The array is written as it is, and must not be modified afterwards.
+     *
+     * @param contentType the content type
+     * @param body        the body as a byte array
+     */
+    HttpResponse setBody(ContentType contentType, byte[] body);
+
+    /**
+     * Sets a binary body of the response with a specific content type.
+     * The array is written as it is, and must not be modified afterwards.
+     *
+     * @param contentType the content type as a string
+     * @param body        the body as a byte array
+     */
+    HttpResponse setBody(String contentType, byte[] body);
+
+    /**
+     * Sets a binary body of the response with a specific content type.
+     * The bytes between the buffer position and limit are written, the buffer position is not changed.
+     * The buffer content must not be modified afterwards.
+     *
+     * @param contentType the content type
+     * @param body        the body as a byte buffer
+     */
+    HttpResponse setBody(ContentType contentType, ByteBuffer body);
+
+    /**
+     * Sets a binary body of the response with a specific content type.
+     * The bytes between the buffer position and limit are written, the buffer position is not changed.
+     * The buffer content must not be modified afterwards.
+     *
+     * @param contentType the content type as a string
+     * @param body        the body as a byte buffer
+     */
+    HttpResponse setBody(String contentType, ByteBuffer body);
+
+    /**
+     * Sets a streamed body of unknown length, sent with chunked transfer encoding.
+     *
+     * @param contentType the content type
+     * @param bodyWriter  the writer that produces the body
+     */
+    HttpResponse setBody(ContentType contentType, ResponseBodyWriter bodyWriter);
+
+    /**
+     * Sets a streamed body of unknown length, sent with chunked transfer encoding.
+     *
+     * @param contentType the content type as a string
+     * @param bodyWriter  the writer that produces the body
+     */
+    HttpResponse setBody(String contentType, ResponseBodyWriter bodyWriter);
+
+    /**
+     * Sets a streamed body of known length, sent with a fixed Content-Length.
+     * The writer must produce exactly the given number of bytes.
+     *
+     * @param contentType   the content type
+     * @param contentLength the length of the body in bytes
+     * @param bodyWriter    the writer that produces the body
+     */
+    HttpResponse setBody(ContentType contentType, long contentLength, ResponseBodyWriter bodyWriter);
+
+    /**
+     * Sets a streamed body of known length, sent with a fixed Content-Length.
+     * The writer must produce exactly the given number of bytes.
+     *
+     * @param contentType   the content type as a string
+     * @param contentLength the length of the body in bytes
+     * @param bodyWriter    the writer that produces the body
+     */
+    HttpResponse setBody(String contentType, long contentLength, ResponseBodyWriter bodyWriter);
+
+    /**
+     * Freezes the response, encoding its status line, headers and body once.
+     * A frozen response is immutable and can be returned by any number of requests,
+     * only the Date header is added when it is written.
+     * Responses with a streamed body cannot be frozen.
+     *
+     * @return this response, frozen
+     * @throws IllegalStateException if the response has a streamed body
+     */
+    HttpResponse freeze();
+
     /**
      * Creates a new HTTP response with the specified status code and default message.
      *
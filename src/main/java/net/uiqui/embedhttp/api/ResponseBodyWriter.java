@@ -0,0 +1,20 @@
+package net.uiqui.embedhttp.api;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * Interface representing a response body that is written as a stream.
+ * Implementations write the body directly to the connection, without holding it in memory.
+ */
+@FunctionalInterface
+public interface ResponseBodyWriter {
+    /**
+     * Writes the response body to the output stream.
+     * The output stream must not be closed by the implementation.
+     *
+     * @param outputStream the output stream to write the body to
+     * @throws IOException if an I/O error occurs while writing the body
+     */
+    void writeTo(OutputStream outputStream) throws IOException;
+}
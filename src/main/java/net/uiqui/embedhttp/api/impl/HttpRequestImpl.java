@@ -1,19 +1,21 @@
 package net.uiqui.embedhttp.api.impl;
 
+import net.uiqui.embedhttp.api.HttpHeader;
 import net.uiqui.embedhttp.api.HttpMethod;
 import net.uiqui.embedhttp.api.HttpRequest;
 import net.uiqui.embedhttp.routing.Route;
 import net.uiqui.embedhttp.server.Request;
 
-import java.net.URLDecoder;
-import java.nio.charset.StandardCharsets;
-import java.util.HashMap;
+import java.io.InputStream;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
 
 public class HttpRequestImpl implements HttpRequest {
     private final Request request;
     private final Route route;
     private final Map<String, String> pathParameters;
+    private final Lazy<Map<String, List<String>>> queryParameterValues = Lazy.of(this::parseQuery);
     private final Lazy<Map<String, String>> queryParameters = Lazy.of(this::extractQueryParameters);
 
     public HttpRequestImpl(Request request, Route route, Map<String, String> pathParameters) {
@@ -42,16 +44,46 @@ public class HttpRequestImpl implements HttpRequest {
         return queryParameters.get();
     }
 
+    @Override
+    public String getQueryParameter(String name) {
+        return QueryString.findLast(request.getQuery(), name);
+    }
+
+    @Override
+    public Map<String, List<String>> getAllQueryParameters() {
+        return queryParameterValues.get();
+    }
+
+    @Override
+    public List<String> getQueryParameterValues(String name) {
+        return QueryString.findAll(request.getQuery(), name);
+    }
+
     @Override
     public Map<String, String> getHeaders() {
         return request.getHeaders();
     }
 
+    @Override
+    public String getHeader(HttpHeader header) {
+        return request.header(header);
+    }
+
     @Override
     public String getBody() {
         return request.getBody();
     }
 
+    @Override
+    public byte[] getBodyBytes() {
+        return request.getBodyBytes();
+    }
+
+    @Override
+    public InputStream getBodyStream() {
+        return request.getBodyStream();
+    }
+
     @Override
     public Map<String, String> getPathParameters() {
         return pathParameters;
@@ -65,34 +97,19 @@ public class HttpRequestImpl implements HttpRequest {
         return route;
     }
 
-    protected Map<String, String> extractQueryParameters() {
-        var parameters = new HashMap<String, String>();
-        var query = request.getQuery();
+    private Map<String, List<String>> parseQuery() {
+        return QueryString.parse(request.getQuery());
+    }
 
-        if (query.isEmpty()) {
-            return parameters;
-        }
+    protected Map<String, String> extractQueryParameters() {
+        var parameters = new LinkedHashMap<String, String>();
 
-        var queryParts = query.split("&");
-        for (var part : queryParts) {
-            if (part.isEmpty()) continue;
-
-            var splitIndex = part.indexOf('=');
-            if (splitIndex == -1) {
-                // Handle valueless parameters: ?flag
-                var key = decodeParam(part);
-                parameters.put(key, "");
-            } else {
-                var key = decodeParam(part.substring(0, splitIndex));
-                var value = decodeParam(part.substring(splitIndex + 1));
-                parameters.put(key, value);
-            }
+        // The last value of a repeated parameter wins, like getQueryParameter does
+        for (var entry : queryParameterValues.get().entrySet()) {
+            var values = entry.getValue();
+            parameters.put(entry.getKey(), values.get(values.size() - 1));
         }
 
         return parameters;
     }
-
-    private static String decodeParam(String value) {
-        return URLDecoder.decode(value, StandardCharsets.UTF_8);
-    }
 }
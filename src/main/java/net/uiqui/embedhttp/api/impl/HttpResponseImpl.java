@@ -4,31 +4,52 @@ import net.uiqui.embedhttp.api.ContentType;
 import net.uiqui.embedhttp.api.HttpHeader;
 import net.uiqui.embedhttp.api.HttpResponse;
 import net.uiqui.embedhttp.api.HttpStatusCode;
+import net.uiqui.embedhttp.api.ResponseBodyWriter;
 import net.uiqui.embedhttp.server.InsensitiveMap;
 import net.uiqui.embedhttp.server.ConnectionHeader;
+import net.uiqui.embedhttp.server.io.EncodedResponse;
+import net.uiqui.embedhttp.server.io.ResponseEncoder;
 
+import java.nio.ByteBuffer;
 import java.nio.charset.StandardCharsets;
 import java.util.Map;
 import java.util.Objects;
 
 public class HttpResponseImpl implements HttpResponse {
+    public static final String TRANSFER_ENCODING_CHUNKED = "chunked";
+
     private final int statusCode;
     private final String statusMessage;
-    private final Map<String, String> headers = new InsensitiveMap();
+    private final Map<String, String> headers;
     private String body = null;
+    private byte[] bodyBytes = null;
+    private int bodyOffset = 0;
+    private int bodyLength = 0;
+    private ResponseBodyWriter bodyWriter = null;
     private boolean closeConnection = false;
+    private EncodedResponse encoded = null;
+    private HttpResponseImpl closingResponse = null;
+    private HttpResponseImpl bodilessResponse = null;
+    private boolean bodyOmitted = false;
 
     public HttpResponseImpl(HttpStatusCode statusCode) {
         this(statusCode.getCode(), statusCode.getReasonPhrase());
     }
 
     public HttpResponseImpl(int statusCode, String statusMessage) {
+        this(statusCode, statusMessage, new InsensitiveMap());
+    }
+
+    private HttpResponseImpl(int statusCode, String statusMessage, Map<String, String> headers) {
         this.statusCode = statusCode;
         this.statusMessage = statusMessage;
+        this.headers = headers;
     }
 
     @Override
     public HttpResponse setHeader(HttpHeader name, String value) {
+        ensureNotFrozen();
+
         if (HttpHeader.CONNECTION == name) {
             closeConnection = ConnectionHeader.CLOSE.getValue().equals(value);
         }
@@ -38,6 +59,7 @@ public class HttpResponseImpl implements HttpResponse {
 
     @Override
     public HttpResponse setHeader(String name, String value) {
+        ensureNotFrozen();
         Objects.requireNonNull(name, "Header name cannot be null");
         Objects.requireNonNull(value, "Header value cannot be null");
         headers.put(name, value);
@@ -51,18 +73,228 @@ public class HttpResponseImpl implements HttpResponse {
 
     @Override
     public HttpResponse setBody(String contentType, String body) {
+        ensureNotFrozen();
         Objects.requireNonNull(contentType, "Content-Type cannot be null");
         Objects.requireNonNull(body, "Body cannot be null");
-        
-        // Calculate byte length for Content-Length header (HTTP/1.1 requires bytes, not characters)
-        byte[] bodyBytes = body.getBytes(StandardCharsets.UTF_8);
-        
-        setHeader(HttpHeader.CONTENT_TYPE, contentType);
-        setHeader(HttpHeader.CONTENT_LENGTH, String.valueOf(bodyBytes.length));
+
+        // The encoded bytes are kept, they give the Content-Length and are written as they are
+        var encodedBody = body.getBytes(StandardCharsets.UTF_8);
+        setBodyBytes(contentType, encodedBody, 0, encodedBody.length);
         this.body = body;
         return this;
     }
 
+    @Override
+    public HttpResponse setBody(ContentType contentType, byte[] body) {
+        return setBody(contentType.getValue(), body);
+    }
+
+    @Override
+    public HttpResponse setBody(String contentType, byte[] body) {
+        ensureNotFrozen();
+        Objects.requireNonNull(contentType, "Content-Type cannot be null");
+        Objects.requireNonNull(body, "Body cannot be null");
+
+        setBodyBytes(contentType, body, 0, body.length);
+        return this;
+    }
+
+    @Override
+    public HttpResponse setBody(ContentType contentType, ByteBuffer body) {
+        return setBody(contentType.getValue(), body);
+    }
+
+    @Override
+    public HttpResponse setBody(String contentType, ByteBuffer body) {
+        ensureNotFrozen();
+        Objects.requireNonNull(contentType, "Content-Type cannot be null");
+        Objects.requireNonNull(body, "Body cannot be null");
+
+        if (body.hasArray()) {
+            setBodyBytes(contentType, body.array(), body.arrayOffset() + body.position(), body.remaining());
+        } else {
+            // Direct and read-only buffers have no accessible array, their content is copied once
+            var copy = new byte[body.remaining()];
+            body.duplicate().get(copy);
+            setBodyBytes(contentType, copy, 0, copy.length);
+        }
+
+        return this;
+    }
+
+    private void setBodyBytes(String contentType, byte[] bytes, int offset, int length) {
+        setHeader(HttpHeader.CONTENT_TYPE, contentType);
+        setHeader(HttpHeader.CONTENT_LENGTH, String.valueOf(length));
+        headers.remove(HttpHeader.TRANSFER_ENCODING.getValue());
+        this.body = null;
+        this.bodyBytes = bytes;
+        this.bodyOffset = offset;
+        this.bodyLength = length;
+        this.bodyWriter = null;
+    }
+
+    @Override
+    public HttpResponse setBody(ContentType contentType, ResponseBodyWriter bodyWriter) {
+        return setBody(contentType.getValue(), bodyWriter);
+    }
+
+    @Override
+    public HttpResponse setBody(String contentType, ResponseBodyWriter bodyWriter) {
+        ensureNotFrozen();
+        Objects.requireNonNull(contentType, "Content-Type cannot be null");
+        Objects.requireNonNull(bodyWriter, "Body writer cannot be null");
+
+        setHeader(HttpHeader.CONTENT_TYPE, contentType);
+        setHeader(HttpHeader.TRANSFER_ENCODING, TRANSFER_ENCODING_CHUNKED);
+        headers.remove(HttpHeader.CONTENT_LENGTH.getValue());
+        clearBodyBytes();
+        this.bodyWriter = bodyWriter;
+        return this;
+    }
+
+    @Override
+    public HttpResponse setBody(ContentType contentType, long contentLength, ResponseBodyWriter bodyWriter) {
+        return setBody(contentType.getValue(), contentLength, bodyWriter);
+    }
+
+    @Override
+    public HttpResponse setBody(String contentType, long contentLength, ResponseBodyWriter bodyWriter) {
+        ensureNotFrozen();
+        Objects.requireNonNull(contentType, "Content-Type cannot be null");
+        Objects.requireNonNull(bodyWriter, "Body writer cannot be null");
+
+        if (contentLength < 0) {
+            throw new IllegalArgumentException("Content-Length cannot be negative");
+        }
+
+        setHeader(HttpHeader.CONTENT_TYPE, contentType);
+        setHeader(HttpHeader.CONTENT_LENGTH, String.valueOf(contentLength));
+        headers.remove(HttpHeader.TRANSFER_ENCODING.getValue());
+        clearBodyBytes();
+        this.bodyWriter = bodyWriter;
+        return this;
+    }
+
+    private void clearBodyBytes() {
+        this.body = null;
+        this.bodyBytes = null;
+        this.bodyOffset = 0;
+        this.bodyLength = 0;
+    }
+
+    @Override
+    public HttpResponse freeze() {
+        if (encoded != null) {
+            return this;
+        }
+
+        if (bodyWriter != null) {
+            throw new IllegalStateException("Responses with a streamed body cannot be frozen");
+        }
+
+        // The variant sent when the connection must be closed is encoded upfront as well
+        closingResponse = closeConnection ? this : copyWithConnectionClose();
+        encoded = ResponseEncoder.encode(this);
+        bodilessResponse = bodilessView();
+        return this;
+    }
+
+    private HttpResponseImpl bodilessView() {
+        // Shares the headers and the encoding, only the writing of the body is skipped
+        var view = new HttpResponseImpl(statusCode, statusMessage, headers);
+        view.body = body;
+        view.bodyBytes = bodyBytes;
+        view.bodyOffset = bodyOffset;
+        view.bodyLength = bodyLength;
+        view.closeConnection = closeConnection;
+        view.encoded = encoded;
+        view.bodyOmitted = true;
+        view.closingResponse = closingResponse == this ? view : closingResponse.bodilessResponse;
+        view.bodilessResponse = view;
+        return view;
+    }
+
+    private HttpResponseImpl copyWithConnectionClose() {
+        var copy = copy();
+        copy.setHeader(HttpHeader.CONNECTION, ConnectionHeader.CLOSE.getValue());
+        copy.freeze();
+        return copy;
+    }
+
+    private HttpResponseImpl copy() {
+        // Copy with its own headers, the handler may keep sending the original
+        var copy = new HttpResponseImpl(statusCode, statusMessage);
+        copy.headers.putAll(headers);
+        copy.body = body;
+        copy.bodyBytes = bodyBytes;
+        copy.bodyOffset = bodyOffset;
+        copy.bodyLength = bodyLength;
+        copy.bodyWriter = bodyWriter;
+        copy.closeConnection = closeConnection;
+        copy.bodyOmitted = bodyOmitted;
+        return copy;
+    }
+
+    private void ensureNotFrozen() {
+        if (encoded != null) {
+            throw new UnsupportedOperationException("Frozen responses cannot be modified");
+        }
+    }
+
+    public boolean isFrozen() {
+        return encoded != null;
+    }
+
+    public EncodedResponse getEncoded() {
+        return encoded;
+    }
+
+    public HttpResponseImpl withConnectionClose() {
+        if (encoded != null) {
+            return closingResponse;
+        }
+
+        if (closeConnection) {
+            return this;
+        }
+
+        // Handlers may return the same response to every request, it is never changed for a single connection
+        var copy = copy();
+        copy.setHeader(HttpHeader.CONNECTION, ConnectionHeader.CLOSE.getValue());
+        return copy;
+    }
+
+    public HttpResponseImpl withoutChunkedEncoding() {
+        if (bodyWriter == null || !isChunked()) {
+            return this;
+        }
+
+        // HTTP/1.0 clients cannot decode chunks, the body is sent as it is and ends when the connection is closed
+        var copy = copy();
+        copy.headers.remove(HttpHeader.TRANSFER_ENCODING.getValue());
+        copy.setHeader(HttpHeader.CONNECTION, ConnectionHeader.CLOSE.getValue());
+        return copy;
+    }
+
+    public HttpResponseImpl withoutBody() {
+        if (encoded != null) {
+            return bodilessResponse;
+        }
+
+        if (bodyOmitted) {
+            return this;
+        }
+
+        // Only this write skips the body, the response returned by the handler still has it
+        var copy = copy();
+        copy.bodyOmitted = true;
+        return copy;
+    }
+
+    public boolean isBodyOmitted() {
+        return bodyOmitted;
+    }
+
     public int getStatusCode() {
         return statusCode;
     }
@@ -76,9 +308,42 @@ public class HttpResponseImpl implements HttpResponse {
     }
 
     public String getBody() {
+        if (body == null && bodyBytes != null) {
+            body = new String(bodyBytes, bodyOffset, bodyLength, StandardCharsets.UTF_8);
+        }
+
         return body;
     }
 
+    public byte[] getBodyBytes() {
+        return bodyBytes;
+    }
+
+    public int getBodyOffset() {
+        return bodyOffset;
+    }
+
+    public int getBodyLength() {
+        return bodyLength;
+    }
+
+    public ResponseBodyWriter getBodyWriter() {
+        return bodyWriter;
+    }
+
+    public boolean isChunked() {
+        return TRANSFER_ENCODING_CHUNKED.equals(headers.get(HttpHeader.TRANSFER_ENCODING.getValue()));
+    }
+
+    public boolean hasContentLength() {
+        return headers.containsKey(HttpHeader.CONTENT_LENGTH.getValue());
+    }
+
+    public long getContentLength() {
+        var contentLength = headers.get(HttpHeader.CONTENT_LENGTH.getValue());
+        return contentLength == null ? 0 : Long.parseLong(contentLength);
+    }
+
     public boolean closeConnection() {
         return closeConnection;
     }
@@ -0,0 +1,112 @@
+package net.uiqui.embedhttp.api.impl;
+
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+public class QueryString {
+    private static final char PARAMETER_SEPARATOR = '&';
+    private static final char VALUE_SEPARATOR = '=';
+
+    private QueryString() {
+    }
+
+    public static Map<String, List<String>> parse(String query) {
+        var parameters = new LinkedHashMap<String, List<String>>();
+
+        for (var start = 0; start < query.length(); start = partEnd(query, start) + 1) {
+            var end = partEnd(query, start);
+            if (end == start) continue;
+
+            var separator = valueSeparator(query, start, end);
+            var key = decode(query, start, separator);
+            parameters.computeIfAbsent(key, k -> new ArrayList<>(1)).add(decodeValue(query, separator, end));
+        }
+
+        // The parsed query is cached by the request, callers must not change it
+        parameters.replaceAll((key, values) -> Collections.unmodifiableList(values));
+        return Collections.unmodifiableMap(parameters);
+    }
+
+    // Scans the raw query, only the value of the last matching key is decoded
+    public static String findLast(String query, String name) {
+        var lastSeparator = -1;
+        var lastEnd = -1;
+
+        for (var start = 0; start < query.length(); start = partEnd(query, start) + 1) {
+            var end = partEnd(query, start);
+            var separator = valueSeparator(query, start, end);
+
+            if (end > start && keyMatches(query, start, separator, name)) {
+                lastSeparator = separator;
+                lastEnd = end;
+            }
+        }
+
+        return lastEnd == -1 ? null : decodeValue(query, lastSeparator, lastEnd);
+    }
+
+    public static List<String> findAll(String query, String name) {
+        var values = new ArrayList<String>(1);
+
+        for (var start = 0; start < query.length(); start = partEnd(query, start) + 1) {
+            var end = partEnd(query, start);
+            var separator = valueSeparator(query, start, end);
+
+            if (end > start && keyMatches(query, start, separator, name)) {
+                values.add(decodeValue(query, separator, end));
+            }
+        }
+
+        return Collections.unmodifiableList(values);
+    }
+
+    private static int partEnd(String query, int start) {
+        var end = query.indexOf(PARAMETER_SEPARATOR, start);
+        return end == -1 ? query.length() : end;
+    }
+
+    private static int valueSeparator(String query, int start, int end) {
+        // Bounded to the parameter, a search past its end would rescan the rest of the query for every valueless parameter
+        for (var i = start; i < end; i++) {
+            if (query.charAt(i) == VALUE_SEPARATOR) {
+                return i;
+            }
+        }
+
+        return end;
+    }
+
+    private static boolean keyMatches(String query, int start, int end, String name) {
+        if (isEscaped(query, start, end)) {
+            return decode(query, start, end).equals(name);
+        }
+
+        return end - start == name.length() && query.regionMatches(start, name, 0, name.length());
+    }
+
+    private static String decodeValue(String query, int separator, int end) {
+        // Valueless parameters, like "?flag", have an empty value
+        return separator == end ? "" : decode(query, separator + 1, end);
+    }
+
+    private static String decode(String query, int start, int end) {
+        var part = query.substring(start, end);
+        return isEscaped(query, start, end) ? URLDecoder.decode(part, StandardCharsets.UTF_8) : part;
+    }
+
+    private static boolean isEscaped(String query, int start, int end) {
+        for (var i = start; i < end; i++) {
+            var c = query.charAt(i);
+            if (c == '%' || c == '+') {
+                return true;
+            }
+        }
+
+        return false;
+    }
+}
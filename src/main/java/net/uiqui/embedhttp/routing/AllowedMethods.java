@@ -0,0 +1,62 @@
+package net.uiqui.embedhttp.routing;
+
+import net.uiqui.embedhttp.api.ContentType;
+import net.uiqui.embedhttp.api.HttpHeader;
+import net.uiqui.embedhttp.api.HttpMethod;
+import net.uiqui.embedhttp.api.HttpResponse;
+import net.uiqui.embedhttp.api.HttpStatusCode;
+
+import java.util.StringJoiner;
+
+public final class AllowedMethods {
+    private final int mask;
+    private final String allowHeader;
+    private final HttpResponse methodNotAllowedResponse;
+    private final HttpResponse optionsResponse;
+
+    public AllowedMethods(int mask) {
+        // OPTIONS is always answered, either by a route or automatically, and so is HEAD for GET routes
+        var headMask = (mask & toMask(HttpMethod.GET)) != 0 ? toMask(HttpMethod.HEAD) : 0;
+        this.mask = mask | toMask(HttpMethod.OPTIONS) | headMask;
+        this.allowHeader = toAllowHeader(this.mask);
+        this.methodNotAllowedResponse = HttpResponse.withStatus(HttpStatusCode.METHOD_NOT_ALLOWED)
+                .setHeader(HttpHeader.ALLOW, allowHeader)
+                .setBody(ContentType.TEXT_PLAIN, "Method Not Allowed")
+                .freeze();
+        this.optionsResponse = HttpResponse.noContent()
+                .setHeader(HttpHeader.ALLOW, allowHeader)
+                .freeze();
+    }
+
+    public static int toMask(HttpMethod method) {
+        return 1 << method.ordinal();
+    }
+
+    private static String toAllowHeader(int mask) {
+        var joiner = new StringJoiner(", ");
+
+        for (var method : HttpMethod.values()) {
+            if ((mask & toMask(method)) != 0) {
+                joiner.add(method.name());
+            }
+        }
+
+        return joiner.toString();
+    }
+
+    public boolean isAllowed(HttpMethod method) {
+        return (mask & toMask(method)) != 0;
+    }
+
+    public String getAllowHeader() {
+        return allowHeader;
+    }
+
+    public HttpResponse getMethodNotAllowedResponse() {
+        return methodNotAllowedResponse;
+    }
+
+    public HttpResponse getOptionsResponse() {
+        return optionsResponse;
+    }
+}
@@ -0,0 +1,203 @@
+package net.uiqui.embedhttp.routing;
+
+import net.uiqui.embedhttp.api.HttpMethod;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.TreeSet;
+
+public final class AllowedMethodsIndex {
+    private static final String[] NO_LABELS = new String[0];
+    private static final Node[] NO_CHILDREN = new Node[0];
+
+    private final Node root;
+
+    private AllowedMethodsIndex(Node root) {
+        this.root = root;
+    }
+
+    public static AllowedMethodsIndex compile(Map<HttpMethod, RouteTree> routingTable) {
+        var methods = routingTable.keySet().toArray(new HttpMethod[0]);
+        var roots = new PathSegment[methods.length];
+
+        for (var i = 0; i < methods.length; i++) {
+            roots[i] = routingTable.get(methods[i]).getRootSegment();
+        }
+
+        return new AllowedMethodsIndex(new Compiler(methods).compileNode(roots, 0));
+    }
+
+    public AllowedMethods findAllowedMethods(String path) {
+        if (path == null || path.isEmpty()) {
+            return null;
+        }
+
+        var currentNode = root;
+        var length = path.length();
+        var position = CompiledRouteTree.nextSegment(path, 0, length);
+
+        if (position == length && !path.equals("/")) {
+            return null; // Only separators, not a valid path
+        }
+
+        // The path is walked once, each node already knows where the tree of every method would be
+        while (position < length && !currentNode.isFinal()) {
+            var end = CompiledRouteTree.segmentEnd(path, position, length);
+            var child = currentNode.findStaticChild(path, position, end);
+            currentNode = child == null ? currentNode.otherChild : child;
+            position = CompiledRouteTree.nextSegment(path, end, length);
+        }
+
+        return currentNode.allowedMethods;
+    }
+
+    private static final class Compiler {
+        private final HttpMethod[] methods;
+        private final Map<State, Node> nodes = new HashMap<>();
+        private final Map<Integer, AllowedMethods> allowedMethodsByMask = new HashMap<>();
+
+        private Compiler(HttpMethod[] methods) {
+            this.methods = methods;
+        }
+
+        // Each node follows the segments of every method tree at once, a null segment means that tree no longer matches
+        private Node compileNode(PathSegment[] segments, int catchAllMask) {
+            for (var i = 0; i < segments.length; i++) {
+                if (segments[i] != null && segments[i].findCatchAllChild() != null) {
+                    catchAllMask |= AllowedMethods.toMask(methods[i]);
+                }
+            }
+
+            var state = new State(segments, catchAllMask);
+            var node = nodes.get(state);
+            if (node != null) {
+                return node;
+            }
+
+            // A method passing a catch-all is allowed wherever its own tree stops matching
+            var mask = catchAllMask;
+            var labels = new TreeSet<String>();
+
+            for (var i = 0; i < segments.length; i++) {
+                var segment = segments[i];
+
+                if (segment != null) {
+                    if (segment.hasRoute()) {
+                        mask |= AllowedMethods.toMask(methods[i]);
+                    }
+
+                    segment.getStaticChildren().forEach(child -> labels.add(child.getPathSegment()));
+                }
+            }
+
+            node = new Node(toAllowedMethods(mask));
+            nodes.put(state, node);
+
+            if (isFinal(segments)) {
+                return node;
+            }
+
+            // Like in each method tree, a literal segment takes precedence over a parameter
+            var staticLabels = labels.toArray(NO_LABELS);
+            var staticChildren = new Node[staticLabels.length];
+
+            for (var i = 0; i < staticLabels.length; i++) {
+                staticChildren[i] = compileNode(nextSegments(segments, staticLabels[i]), catchAllMask);
+            }
+
+            node.link(staticLabels, staticChildren, compileNode(nextSegments(segments, null), catchAllMask));
+            return node;
+        }
+
+        private static PathSegment[] nextSegments(PathSegment[] segments, String label) {
+            var next = new PathSegment[segments.length];
+
+            for (var i = 0; i < segments.length; i++) {
+                var segment = segments[i];
+
+                if (segment != null) {
+                    var child = label == null ? null : segment.findChild(label, true);
+                    next[i] = child == null ? segment.findParameterChild() : child;
+                }
+            }
+
+            return next;
+        }
+
+        private static boolean isFinal(PathSegment[] segments) {
+            for (var segment : segments) {
+                if (segment != null) {
+                    return false;
+                }
+            }
+
+            return true;
+        }
+
+        private AllowedMethods toAllowedMethods(int mask) {
+            if (mask == 0) {
+                return null;
+            }
+
+            // Paths accepting the same methods share the same precomputed responses
+            return allowedMethodsByMask.computeIfAbsent(mask, AllowedMethods::new);
+        }
+    }
+
+    private record State(PathSegment[] segments, int catchAllMask) {
+        @Override
+        public boolean equals(Object other) {
+            return other instanceof State state
+                    && catchAllMask == state.catchAllMask
+                    && Arrays.equals(segments, state.segments);
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * Arrays.hashCode(segments) + catchAllMask;
+        }
+    }
+
+    private static final class Node {
+        private final AllowedMethods allowedMethods;
+        private String[] staticLabels = NO_LABELS;
+        private Node[] staticChildren = NO_CHILDREN;
+        private Node otherChild = null;
+
+        private Node(AllowedMethods allowedMethods) {
+            this.allowedMethods = allowedMethods;
+        }
+
+        private void link(String[] staticLabels, Node[] staticChildren, Node otherChild) {
+            this.staticLabels = staticLabels;
+            this.staticChildren = staticChildren;
+            this.otherChild = otherChild;
+        }
+
+        // No method tree matches past this node, the rest of the path cannot change the result
+        private boolean isFinal() {
+            return otherChild == null;
+        }
+
+        private Node findStaticChild(String path, int start, int end) {
+            var low = 0;
+            var high = staticLabels.length - 1;
+
+            while (low <= high) {
+                var middle = (low + high) >>> 1;
+                var comparison = CompiledRouteTree.compareRegion(staticLabels[middle], path, start, end);
+
+                if (comparison < 0) {
+                    low = middle + 1;
+                } else if (comparison > 0) {
+                    high = middle - 1;
+                } else {
+                    return staticChildren[middle];
+                }
+            }
+
+            return null;
+        }
+    }
+}
@@ -0,0 +1,258 @@
+package net.uiqui.embedhttp.routing;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Map;
+
+public final class CompiledRouteTree {
+    private static final int MAX_SCANNED_CHILDREN = 8;
+    private static final String[] NO_LABEL = new String[0];
+    private static final Node[] NO_CHILDREN = new Node[0];
+    private static final Map<String, String> NO_PATH_PARAMETERS = Map.of();
+
+    private final Node root;
+    private final int maxParameterCount;
+
+    private CompiledRouteTree(Node root, int maxParameterCount) {
+        this.root = root;
+        this.maxParameterCount = maxParameterCount;
+    }
+
+    public static CompiledRouteTree compile(PathSegment rootSegment, int maxParameterCount) {
+        return new CompiledRouteTree(compileNode(NO_LABEL, rootSegment), maxParameterCount);
+    }
+
+    private static Node compileNode(String[] label, PathSegment segment) {
+        var staticChildren = segment.getStaticChildren();
+        var compiledChildren = new Node[staticChildren.size()];
+
+        for (var i = 0; i < compiledChildren.length; i++) {
+            compiledChildren[i] = compileStaticChain(staticChildren.get(i));
+        }
+
+        // Children are sorted by their first segment, wide nodes are searched with a binary search
+        Arrays.sort(compiledChildren, Comparator.comparing(child -> child.label[0]));
+
+        var parameterSegment = segment.findParameterChild();
+        var parameterChild = parameterSegment == null ? null : compileNode(NO_LABEL, parameterSegment);
+
+        var catchAllSegment = segment.findCatchAllChild();
+        var catchAllChild = catchAllSegment == null ? null : compileNode(NO_LABEL, catchAllSegment);
+
+        return new Node(label, segment.getRoute(), compiledChildren, parameterChild, catchAllChild);
+    }
+
+    private static Node compileStaticChain(PathSegment.Static segment) {
+        var label = new ArrayList<String>();
+        label.add(segment.getPathSegment());
+
+        // Static segments with a single static child and no route are merged into one node
+        var current = segment;
+        while (!current.hasRoute()
+                && current.findParameterChild() == null
+                && current.findCatchAllChild() == null
+                && current.getStaticChildren().size() == 1) {
+            current = current.getStaticChildren().get(0);
+            label.add(current.getPathSegment());
+        }
+
+        return compileNode(label.toArray(NO_LABEL), current);
+    }
+
+    public RouteTree.RouteMatch findRoute(String path) {
+        if (path == null || path.isEmpty()) {
+            return null;
+        }
+
+        var currentNode = root;
+        String[] parameterValues = null;
+        var parameterCount = 0;
+        var length = path.length();
+        var position = nextSegment(path, 0, length);
+
+        // The deepest catch-all passed on the way takes the rest of the path when nothing more specific matches
+        Node catchAll = null;
+        var catchAllPosition = 0;
+        var catchAllParameterCount = 0;
+
+        // The path is walked by index, only parameter values are extracted from it
+        while (position < length) {
+            if (currentNode.catchAllChild != null) {
+                catchAll = currentNode.catchAllChild;
+                catchAllPosition = position;
+                catchAllParameterCount = parameterCount;
+            }
+
+            var end = segmentEnd(path, position, length);
+            var child = currentNode.findStaticChild(path, position, end);
+
+            if (child != null) {
+                var next = matchLabel(child.label, path, end, length);
+                if (next == -1) {
+                    // The rest of the compressed segments did not match
+                    return matchCatchAll(catchAll, path, catchAllPosition, parameterValues, catchAllParameterCount);
+                }
+
+                position = next;
+                currentNode = child;
+                continue;
+            }
+
+            if (currentNode.parameterChild == null) {
+                return matchCatchAll(catchAll, path, catchAllPosition, parameterValues, catchAllParameterCount);
+            }
+
+            if (parameterValues == null) {
+                parameterValues = new String[maxParameterCount];
+            }
+
+            currentNode = currentNode.parameterChild;
+            parameterValues[parameterCount++] = path.substring(position, end);
+            position = nextSegment(path, end, length);
+        }
+
+        if (currentNode == root && !path.equals("/")) {
+            return null; // Only separators, not a valid path
+        }
+
+        if (currentNode.route == null) {
+            if (currentNode.catchAllChild != null) {
+                return matchCatchAll(currentNode.catchAllChild, path, length, parameterValues, parameterCount);
+            }
+
+            return matchCatchAll(catchAll, path, catchAllPosition, parameterValues, catchAllParameterCount);
+        }
+
+        if (parameterCount == 0) {
+            return new RouteTree.RouteMatch(currentNode.route, NO_PATH_PARAMETERS);
+        }
+
+        // The parameter names are taken from the route, the values follow the same order
+        return new RouteTree.RouteMatch(currentNode.route, new PathParameters(currentNode.route.getParameterNames(), parameterValues));
+    }
+
+    private RouteTree.RouteMatch matchCatchAll(Node catchAll, String path, int position, String[] parameterValues, int parameterCount) {
+        if (catchAll == null) {
+            return null; // No route found for the given path
+        }
+
+        if (parameterValues == null) {
+            parameterValues = new String[maxParameterCount];
+        }
+
+        // The rest of the path is taken as it is, without being split into segments
+        parameterValues[parameterCount] = path.substring(position);
+        return new RouteTree.RouteMatch(catchAll.route, new PathParameters(catchAll.route.getParameterNames(), parameterValues));
+    }
+
+    private static int matchLabel(String[] label, String path, int firstSegmentEnd, int length) {
+        var position = nextSegment(path, firstSegmentEnd, length);
+
+        for (var i = 1; i < label.length; i++) {
+            if (position == length) {
+                return -1;
+            }
+
+            var end = segmentEnd(path, position, length);
+            if (!regionEquals(label[i], path, position, end)) {
+                return -1;
+            }
+
+            position = nextSegment(path, end, length);
+        }
+
+        return position;
+    }
+
+    // Returns the start of the next non-empty segment, skipping separators and blanks
+    static int nextSegment(String path, int position, int length) {
+        while (position < length) {
+            var c = path.charAt(position);
+            if (c != '/' && c > ' ') {
+                return position;
+            }
+
+            position++;
+        }
+
+        return length;
+    }
+
+    // Returns the end of the segment starting at the given position, trailing blanks excluded
+    static int segmentEnd(String path, int start, int length) {
+        var separator = path.indexOf('/', start);
+        var end = separator == -1 ? length : separator;
+
+        while (end > start && path.charAt(end - 1) <= ' ') {
+            end--;
+        }
+
+        return end;
+    }
+
+    private static boolean regionEquals(String value, String path, int start, int end) {
+        var length = end - start;
+        return value.length() == length && path.regionMatches(start, value, 0, length);
+    }
+
+    static int compareRegion(String value, String path, int start, int end) {
+        var length = end - start;
+        var common = Math.min(value.length(), length);
+
+        for (var i = 0; i < common; i++) {
+            var difference = value.charAt(i) - path.charAt(start + i);
+            if (difference != 0) {
+                return difference;
+            }
+        }
+
+        return value.length() - length;
+    }
+
+    private static final class Node {
+        private final String[] label;
+        private final Route route;
+        private final Node[] staticChildren;
+        private final Node parameterChild;
+        private final Node catchAllChild;
+
+        private Node(String[] label, Route route, Node[] staticChildren, Node parameterChild, Node catchAllChild) {
+            this.label = label;
+            this.route = route;
+            this.staticChildren = staticChildren.length == 0 ? NO_CHILDREN : staticChildren;
+            this.parameterChild = parameterChild;
+            this.catchAllChild = catchAllChild;
+        }
+
+        private Node findStaticChild(String path, int start, int end) {
+            if (staticChildren.length <= MAX_SCANNED_CHILDREN) {
+                for (var child : staticChildren) {
+                    if (regionEquals(child.label[0], path, start, end)) {
+                        return child;
+                    }
+                }
+
+                return null;
+            }
+
+            var low = 0;
+            var high = staticChildren.length - 1;
+
+            while (low <= high) {
+                var middle = (low + high) >>> 1;
+                var comparison = compareRegion(staticChildren[middle].label[0], path, start, end);
+
+                if (comparison < 0) {
+                    low = middle + 1;
+                } else if (comparison > 0) {
+                    high = middle - 1;
+                } else {
+                    return staticChildren[middle];
+                }
+            }
+
+            return null;
+        }
+    }
+}
@@ -0,0 +1,82 @@
+package net.uiqui.embedhttp.routing;
+
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+public final class PathParameters extends AbstractMap<String, String> {
+    private final String[] names;
+    private final String[] values;
+
+    // The names are shared with the route, only the values belong to the request
+    public PathParameters(String[] names, String[] values) {
+        this.names = names;
+        this.values = values;
+    }
+
+    @Override
+    public String get(Object key) {
+        var index = indexOf(key);
+        return index == -1 ? null : values[index];
+    }
+
+    @Override
+    public boolean containsKey(Object key) {
+        return indexOf(key) != -1;
+    }
+
+    @Override
+    public int size() {
+        return names.length;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return names.length == 0;
+    }
+
+    private int indexOf(Object key) {
+        for (var i = 0; i < names.length; i++) {
+            if (names[i].equals(key)) {
+                return i;
+            }
+        }
+
+        return -1;
+    }
+
+    @Override
+    public Set<Entry<String, String>> entrySet() {
+        return new AbstractSet<>() {
+            @Override
+            public Iterator<Entry<String, String>> iterator() {
+                return new Iterator<>() {
+                    private int index = 0;
+
+                    @Override
+                    public boolean hasNext() {
+                        return index < names.length;
+                    }
+
+                    @Override
+                    public Entry<String, String> next() {
+                        if (index >= names.length) {
+                            throw new NoSuchElementException();
+                        }
+
+                        var entry = new SimpleImmutableEntry<>(names[index], values[index]);
+                        index++;
+                        return entry;
+                    }
+                };
+            }
+
+            @Override
+            public int size() {
+                return names.length;
+            }
+        };
+    }
+}
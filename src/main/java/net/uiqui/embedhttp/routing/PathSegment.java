@@ -2,15 +2,20 @@ package net.uiqui.embedhttp.routing;
 
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 
 public abstract sealed class PathSegment {
-    protected static final String MATCH_ALL = "*";
+    private static final Static[] NO_STATIC_CHILDREN = new Static[0];
 
     protected final PathSegment parent;
-    private final Map<String, PathSegment> children = new HashMap<>();
+    // Only literal segments are keyed by name, so a literal "*" never collides with a parameter or catch-all
+    private final Map<String, Static> children = new HashMap<>();
+    private Static[] staticChildren = NO_STATIC_CHILDREN;
+    private Parameter parameterChild = null;
+    private CatchAll catchAllChild = null;
     protected Route route;
 
     protected PathSegment(PathSegment parent, Route route) {
@@ -19,7 +24,7 @@ public abstract sealed class PathSegment {
     }
 
     public int getChildCount() {
-        return children.size();
+        return getChildren().size();
     }
 
     public PathSegment findChild(String segment, boolean ignoreMachAll) {
@@ -36,7 +41,15 @@ public abstract sealed class PathSegment {
     }
 
     public PathSegment findParameterChild() {
-        return children.get(MATCH_ALL);
+        return parameterChild;
+    }
+
+    public PathSegment findCatchAllChild() {
+        return catchAllChild;
+    }
+
+    public List<Static> getStaticChildren() {
+        return List.of(staticChildren);
     }
 
     public boolean hasRoute() {
@@ -47,23 +60,58 @@ public abstract sealed class PathSegment {
         return route;
     }
 
+    public void setRoute(Route route) {
+        if (hasRoute()) {
+            throw new InvalidRouteException("Path segment '" + this + "' already has a handler.");
+        }
+
+        this.route = route;
+    }
+
     public PathSegment registerParameterChild(String pathParameter, Route route) {
-        return registerChild(MATCH_ALL, new Parameter(this, pathParameter, route));
+        if (parameterChild != null) {
+            throw new InvalidRouteException("Path segment '*' already exists at '" + this + "'.");
+        }
+
+        parameterChild = new Parameter(this, pathParameter, route);
+        return parameterChild;
     }
 
-    public PathSegment registerStaticChild(String pathSegment, Route route) {
-        return registerChild(pathSegment, new Static(this, pathSegment, route));
+    public PathSegment registerCatchAllChild(String pathParameter, Route route) {
+        if (catchAllChild != null) {
+            throw new InvalidRouteException("Path segment '**' already exists at '" + this + "'.");
+        }
+
+        catchAllChild = new CatchAll(this, pathParameter, route);
+        return catchAllChild;
     }
 
-    private PathSegment registerChild(String segmentKey, PathSegment child) {
-        if (children.containsKey(segmentKey)) {
-            throw new InvalidRouteException("Path segment '" + segmentKey + "' already exists at '" + this + "'.");
+    public PathSegment registerStaticChild(String pathSegment, Route route) {
+        if (children.containsKey(pathSegment)) {
+            throw new InvalidRouteException("Path segment '" + pathSegment + "' already exists at '" + this + "'.");
         }
 
-        children.put(segmentKey, child);
+        var child = new Static(this, pathSegment, route);
+        children.put(pathSegment, child);
+        staticChildren = Arrays.copyOf(staticChildren, staticChildren.length + 1);
+        staticChildren[staticChildren.length - 1] = child;
         return child;
     }
 
+    private List<PathSegment> getChildren() {
+        var allChildren = new ArrayList<PathSegment>(children.values());
+
+        if (parameterChild != null) {
+            allChildren.add(parameterChild);
+        }
+
+        if (catchAllChild != null) {
+            allChildren.add(catchAllChild);
+        }
+
+        return allChildren;
+    }
+
     public List<Route> getAllRoutes() {
         var routes = new ArrayList<Route>();
 
@@ -71,7 +119,7 @@ public abstract sealed class PathSegment {
             routes.add(getRoute());
         }
 
-        for (PathSegment child : children.values()) {
+        for (PathSegment child : getChildren()) {
             routes.addAll(child.getAllRoutes());
         }
 
@@ -90,7 +138,7 @@ public abstract sealed class PathSegment {
 
         paths.add(buffer.toString());
 
-        for (PathSegment child : children.values()) {
+        for (PathSegment child : getChildren()) {
             paths.addAll(child.getTreePaths());
         }
 
@@ -106,20 +154,36 @@ public abstract sealed class PathSegment {
         public String toString() {
             return "/";
         }
+    }
+
+    static final class Parameter extends PathSegment {
+        private final String parameterName;
+
+        private Parameter(PathSegment parent, String parameterName, Route handler) {
+            super(parent, handler);
+            this.parameterName = parameterName;
+        }
+
+        public String getParameterName() {
+            return parameterName;
+        }
 
-        public void setRoute(Route route) {
-            if (hasRoute()) {
-                throw new InvalidRouteException("Path segment '/' already has a handler.");
+        @Override
+        public String toString() {
+            var parentPath = parent.toString();
+
+            if (!parentPath.endsWith("/")) {
+                parentPath += "/";
             }
 
-            this.route = route;
+            return parentPath + ":" + parameterName;
         }
     }
 
-    static final class Parameter extends PathSegment {
+    static final class CatchAll extends PathSegment {
         private final String parameterName;
 
-        private Parameter(PathSegment parent, String parameterName, Route handler) {
+        private CatchAll(PathSegment parent, String parameterName, Route handler) {
             super(parent, handler);
             this.parameterName = parameterName;
         }
@@ -136,7 +200,7 @@ public abstract sealed class PathSegment {
                 parentPath += "/";
             }
 
-            return parentPath + ":" + parameterName;
+            return parentPath + "*" + parameterName;
         }
     }
 
@@ -148,6 +212,10 @@ public abstract sealed class PathSegment {
             this.pathSegment = pathSegment;
         }
 
+        public String getPathSegment() {
+            return pathSegment;
+        }
+
         @Override
         public String toString() {
             var parentPath = parent.toString();
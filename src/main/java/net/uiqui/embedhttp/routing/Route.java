@@ -3,17 +3,49 @@ package net.uiqui.embedhttp.routing;
 import net.uiqui.embedhttp.api.HttpMethod;
 import net.uiqui.embedhttp.api.HttpRequestHandler;
 
+import java.util.ArrayList;
 import java.util.Objects;
 
 public class Route {
     private final HttpMethod method;
     private final String pathPattern;
     private final HttpRequestHandler handler;
+    private final boolean streamingBody;
+    private final String[] parameterNames;
 
     public Route(HttpMethod method, String pathPattern, HttpRequestHandler handler) {
+        this(method, pathPattern, handler, false);
+    }
+
+    public Route(HttpMethod method, String pathPattern, HttpRequestHandler handler, boolean streamingBody) {
         this.method = method;
         this.pathPattern = pathPattern;
         this.handler = handler;
+        this.streamingBody = streamingBody;
+        this.parameterNames = extractParameterNames(pathPattern);
+    }
+
+    private static String[] extractParameterNames(String pathPattern) {
+        var parameterNames = new ArrayList<String>();
+
+        for (var segment : RouteTree.splitPath(pathPattern)) {
+            var parameterName = RouteTree.extractParameterName(segment);
+            if (parameterName == null) {
+                parameterName = RouteTree.extractCatchAllName(segment);
+            }
+
+            if (parameterName == null) {
+                continue;
+            }
+
+            if (parameterNames.contains(parameterName)) {
+                throw new InvalidRouteException("Path parameter '" + parameterName + "' is repeated in '" + pathPattern + "'.");
+            }
+
+            parameterNames.add(parameterName);
+        }
+
+        return parameterNames.toArray(new String[0]);
     }
 
     public HttpMethod getMethod() {
@@ -28,6 +60,14 @@ public class Route {
         return handler;
     }
 
+    public boolean isStreamingBody() {
+        return streamingBody;
+    }
+
+    public String[] getParameterNames() {
+        return parameterNames;
+    }
+
     @Override
     public boolean equals(Object o) {
         if (o == null || getClass() != o.getClass()) return false;
@@ -0,0 +1,122 @@
+package net.uiqui.embedhttp.routing;
+
+import net.uiqui.embedhttp.api.HttpMethod;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+
+public class RouteCache {
+    private final int capacity;
+    private final ConcurrentHashMap<CacheKey, Entry> entries;
+    private final AtomicReferenceArray<Entry> slots;
+    private final AtomicInteger clockHand = new AtomicInteger();
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+
+    public RouteCache(int capacity) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("Route cache capacity must be positive");
+        }
+
+        this.capacity = capacity;
+        this.entries = new ConcurrentHashMap<>(capacity);
+        this.slots = new AtomicReferenceArray<>(capacity);
+    }
+
+    public RouteTree.RouteMatch get(HttpMethod method, String path) {
+        var entry = entries.get(new CacheKey(method, path));
+
+        if (entry == null) {
+            misses.increment();
+            return null;
+        }
+
+        if (!entry.referenced) {
+            entry.referenced = true;
+        }
+
+        hits.increment();
+        return entry.routeMatch;
+    }
+
+    public void put(HttpMethod method, String path, RouteTree.RouteMatch routeMatch) {
+        var key = new CacheKey(method, path);
+
+        // CLOCK eviction, a slot is reused once its entry was not read since the hand last passed by
+        for (var attempt = 0; attempt < 2 * capacity; attempt++) {
+            var slot = Math.floorMod(clockHand.getAndIncrement(), capacity);
+            var current = slots.get(slot);
+
+            if (current != null && current.referenced) {
+                current.referenced = false;
+                continue;
+            }
+
+            var entry = new Entry(key, routeMatch);
+            if (!slots.compareAndSet(slot, current, entry)) {
+                continue; // Another thread took the slot
+            }
+
+            if (current != null) {
+                entries.remove(current.key, current);
+            }
+
+            entries.put(key, entry);
+
+            if (slots.get(slot) != entry) {
+                // Evicted meanwhile, the map must not keep entries without a slot
+                entries.remove(key, entry);
+            }
+
+            return;
+        }
+
+        // Every entry is in use, this match is simply not cached
+    }
+
+    public void clear() {
+        for (var slot = 0; slot < capacity; slot++) {
+            slots.set(slot, null);
+        }
+
+        entries.clear();
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    public int getCapacity() {
+        return capacity;
+    }
+
+    public long getHitCount() {
+        return hits.sum();
+    }
+
+    public long getMissCount() {
+        return misses.sum();
+    }
+
+    public double getHitRate() {
+        var hitCount = hits.sum();
+        var total = hitCount + misses.sum();
+        return total == 0 ? 0.0 : (double) hitCount / total;
+    }
+
+    private record CacheKey(HttpMethod method, String path) {
+    }
+
+    private static final class Entry {
+        private final CacheKey key;
+        private final RouteTree.RouteMatch routeMatch;
+        private volatile boolean referenced = false;
+
+        private Entry(CacheKey key, RouteTree.RouteMatch routeMatch) {
+            this.key = key;
+            this.routeMatch = routeMatch;
+        }
+    }
+}
@@ -1,107 +1,144 @@
 package net.uiqui.embedhttp.routing;
 
-import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.regex.Pattern;
 import java.util.stream.Stream;
 
 public class RouteTree {
     private static final Pattern PARAM_PATTERN = Pattern.compile("^:([a-zA-Z][a-zA-Z0-9]*)$");
+    private static final Pattern CATCH_ALL_PATTERN = Pattern.compile("^\\*([a-zA-Z][a-zA-Z0-9]*)$");
 
     private final PathSegment rootSegment = new PathSegment.Root();
+    private int maxParameterCount = 0;
+    private volatile CompiledRouteTree compiledTree = null;
 
     public void addRoute(Route route) {
-        var pathSegments = splitPath(route.getPathPattern());
+        // Routes added after compiling are picked up by the next compilation
+        compiledTree = null;
+        insertPath(route.getPathPattern()).setRoute(route);
+    }
+
+    private PathSegment insertPath(String pathPattern) {
+        var pathSegments = splitPath(pathPattern);
 
         if (pathSegments.length == 0) {
-            throw new InvalidRouteException("Invalid path pattern: " + route.getPathPattern());
+            throw new InvalidRouteException("Invalid path pattern: " + pathPattern);
         }
 
         if (isRootPath(pathSegments)) {
             // Special case for root path
-            ((PathSegment.Root) rootSegment).setRoute(route);
-            return;
+            return rootSegment;
         }
 
         var currentSegment = rootSegment;
         var lastSegmentIndex = pathSegments.length - 1;
+        var parameterCount = 0;
 
         for (var i = 0; i <= lastSegmentIndex; i++) {
             var segment = pathSegments[i];
             var isLastSegment = i == lastSegmentIndex;
-            currentSegment = handleSegment(segment, currentSegment, isLastSegment, route);
+            currentSegment = handleSegment(segment, currentSegment, isLastSegment, pathPattern);
+
+            if (currentSegment instanceof PathSegment.Parameter || currentSegment instanceof PathSegment.CatchAll) {
+                parameterCount++;
+            }
+        }
+
+        maxParameterCount = Math.max(maxParameterCount, parameterCount);
+        return currentSegment;
+    }
+
+    public String toStaticPath(String pathPattern) {
+        var pathSegments = splitPath(pathPattern);
+
+        if (pathSegments.length == 0) {
+            return null;
+        }
+
+        if (isRootPath(pathSegments)) {
+            return "/";
         }
+
+        for (var segment : pathSegments) {
+            if (extractParameterName(segment) != null || extractCatchAllName(segment) != null) {
+                return null; // Routes with parameters can only be matched by the tree
+            }
+        }
+
+        return "/" + String.join("/", pathSegments);
     }
 
     private boolean isRootPath(String[] pathSegments) {
         return pathSegments.length == 1 && pathSegments[0].equals("/");
     }
 
-    private PathSegment handleSegment(String segment, PathSegment currentSegment, boolean isLastSegment, Route route) {
-        var segmentRoute = isLastSegment ? route : null;
-
+    private PathSegment handleSegment(String segment, PathSegment currentSegment, boolean isLastSegment, String pathPattern) {
         var parameterName = extractParameterName(segment);
         if (parameterName != null) {
-            return handleParameterSegment(parameterName, currentSegment, segmentRoute);
+            return handleParameterSegment(parameterName, currentSegment);
         }
 
-        return handleStaticSegment(segment, currentSegment, segmentRoute);
+        var catchAllName = extractCatchAllName(segment);
+        if (catchAllName != null) {
+            if (!isLastSegment) {
+                throw new InvalidRouteException("Catch-all segment must be the last one: " + pathPattern);
+            }
+
+            return handleCatchAllSegment(catchAllName, currentSegment);
+        }
+
+        return handleStaticSegment(segment, currentSegment);
     }
 
-    private PathSegment handleParameterSegment(String parameterName, PathSegment currentSegment, Route route) {
+    private PathSegment handleParameterSegment(String parameterName, PathSegment currentSegment) {
         var parameterChild = currentSegment.findParameterChild();
 
         if (parameterChild != null) {
             return parameterChild;
         }
 
-        return currentSegment.registerParameterChild(parameterName, route);
+        return currentSegment.registerParameterChild(parameterName, null);
     }
 
-    private PathSegment handleStaticSegment(String pathSegment, PathSegment currentSegment, Route route) {
-        var staticChild = currentSegment.findChild(pathSegment, true);
+    private PathSegment handleCatchAllSegment(String parameterName, PathSegment currentSegment) {
+        var catchAllChild = currentSegment.findCatchAllChild();
 
-        if (staticChild != null) {
-            return staticChild;
+        if (catchAllChild != null) {
+            return catchAllChild;
         }
 
-        return currentSegment.registerStaticChild(pathSegment, route);
+        return currentSegment.registerCatchAllChild(parameterName, null);
     }
 
-    public RouteMatch findRoute(String pathPattern) {
-        var pathSegments = splitPath(pathPattern);
-        if (pathSegments.length == 0) {
-            return null;
-        }
+    private PathSegment handleStaticSegment(String pathSegment, PathSegment currentSegment) {
+        var staticChild = currentSegment.findChild(pathSegment, true);
 
-        if (isRootPath(pathSegments)) {
-            // Special case for root path
-            if (rootSegment.hasRoute()) {
-                return new RouteMatch(rootSegment.getRoute(), new HashMap<>());
-            } else {
-                return null; // No route found for root path
-            }
+        if (staticChild != null) {
+            return staticChild;
         }
 
-        var pathParameters = new HashMap<String, String>();
-        var currentSegment = rootSegment;
+        return currentSegment.registerStaticChild(pathSegment, null);
+    }
 
-        for (var segment : pathSegments) {
-            currentSegment = currentSegment.findChild(segment, false);
-            if (currentSegment == null) {
-                return null; // No matching segment found
-            }
+    public RouteMatch findRoute(String path) {
+        var tree = compiledTree;
 
-            if (currentSegment instanceof PathSegment.Parameter parameter) {
-                pathParameters.put(parameter.getParameterName(), segment);
-            }
+        if (tree == null) {
+            tree = compile();
         }
 
-        if (!currentSegment.hasRoute()) {
-            return null; // No route found for the given path
-        }
+        return tree.findRoute(path);
+    }
 
-        return new RouteMatch(currentSegment.getRoute(), pathParameters);
+    public PathSegment getRootSegment() {
+        return rootSegment;
+    }
+
+    public CompiledRouteTree compile() {
+        var tree = CompiledRouteTree.compile(rootSegment, maxParameterCount);
+        compiledTree = tree;
+        return tree;
     }
 
     public List<Route> getAllRoutes() {
@@ -115,7 +152,7 @@ public class RouteTree {
                 .toList();
     }
 
-    protected String extractParameterName(String segment) {
+    protected static String extractParameterName(String segment) {
         var matcher = PARAM_PATTERN.matcher(segment);
 
         if (matcher.matches()) {
@@ -125,7 +162,17 @@ public class RouteTree {
         return null;
     }
 
-    protected String[] splitPath(String pathPattern) {
+    protected static String extractCatchAllName(String segment) {
+        var matcher = CATCH_ALL_PATTERN.matcher(segment);
+
+        if (matcher.matches()) {
+            return matcher.group(1);
+        }
+
+        return null;
+    }
+
+    protected static String[] splitPath(String pathPattern) {
         if (pathPattern == null || pathPattern.isEmpty()) {
             return new String[0];
         }
@@ -140,6 +187,6 @@ public class RouteTree {
                 .toArray(String[]::new);
     }
 
-    public record RouteMatch(Route route, HashMap<String, String> pathParameters) {
+    public record RouteMatch(Route route, Map<String, String> pathParameters) {
     }
 }
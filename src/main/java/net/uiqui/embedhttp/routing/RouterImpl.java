@@ -1,16 +1,93 @@
 package net.uiqui.embedhttp.routing;
 
+import net.uiqui.embedhttp.Router;
+import net.uiqui.embedhttp.api.HttpHeader;
+import net.uiqui.embedhttp.api.HttpMethod;
 import net.uiqui.embedhttp.api.impl.HttpRequestImpl;
 import net.uiqui.embedhttp.server.Request;
 
+import java.util.Map;
+
 public class RouterImpl extends RoutingBuilder {
+    private static final Map<String, String> NO_PATH_PARAMETERS = Map.of();
+
+    private final VirtualHosts virtualHosts = new VirtualHosts();
+    private volatile RouteCache routeCache = null;
+
     public RouterImpl() {
         super();
     }
 
+    @Override
+    public RouterImpl withRouteCache(int maxEntries) {
+        routeCache = new RouteCache(maxEntries);
+        return this;
+    }
+
+    @Override
+    public double getRouteCacheHitRate() {
+        var cache = routeCache;
+        return cache == null ? 0.0 : cache.getHitRate();
+    }
+
+    @Override
+    public RouterImpl withHost(String hostPattern, Router router) {
+        if (router == this) {
+            throw new IllegalArgumentException("A router cannot be its own virtual host");
+        }
+
+        virtualHosts.addHost(hostPattern, (RouterImpl) router);
+        return this;
+    }
+
+    public RouterImpl selectRouter(Request request) {
+        if (virtualHosts.isEmpty()) {
+            return this;
+        }
+
+        var hostRouter = virtualHosts.findRouter(request.header(HttpHeader.HOST));
+
+        // Requests for unknown hosts use the routes of this router
+        return hostRouter == null ? this : hostRouter;
+    }
+
+    public RouteCache getRouteCache() {
+        return routeCache;
+    }
+
+    @Override
+    public void compile() {
+        super.compile();
+
+        // Each host has its own routes, compiled on their own
+        virtualHosts.compile();
+
+        var cache = routeCache;
+        if (cache != null) {
+            // Matches found before the routes changed may no longer be valid
+            cache.clear();
+        }
+    }
+
     public HttpRequestImpl routeRequest(Request request) {
-        var routeTree = getRouteTreeForMethod(request.getMethod());
-        var routeMatch = routeTree.findRoute(request.getPath());
+        var httpRequest = routeRequest(request, request.getMethod());
+
+        if (httpRequest == null && request.getMethod() == HttpMethod.HEAD) {
+            // Without an explicit HEAD route the GET route answers, the body is left out when writing
+            return routeRequest(request, HttpMethod.GET);
+        }
+
+        return httpRequest;
+    }
+
+    private HttpRequestImpl routeRequest(Request request, HttpMethod method) {
+        // Most requests target a static path, found with a single hash lookup
+        var staticRoute = getStaticRoute(method, request.getPath());
+        if (staticRoute != null) {
+            return new HttpRequestImpl(request, staticRoute, NO_PATH_PARAMETERS);
+        }
+
+        var routeMatch = findRoute(method, request.getPath());
 
         if (routeMatch == null) {
             return null;
@@ -18,4 +95,25 @@ public class RouterImpl extends RoutingBuilder {
 
         return new HttpRequestImpl(request, routeMatch.route(), routeMatch.pathParameters());
     }
+
+    private RouteTree.RouteMatch findRoute(HttpMethod method, String path) {
+        var cache = routeCache;
+
+        if (cache == null) {
+            return getRouteTreeForMethod(method).findRoute(path);
+        }
+
+        var routeMatch = cache.get(method, path);
+        if (routeMatch != null) {
+            return routeMatch;
+        }
+
+        // Only matches are cached, unknown paths must not push out the useful entries
+        routeMatch = getRouteTreeForMethod(method).findRoute(path);
+        if (routeMatch != null) {
+            cache.put(method, path, routeMatch);
+        }
+
+        return routeMatch;
+    }
 }
@@ -4,18 +4,42 @@ import net.uiqui.embedhttp.Router;
 import net.uiqui.embedhttp.api.HttpMethod;
 import net.uiqui.embedhttp.api.HttpRequestHandler;
 
+import java.util.ArrayList;
 import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.function.Consumer;
 
 public abstract class RoutingBuilder implements Router {
     private static final RouteTree EMPTY_ROUTE_TREE = new RouteTree();
     private final Map<HttpMethod, RouteTree> routingTable = new EnumMap<>(HttpMethod.class);
+    private final Map<HttpMethod, Map<String, Route>> staticRoutingTable = new EnumMap<>(HttpMethod.class);
+    private final List<Mount> mounts = new ArrayList<>();
+    private volatile AllowedMethodsIndex allowedMethodsIndex = null;
 
     @Override
     public RoutingBuilder withRoute(HttpMethod method, String pathPattern, HttpRequestHandler handler) {
-        var route = new Route(method, pathPattern, handler);
-        routingTable.computeIfAbsent(method, k -> new RouteTree())
-                .addRoute(route);
+        return addRoute(new Route(method, pathPattern, handler));
+    }
+
+    @Override
+    public RoutingBuilder withStreamingRoute(HttpMethod method, String pathPattern, HttpRequestHandler handler) {
+        return addRoute(new Route(method, pathPattern, handler, true));
+    }
+
+    private RoutingBuilder addRoute(Route route) {
+        allowedMethodsIndex = null;
+        var routeTree = routingTable.computeIfAbsent(route.getMethod(), k -> new RouteTree());
+        routeTree.addRoute(route);
+
+        // Routes without parameters are also indexed by their exact path
+        var staticPath = routeTree.toStaticPath(route.getPathPattern());
+        if (staticPath != null) {
+            staticRoutingTable.computeIfAbsent(route.getMethod(), k -> new HashMap<>())
+                    .put(staticPath, route);
+        }
+
         return this;
     }
 
@@ -54,7 +78,110 @@ public abstract class RoutingBuilder implements Router {
         return withRoute(HttpMethod.PATCH, pathPattern, handler);
     }
 
+    @Override
+    public RoutingBuilder mount(String prefix, Router router) {
+        if (router == this) {
+            throw new IllegalArgumentException("A router cannot be mounted on itself");
+        }
+
+        mounts.add(new Mount(toMountPrefix(prefix), (RoutingBuilder) router));
+        return this;
+    }
+
+    @Override
+    public RoutingBuilder group(String prefix, Consumer<Router> builder) {
+        var router = Router.newRouter();
+        builder.accept(router);
+        return mount(prefix, router);
+    }
+
+    private static String toMountPrefix(String prefix) {
+        var pathSegments = RouteTree.splitPath(prefix);
+
+        if (pathSegments.length == 0) {
+            throw new InvalidRouteException("Invalid mount prefix: " + prefix);
+        }
+
+        for (var segment : pathSegments) {
+            if (RouteTree.extractCatchAllName(segment) != null) {
+                throw new InvalidRouteException("Mount prefix cannot have a catch-all segment: " + prefix);
+            }
+        }
+
+        // "/" mounts at the root, any other prefix is joined without the trailing separator
+        return pathSegments[0].equals("/") ? "" : "/" + String.join("/", pathSegments);
+    }
+
+    public void compile() {
+        graftMounts();
+        routingTable.values().forEach(RouteTree::compile);
+        compileAllowedMethods();
+    }
+
+    private void graftMounts() {
+        // Cleared first, so a router mounted back on one of its children is not grafted again
+        var pendingMounts = List.copyOf(mounts);
+        mounts.clear();
+
+        // Mounted routes are added with the prefix, they are matched like routes registered directly
+        for (var mount : pendingMounts) {
+            for (var route : mount.router().collectRoutes()) {
+                var pathPattern = joinPath(mount.prefix(), route.getPathPattern());
+                addRoute(new Route(route.getMethod(), pathPattern, route.getHandler(), route.isStreamingBody()));
+            }
+        }
+    }
+
+    // Exactly one separator between the prefix and the pattern, whether or not either side already has it
+    private static String joinPath(String prefix, String pathPattern) {
+        var end = prefix.length();
+        while (end > 0 && prefix.charAt(end - 1) == '/') end--;
+
+        var start = 0;
+        while (start < pathPattern.length() && pathPattern.charAt(start) == '/') start++;
+
+        return prefix.substring(0, end) + "/" + pathPattern.substring(start);
+    }
+
+    private List<Route> collectRoutes() {
+        graftMounts();
+
+        var routes = new ArrayList<Route>();
+        routingTable.values().forEach(routeTree -> routes.addAll(routeTree.getAllRoutes()));
+        return routes;
+    }
+
+    public AllowedMethods findAllowedMethods(String path) {
+        var index = allowedMethodsIndex;
+
+        if (index == null) {
+            index = compileAllowedMethods();
+        }
+
+        return index.findAllowedMethods(path);
+    }
+
+    private AllowedMethodsIndex compileAllowedMethods() {
+        // Built from the tree of each method, so every method keeps its own precedence between static, parameter and catch-all segments
+        var index = AllowedMethodsIndex.compile(routingTable);
+        allowedMethodsIndex = index;
+        return index;
+    }
+
+    public Route getStaticRoute(HttpMethod method, String path) {
+        var staticRoutes = staticRoutingTable.get(method);
+
+        if (staticRoutes == null) {
+            return null;
+        }
+
+        return staticRoutes.get(path);
+    }
+
     public RouteTree getRouteTreeForMethod(HttpMethod method) {
         return routingTable.getOrDefault(method, EMPTY_ROUTE_TREE);
     }
+
+    private record Mount(String prefix, RoutingBuilder router) {
+    }
 }
@@ -0,0 +1,96 @@
+package net.uiqui.embedhttp.routing;
+
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+
+public class VirtualHosts {
+    private static final String WILDCARD_PREFIX = "*.";
+
+    private final Map<String, RouterImpl> exactHosts = new HashMap<>();
+    private final Map<String, RouterImpl> wildcardHosts = new HashMap<>();
+
+    public void addHost(String hostPattern, RouterImpl router) {
+        if (hostPattern == null || router == null) {
+            throw new IllegalArgumentException("Host pattern and router cannot be null");
+        }
+
+        var pattern = hostPattern.trim().toLowerCase(Locale.ROOT);
+
+        if (pattern.startsWith(WILDCARD_PREFIX)) {
+            // "*.example.com" is stored by its suffix, "example.com"
+            var suffix = pattern.substring(WILDCARD_PREFIX.length());
+            validateHostName(hostPattern, suffix);
+            wildcardHosts.put(suffix, router);
+        } else {
+            validateHostName(hostPattern, pattern);
+            exactHosts.put(pattern, router);
+        }
+    }
+
+    private static void validateHostName(String hostPattern, String hostName) {
+        if (hostName.isEmpty() || hostName.indexOf('*') != -1 || hostName.indexOf(':') != -1 || hostName.indexOf('/') != -1) {
+            throw new IllegalArgumentException("Invalid host pattern: " + hostPattern);
+        }
+    }
+
+    public boolean isEmpty() {
+        return exactHosts.isEmpty() && wildcardHosts.isEmpty();
+    }
+
+    public void compile() {
+        exactHosts.values().forEach(RouterImpl::compile);
+        wildcardHosts.values().forEach(RouterImpl::compile);
+    }
+
+    public RouterImpl findRouter(String hostHeader) {
+        if (hostHeader == null) {
+            return null;
+        }
+
+        var host = toHostName(hostHeader);
+
+        var router = exactHosts.get(host);
+        if (router != null) {
+            return router;
+        }
+
+        if (wildcardHosts.isEmpty()) {
+            return null;
+        }
+
+        // The longest wildcard suffix wins, "a.b.example.com" tries "b.example.com" then "example.com"
+        var dot = host.indexOf('.');
+        while (dot != -1 && dot < host.length() - 1) {
+            router = wildcardHosts.get(host.substring(dot + 1));
+            if (router != null) {
+                return router;
+            }
+
+            dot = host.indexOf('.', dot + 1);
+        }
+
+        return null;
+    }
+
+    // Lowercase host name without the port and trailing dot, no copy is made when already normalized
+    private static String toHostName(String hostHeader) {
+        var end = hostHeader.length();
+
+        if (hostHeader.startsWith("[")) {
+            // IPv6 literal, the port comes after the closing bracket
+            var closing = hostHeader.indexOf(']');
+            end = closing == -1 ? end : closing + 1;
+        } else {
+            var colon = hostHeader.indexOf(':');
+            end = colon == -1 ? end : colon;
+        }
+
+        if (end > 0 && hostHeader.charAt(end - 1) == '.') {
+            end--;
+        }
+
+        var host = end == hostHeader.length() ? hostHeader : hostHeader.substring(0, end);
+        return host.trim().toLowerCase(Locale.ROOT);
+    }
+}
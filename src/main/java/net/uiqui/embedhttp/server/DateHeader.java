@@ -1,68 +1,53 @@
 package net.uiqui.embedhttp.server;
 
+import net.uiqui.embedhttp.api.HttpHeader;
+
+import java.nio.charset.StandardCharsets;
 import java.time.Instant;
 import java.time.ZoneId;
 import java.time.ZonedDateTime;
 import java.time.format.DateTimeFormatter;
-import java.time.temporal.ChronoUnit;
 import java.util.Locale;
-import java.util.concurrent.locks.Lock;
-import java.util.concurrent.locks.ReadWriteLock;
-import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.concurrent.atomic.AtomicReference;
 
 public class DateHeader {
     private static final String RFC_1123_DATE_TIME = "EEE, dd MMM yyyy HH:mm:ss 'GMT'";
     private static final String GMT = "GMT";
 
-    private static final DateTimeFormatter DATE_HEADER_FORMAT = DateTimeFormatter.ofPattern(RFC_1123_DATE_TIME, Locale.ENGLISH)
-            .withZone(ZoneId.of(GMT));
-    private static final ZonedDateTime EPOCH = ZonedDateTime.ofInstant(Instant.EPOCH, ZoneId.of(GMT));
+    private static final ZoneId GMT_ZONE = ZoneId.of(GMT);
 
-    private final ReadWriteLock lock = new ReentrantReadWriteLock();
-    private final Lock readLock = lock.readLock();
-    private final Lock writeLock = lock.writeLock();
+    private static final DateTimeFormatter DATE_HEADER_FORMAT = DateTimeFormatter.ofPattern(RFC_1123_DATE_TIME, Locale.ENGLISH)
+            .withZone(GMT_ZONE);
 
-    private FormatedDate lastFormattedDate = new FormatedDate(EPOCH, "");
+    private final AtomicReference<EncodedDate> lastEncodedDate = new AtomicReference<>(new EncodedDate(Long.MIN_VALUE, new byte[0]));
 
-    public String getDateHeaderValue() {
-        var now = Now.asZonedDateTime().truncatedTo(ChronoUnit.SECONDS);
+    public byte[] getDateHeaderBytes() {
+        var epochSecond = Math.floorDiv(Now.currentTimeMillis(), 1000L);
 
-        var currentFormattedDate = getCurrentFormattedDate();
-        if (now.equals(lastFormattedDate.time())) {
-            return currentFormattedDate.formatted();
+        var current = lastEncodedDate.get();
+        if (current.epochSecond() == epochSecond) {
+            return current.bytes();
         }
 
-        return computeAndReturn(now);
-    }
-
-    private FormatedDate getCurrentFormattedDate() {
-        readLock.lock();
-        try {
-            return lastFormattedDate;
-        } finally {
-            readLock.unlock();
+        // Threads racing into a new second may all encode it, only a newer value replaces the cached one
+        var updated = new EncodedDate(epochSecond, encodeHeader(epochSecond));
+        if (current.epochSecond() < epochSecond) {
+            lastEncodedDate.compareAndSet(current, updated);
         }
-    }
 
-    private String computeAndReturn(ZonedDateTime time) {
-        writeLock.lock();
-        try {
-            if (lastFormattedDate.time().equals(time)) {
-                return lastFormattedDate.formatted();
-            }
+        return updated.bytes();
+    }
 
-            var formatted = formatDate(time);
-            lastFormattedDate = new FormatedDate(time, formatted);
-            return formatted;
-        } finally {
-            writeLock.unlock();
-        }
+    private byte[] encodeHeader(long epochSecond) {
+        var date = ZonedDateTime.ofInstant(Instant.ofEpochSecond(epochSecond), GMT_ZONE);
+        var header = HttpHeader.DATE.getValue() + ": " + formatDate(date) + "\r\n";
+        return header.getBytes(StandardCharsets.US_ASCII);
     }
 
     protected String formatDate(ZonedDateTime date) {
         return DATE_HEADER_FORMAT.format(date);
     }
 
-    private record FormatedDate(ZonedDateTime time, String formatted) {
+    private record EncodedDate(long epochSecond, byte[] bytes) {
     }
-}
\ No newline at end of file
+}
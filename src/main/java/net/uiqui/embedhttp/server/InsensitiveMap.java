@@ -1,16 +1,297 @@
 package net.uiqui.embedhttp.server;
 
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Arrays;
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
 import java.util.Map;
-import java.util.TreeMap;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.Set;
 
-public class InsensitiveMap extends TreeMap<String, String> {
-    public InsensitiveMap() {
-        super(String.CASE_INSENSITIVE_ORDER);
-    }
+public class InsensitiveMap extends AbstractMap<String, String> {
+    private static final int INITIAL_CAPACITY = 8;
+    private static final int EMPTY_SLOT = -1;
+
+    // Entries are kept in insertion order, the slots table only points into them
+    private String[] keys = new String[INITIAL_CAPACITY];
+    private String[] values = new String[INITIAL_CAPACITY];
+    private int[] hashes = new int[INITIAL_CAPACITY];
+    private int[] slots = newSlots(INITIAL_CAPACITY * 2);
+    private int size = 0;
+    private int modificationCount = 0;
 
     public static InsensitiveMap from(Map<String, String> map) {
         var insensitiveMap = new InsensitiveMap();
         insensitiveMap.putAll(map);
         return insensitiveMap;
     }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public boolean containsKey(Object key) {
+        return key instanceof String name && indexOf(name, hash(name)) != -1;
+    }
+
+    @Override
+    public String get(Object key) {
+        if (!(key instanceof String name)) {
+            return null;
+        }
+
+        var index = indexOf(name, hash(name));
+        return index == -1 ? null : values[index];
+    }
+
+    @Override
+    public String put(String key, String value) {
+        var hash = hash(key);
+        var index = indexOf(key, hash);
+
+        if (index != -1) {
+            // The name first used is kept, like in a map ordered by a case insensitive comparator
+            var previous = values[index];
+            values[index] = value;
+            return previous;
+        }
+
+        if (size == keys.length) {
+            grow();
+        }
+
+        keys[size] = key;
+        values[size] = value;
+        hashes[size] = hash;
+        insertSlot(hash, size);
+        size++;
+        modificationCount++;
+        return null;
+    }
+
+    @Override
+    public String remove(Object key) {
+        if (!(key instanceof String name)) {
+            return null;
+        }
+
+        var index = indexOf(name, hash(name));
+        if (index == -1) {
+            return null;
+        }
+
+        var previous = values[index];
+        removeAt(index);
+        return previous;
+    }
+
+    @Override
+    public void clear() {
+        Arrays.fill(keys, 0, size, null);
+        Arrays.fill(values, 0, size, null);
+        Arrays.fill(slots, EMPTY_SLOT);
+        size = 0;
+        modificationCount++;
+    }
+
+    @Override
+    public Set<Entry<String, String>> entrySet() {
+        return new EntrySet();
+    }
+
+    private int indexOf(String key, int hash) {
+        var mask = slots.length - 1;
+
+        for (var slot = hash & mask; ; slot = (slot + 1) & mask) {
+            var index = slots[slot];
+
+            if (index == EMPTY_SLOT) {
+                return -1;
+            }
+
+            if (hashes[index] == hash && equalsIgnoreCase(keys[index], key)) {
+                return index;
+            }
+        }
+    }
+
+    private void insertSlot(int hash, int index) {
+        var mask = slots.length - 1;
+        var slot = hash & mask;
+
+        while (slots[slot] != EMPTY_SLOT) {
+            slot = (slot + 1) & mask;
+        }
+
+        slots[slot] = index;
+    }
+
+    private void removeAt(int index) {
+        // Entries are shifted to keep the insertion order, headers are few and removals rare
+        var moved = size - index - 1;
+        System.arraycopy(keys, index + 1, keys, index, moved);
+        System.arraycopy(values, index + 1, values, index, moved);
+        System.arraycopy(hashes, index + 1, hashes, index, moved);
+        size--;
+        keys[size] = null;
+        values[size] = null;
+        modificationCount++;
+        rebuildSlots(slots.length);
+    }
+
+    private void grow() {
+        var capacity = keys.length * 2;
+        keys = Arrays.copyOf(keys, capacity);
+        values = Arrays.copyOf(values, capacity);
+        hashes = Arrays.copyOf(hashes, capacity);
+        rebuildSlots(capacity * 2);
+    }
+
+    private void rebuildSlots(int slotCount) {
+        slots = newSlots(slotCount);
+
+        for (var i = 0; i < size; i++) {
+            insertSlot(hashes[i], i);
+        }
+    }
+
+    private static int[] newSlots(int slotCount) {
+        var newSlots = new int[slotCount];
+        Arrays.fill(newSlots, EMPTY_SLOT);
+        return newSlots;
+    }
+
+    // Header names are ASCII tokens, only ASCII letters are folded
+    private static int hash(String key) {
+        var hash = 0;
+
+        for (var i = 0; i < key.length(); i++) {
+            hash = 31 * hash + toLowerCase(key.charAt(i));
+        }
+
+        // Spreads the high bits, the slots table is indexed by the low ones
+        return hash ^ (hash >>> 16);
+    }
+
+    private static boolean equalsIgnoreCase(String a, String b) {
+        if (a.length() != b.length()) {
+            return false;
+        }
+
+        for (var i = 0; i < a.length(); i++) {
+            if (toLowerCase(a.charAt(i)) != toLowerCase(b.charAt(i))) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    private static char toLowerCase(char c) {
+        return c >= 'A' && c <= 'Z' ? (char) (c + ('a' - 'A')) : c;
+    }
+
+    private final class EntrySet extends AbstractSet<Entry<String, String>> {
+        @Override
+        public int size() {
+            return size;
+        }
+
+        @Override
+        public void clear() {
+            InsensitiveMap.this.clear();
+        }
+
+        @Override
+        public Iterator<Entry<String, String>> iterator() {
+            return new EntryIterator();
+        }
+    }
+
+    private final class EntryIterator implements Iterator<Entry<String, String>> {
+        private int next = 0;
+        private int last = -1;
+        private int expectedModificationCount = modificationCount;
+
+        @Override
+        public boolean hasNext() {
+            return next < size;
+        }
+
+        @Override
+        public Entry<String, String> next() {
+            if (expectedModificationCount != modificationCount) {
+                throw new ConcurrentModificationException();
+            }
+
+            if (next >= size) {
+                throw new NoSuchElementException();
+            }
+
+            last = next++;
+            return new HeaderEntry(last);
+        }
+
+        @Override
+        public void remove() {
+            if (last == -1) {
+                throw new IllegalStateException();
+            }
+
+            if (expectedModificationCount != modificationCount) {
+                throw new ConcurrentModificationException();
+            }
+
+            removeAt(last);
+            next = last;
+            last = -1;
+            expectedModificationCount = modificationCount;
+        }
+    }
+
+    private final class HeaderEntry implements Entry<String, String> {
+        private final int index;
+
+        private HeaderEntry(int index) {
+            this.index = index;
+        }
+
+        @Override
+        public String getKey() {
+            return keys[index];
+        }
+
+        @Override
+        public String getValue() {
+            return values[index];
+        }
+
+        @Override
+        public String setValue(String value) {
+            var previous = values[index];
+            values[index] = value;
+            return previous;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            return o instanceof Entry<?, ?> entry
+                    && Objects.equals(getKey(), entry.getKey())
+                    && Objects.equals(getValue(), entry.getValue());
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hashCode(getKey()) ^ Objects.hashCode(getValue());
+        }
+
+        @Override
+        public String toString() {
+            return getKey() + "=" + getValue();
+        }
+    }
 }
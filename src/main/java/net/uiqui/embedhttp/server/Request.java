@@ -1,23 +1,47 @@
 package net.uiqui.embedhttp.server;
 
+import net.uiqui.embedhttp.api.HttpHeader;
 import net.uiqui.embedhttp.api.HttpMethod;
+import net.uiqui.embedhttp.api.impl.Lazy;
+import net.uiqui.embedhttp.server.io.HttpVersion;
+import net.uiqui.embedhttp.server.io.RawHeaders;
 
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
 import java.util.Map;
 
 public class Request {
+    public static final byte[] EMPTY_BODY = new byte[0];
+
     private final HttpMethod method;
     private final String url;
-    private final InsensitiveMap headers;
-    private final String body;
+    private final HttpVersion version;
+    private final RawHeaders rawHeaders;
+    private final Lazy<Map<String, String>> headers;
     private final String path;
     private final String query;
     private final boolean keepAlive;
+    private final Lazy<String> decodedBody = Lazy.of(this::decodeBody);
+    private byte[] body;
+    private InputStream bodyStream = null;
+
+    public Request(HttpMethod method, String url, InsensitiveMap headers, byte[] body, boolean keepAlive) {
+        this(method, url, HttpVersion.VERSION_1_1, null, Lazy.of(() -> headers), body, keepAlive);
+    }
+
+    public static Request fromRawHeaders(HttpMethod method, String url, HttpVersion version, RawHeaders rawHeaders, boolean keepAlive) {
+        // The header map is only built when the handler asks for it
+        return new Request(method, url, version, rawHeaders, Lazy.of(rawHeaders::toMap), EMPTY_BODY, keepAlive);
+    }
 
-    public Request(HttpMethod method, String url, InsensitiveMap headers, String body, boolean keepAlive) {
+    private Request(HttpMethod method, String url, HttpVersion version, RawHeaders rawHeaders, Lazy<Map<String, String>> headers, byte[] body, boolean keepAlive) {
         this.method = method;
         this.url = url;
+        this.version = version;
+        this.rawHeaders = rawHeaders;
         this.headers = headers;
-        this.body = body;
+        this.body = body == null ? EMPTY_BODY : body;
 
         var queryIndex = url.indexOf('?');
 
@@ -40,14 +64,56 @@ public class Request {
         return url;
     }
 
+    public HttpVersion getVersion() {
+        return version;
+    }
+
     public Map<String, String> getHeaders() {
-        return headers;
+        return headers.get();
+    }
+
+    public String header(HttpHeader header) {
+        if (rawHeaders != null) {
+            // Well-known headers are found by their ordinal, only the value is decoded
+            return rawHeaders.get(header);
+        }
+
+        var headerMap = headers.get();
+        return headerMap == null ? null : headerMap.get(header.getValue());
     }
 
     public String getBody() {
+        return decodedBody.get();
+    }
+
+    public byte[] getBodyBytes() {
+        if (bodyStream != null) {
+            throw new IllegalStateException("Request body is only available as a stream");
+        }
+
         return body;
     }
 
+    public InputStream getBodyStream() {
+        if (bodyStream != null) {
+            return bodyStream;
+        }
+
+        return new ByteArrayInputStream(body);
+    }
+
+    public boolean isBodyStreamed() {
+        return bodyStream != null;
+    }
+
+    public void setBody(byte[] body) {
+        this.body = body == null ? EMPTY_BODY : body;
+    }
+
+    public void setBodyStream(InputStream bodyStream) {
+        this.bodyStream = bodyStream;
+    }
+
     public String getPath() {
         return path;
     }
@@ -59,4 +125,13 @@ public class Request {
     public boolean isKeepAlive() {
         return keepAlive;
     }
+
+    private String decodeBody() {
+        var bytes = getBodyBytes();
+        if (bytes.length == 0) {
+            return "";
+        }
+
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
 }
@@ -2,6 +2,8 @@ package net.uiqui.embedhttp.server;
 
 import net.uiqui.embedhttp.HttpServer;
 import net.uiqui.embedhttp.Router;
+import net.uiqui.embedhttp.routing.RouterImpl;
+import net.uiqui.embedhttp.server.state.Counter;
 import net.uiqui.embedhttp.server.state.ServerState;
 import net.uiqui.embedhttp.server.state.StateMachine;
 
@@ -41,6 +43,9 @@ public abstract class ServerInstance implements HttpServer {
             return false;
         }
 
+        // Routes are compiled once, the immutable trees are then shared by all request threads
+        ((RouterImpl) router).compile();
+
         Thread.ofPlatform()
                 .daemon(false)
                 .start(() -> listenAndServe(router));
@@ -87,6 +92,14 @@ public abstract class ServerInstance implements HttpServer {
         return instancePort.get();
     }
 
+    protected static void waitForAllVirtualThreadsToFinish(Counter counter) {
+        try {
+            counter.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
     protected String serverLogMessage(String message, Object... args) {
         var finalMessage = args.length > 0
                 ? String.format(message, args)
@@ -0,0 +1,87 @@
+package net.uiqui.embedhttp.server.io;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.ProtocolException;
+
+public class ChunkedBodyStream extends InputStream {
+    private final ConnectionBuffer buffer;
+    private int chunkRemaining = 0;
+    private boolean firstChunk = true;
+    private boolean finished = false;
+
+    public ChunkedBodyStream(ConnectionBuffer buffer) {
+        this.buffer = buffer;
+    }
+
+    @Override
+    public int read() throws IOException {
+        var single = new byte[1];
+        var count = read(single, 0, 1);
+        return count == -1 ? -1 : single[0] & 0xFF;
+    }
+
+    @Override
+    public int read(byte[] target, int offset, int length) throws IOException {
+        if (!nextChunk()) {
+            return -1;
+        }
+
+        if (length == 0) {
+            return 0;
+        }
+
+        var count = buffer.read(target, offset, Math.min(length, chunkRemaining));
+        if (count == -1) {
+            throw new ProtocolException("Unexpected end of stream while reading body");
+        }
+
+        chunkRemaining -= count;
+        return count;
+    }
+
+    @Override
+    public long skip(long count) throws IOException {
+        if (count <= 0 || !nextChunk()) {
+            return 0;
+        }
+
+        var skipped = buffer.skip(Math.min(count, chunkRemaining));
+        if (skipped == -1) {
+            throw new ProtocolException("Unexpected end of stream while reading body");
+        }
+
+        chunkRemaining -= (int) skipped;
+        return skipped;
+    }
+
+    @Override
+    public int available() {
+        return finished ? 0 : Math.min(buffer.available(), chunkRemaining);
+    }
+
+    private boolean nextChunk() throws IOException {
+        if (finished) {
+            return false;
+        }
+
+        if (chunkRemaining > 0) {
+            return true;
+        }
+
+        if (!firstChunk) {
+            RequestParser.consumeTrailingLine(buffer); // Consume trailing \r\n of the previous chunk
+        }
+
+        firstChunk = false;
+        chunkRemaining = RequestParser.readChunkSize(buffer);
+
+        if (chunkRemaining == 0) {
+            RequestParser.consumeTrailingLine(buffer); // Consume the trailing empty line
+            finished = true;
+            return false;
+        }
+
+        return true;
+    }
+}
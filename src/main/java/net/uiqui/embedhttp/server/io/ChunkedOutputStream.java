@@ -0,0 +1,96 @@
+package net.uiqui.embedhttp.server.io;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+
+public class ChunkedOutputStream extends OutputStream {
+    public static final int CHUNK_SIZE = 8192; // 8KB
+
+    private static final int CHUNK_HEADER_SIZE = 6; // Hex size of CHUNK_SIZE plus \r\n
+    private static final byte[] LAST_CHUNK = "0\r\n\r\n".getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] HEX_DIGITS = "0123456789abcdef".getBytes(StandardCharsets.US_ASCII);
+
+    private final OutputStream outputStream;
+    // Chunk data is written after room for the chunk header, so each chunk goes out in a single write
+    private final byte[] chunk = new byte[CHUNK_HEADER_SIZE + CHUNK_SIZE + 2];
+    private int count = 0;
+    private boolean closed = false;
+
+    public ChunkedOutputStream(OutputStream outputStream) {
+        this.outputStream = outputStream;
+    }
+
+    @Override
+    public void write(int value) throws IOException {
+        ensureOpen();
+
+        if (count == CHUNK_SIZE) {
+            writeChunk();
+        }
+
+        chunk[CHUNK_HEADER_SIZE + count++] = (byte) value;
+    }
+
+    @Override
+    public void write(byte[] source, int offset, int length) throws IOException {
+        ensureOpen();
+
+        while (length > 0) {
+            if (count == CHUNK_SIZE) {
+                writeChunk();
+            }
+
+            var copied = Math.min(length, CHUNK_SIZE - count);
+            System.arraycopy(source, offset, chunk, CHUNK_HEADER_SIZE + count, copied);
+            count += copied;
+            offset += copied;
+            length -= copied;
+        }
+    }
+
+    @Override
+    public void flush() throws IOException {
+        ensureOpen();
+        writeChunk();
+        outputStream.flush();
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (closed) {
+            return;
+        }
+
+        writeChunk();
+        outputStream.write(LAST_CHUNK);
+        closed = true;
+    }
+
+    private void writeChunk() throws IOException {
+        if (count == 0) {
+            return;
+        }
+
+        var start = CHUNK_HEADER_SIZE;
+        chunk[--start] = '\n';
+        chunk[--start] = '\r';
+
+        for (var size = count; size > 0; size >>>= 4) {
+            chunk[--start] = HEX_DIGITS[size & 0xF];
+        }
+
+        var end = CHUNK_HEADER_SIZE + count;
+        chunk[end++] = '\r';
+        chunk[end++] = '\n';
+
+        outputStream.write(chunk, start, end - start);
+        count = 0;
+    }
+
+    private void ensureOpen() throws IOException {
+        if (closed) {
+            throw new IOException("Response body already completed");
+        }
+    }
+}
@@ -0,0 +1,50 @@
+package net.uiqui.embedhttp.server.io;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+
+public class CloseDelimitedOutputStream extends OutputStream {
+    public static final int BUFFER_SIZE = 8192; // 8KB
+
+    private final OutputStream outputStream;
+    private boolean closed = false;
+
+    public CloseDelimitedOutputStream(OutputStream outputStream) {
+        // The body has no framing, it ends when the connection is closed after the response
+        this.outputStream = new BufferedOutputStream(outputStream, BUFFER_SIZE);
+    }
+
+    @Override
+    public void write(int value) throws IOException {
+        ensureOpen();
+        outputStream.write(value);
+    }
+
+    @Override
+    public void write(byte[] source, int offset, int length) throws IOException {
+        ensureOpen();
+        outputStream.write(source, offset, length);
+    }
+
+    @Override
+    public void flush() throws IOException {
+        outputStream.flush();
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (closed) {
+            return;
+        }
+
+        closed = true;
+        outputStream.flush();
+    }
+
+    private void ensureOpen() throws IOException {
+        if (closed) {
+            throw new IOException("Response body already completed");
+        }
+    }
+}
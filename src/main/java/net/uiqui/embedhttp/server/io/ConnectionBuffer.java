@@ -0,0 +1,205 @@
+package net.uiqui.embedhttp.server.io;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+
+public class ConnectionBuffer {
+    public static final int DEFAULT_CAPACITY = 8192; // 8KB
+
+    private static final byte[] EMPTY = new byte[0];
+
+    private final InputStream inputStream;
+    private byte[] buffer = EMPTY;
+    private int position = 0;
+    private int limit = 0;
+    private int lineStart = 0;
+
+    public ConnectionBuffer(InputStream inputStream) {
+        this.inputStream = inputStream;
+    }
+
+    public int available() {
+        return limit - position;
+    }
+
+    public byte[] array() {
+        return buffer;
+    }
+
+    public int lineStart() {
+        return lineStart;
+    }
+
+    public int readLine(int maxLength) throws IOException {
+        var scanIndex = position;
+
+        while (true) {
+            var scanLimit = (int) Math.min(limit, (long) position + maxLength + 2);
+            var lineEnd = indexOf((byte) '\n', scanIndex, scanLimit);
+            if (lineEnd != -1) {
+                return consumeLine(lineEnd, lineEnd + 1);
+            }
+
+            if (scanLimit - position >= maxLength + 2L) {
+                // No line terminator within the allowed length, the line is left unconsumed
+                lineStart = position;
+                return maxLength + 1;
+            }
+
+            var scanned = limit - position;
+            if (!fill()) {
+                if (position == limit) {
+                    return -1; // End of stream
+                }
+
+                return consumeLine(limit, limit);
+            }
+
+            scanIndex = position + scanned;
+        }
+    }
+
+    public int read(byte[] target, int offset, int length) throws IOException {
+        if (length == 0) {
+            return 0;
+        }
+
+        if (position == limit) {
+            if (length >= DEFAULT_CAPACITY) {
+                // Large reads skip the buffer, there is nothing to keep for the next request
+                return inputStream.read(target, offset, length);
+            }
+
+            if (!fill()) {
+                return -1;
+            }
+        }
+
+        var count = Math.min(length, limit - position);
+        System.arraycopy(buffer, position, target, offset, count);
+        position += count;
+        return count;
+    }
+
+    public long skip(long count) throws IOException {
+        if (count <= 0) {
+            return 0;
+        }
+
+        if (position == limit && !fill()) {
+            return -1;
+        }
+
+        var skipped = (int) Math.min(count, limit - position);
+        position += skipped;
+        return skipped;
+    }
+
+    public boolean hasRequestHead() {
+        // The head ends with an empty line, with the same CRLF or bare LF line endings readLine accepts
+        for (var i = indexOf((byte) '\n', position, limit); i != -1; i = indexOf((byte) '\n', i + 1, limit)) {
+            var next = i + 1;
+            if (next < limit && buffer[next] == '\r') {
+                next++;
+            }
+
+            if (next < limit && buffer[next] == '\n') {
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    public boolean contains(byte[] sequence) {
+        var last = limit - sequence.length;
+
+        for (var i = position; i <= last; i++) {
+            if (regionMatches(i, sequence)) {
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    public void append(ByteBuffer source) {
+        var count = source.remaining();
+        ensureCapacity(count);
+        source.get(buffer, limit, count);
+        limit += count;
+    }
+
+    public void release() {
+        if (position == limit) {
+            buffer = EMPTY;
+            position = 0;
+            limit = 0;
+            lineStart = 0;
+        }
+    }
+
+    private boolean fill() throws IOException {
+        if (limit == buffer.length) {
+            ensureCapacity(DEFAULT_CAPACITY);
+        }
+
+        var count = inputStream.read(buffer, limit, buffer.length - limit);
+        if (count == -1) {
+            return false;
+        }
+
+        limit += count;
+        return true;
+    }
+
+    private void ensureCapacity(int extra) {
+        if (buffer.length - limit >= extra) {
+            return;
+        }
+
+        var unread = limit - position;
+        var target = buffer;
+
+        if (buffer.length - unread < extra) {
+            target = new byte[Math.max(unread + extra, buffer.length * 2)];
+        }
+
+        System.arraycopy(buffer, position, target, 0, unread);
+        buffer = target;
+        position = 0;
+        limit = unread;
+    }
+
+    private int consumeLine(int lineEnd, int nextPosition) {
+        lineStart = position;
+        position = nextPosition;
+
+        if (lineEnd > lineStart && buffer[lineEnd - 1] == '\r') {
+            lineEnd--;
+        }
+
+        return lineEnd - lineStart;
+    }
+
+    private int indexOf(byte value, int fromIndex, int toIndex) {
+        for (var i = fromIndex; i < toIndex; i++) {
+            if (buffer[i] == value) {
+                return i;
+            }
+        }
+
+        return -1;
+    }
+
+    private boolean regionMatches(int offset, byte[] sequence) {
+        for (var i = 0; i < sequence.length; i++) {
+            if (buffer[offset + i] != sequence[i]) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+}
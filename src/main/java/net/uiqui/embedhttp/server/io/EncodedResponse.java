@@ -0,0 +1,4 @@
+package net.uiqui.embedhttp.server.io;
+
+public record EncodedResponse(byte[] bytes, int dateOffset) {
+}
@@ -0,0 +1,61 @@
+package net.uiqui.embedhttp.server.io;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.ProtocolException;
+
+public class FixedLengthBodyStream extends InputStream {
+    private final ConnectionBuffer buffer;
+    private long remaining;
+
+    public FixedLengthBodyStream(ConnectionBuffer buffer, long contentLength) {
+        this.buffer = buffer;
+        this.remaining = contentLength;
+    }
+
+    @Override
+    public int read() throws IOException {
+        var single = new byte[1];
+        var count = read(single, 0, 1);
+        return count == -1 ? -1 : single[0] & 0xFF;
+    }
+
+    @Override
+    public int read(byte[] target, int offset, int length) throws IOException {
+        if (remaining == 0) {
+            return -1;
+        }
+
+        if (length == 0) {
+            return 0;
+        }
+
+        var count = buffer.read(target, offset, (int) Math.min(length, remaining));
+        if (count == -1) {
+            throw new ProtocolException("Unexpected end of stream while reading body");
+        }
+
+        remaining -= count;
+        return count;
+    }
+
+    @Override
+    public long skip(long count) throws IOException {
+        if (remaining == 0 || count <= 0) {
+            return 0;
+        }
+
+        var skipped = buffer.skip(Math.min(count, remaining));
+        if (skipped == -1) {
+            throw new ProtocolException("Unexpected end of stream while reading body");
+        }
+
+        remaining -= skipped;
+        return skipped;
+    }
+
+    @Override
+    public int available() {
+        return (int) Math.min(buffer.available(), remaining);
+    }
+}
@@ -0,0 +1,63 @@
+package net.uiqui.embedhttp.server.io;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+
+public class FixedLengthOutputStream extends OutputStream {
+    public static final int BUFFER_SIZE = 8192; // 8KB
+
+    private final OutputStream outputStream;
+    private final long contentLength;
+    private long written = 0;
+    private boolean closed = false;
+
+    public FixedLengthOutputStream(OutputStream outputStream, long contentLength) {
+        // The buffer is flushed but never closed, the connection outlives the response
+        this.outputStream = new BufferedOutputStream(outputStream, BUFFER_SIZE);
+        this.contentLength = contentLength;
+    }
+
+    @Override
+    public void write(int value) throws IOException {
+        ensureCapacity(1);
+        outputStream.write(value);
+        written++;
+    }
+
+    @Override
+    public void write(byte[] source, int offset, int length) throws IOException {
+        ensureCapacity(length);
+        outputStream.write(source, offset, length);
+        written += length;
+    }
+
+    @Override
+    public void flush() throws IOException {
+        outputStream.flush();
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (closed) {
+            return;
+        }
+
+        closed = true;
+        outputStream.flush();
+
+        if (written < contentLength) {
+            throw new IOException("Response body shorter than Content-Length: " + written + " of " + contentLength + " bytes written");
+        }
+    }
+
+    private void ensureCapacity(int length) throws IOException {
+        if (closed) {
+            throw new IOException("Response body already completed");
+        }
+
+        if (written + length > contentLength) {
+            throw new IOException("Response body exceeds Content-Length of " + contentLength + " bytes");
+        }
+    }
+}
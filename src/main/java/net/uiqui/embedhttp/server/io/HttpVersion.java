@@ -1,5 +1,7 @@
 package net.uiqui.embedhttp.server.io;
 
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
 import java.util.HashMap;
 import java.util.Map;
 
@@ -8,15 +10,18 @@ public enum HttpVersion {
     VERSION_1_1("HTTP/1.1");
 
     private final String value;
+    private final byte[] bytes;
 
     HttpVersion(String value) {
         this.value = value;
+        this.bytes = value.getBytes(StandardCharsets.US_ASCII);
     }
 
     public String getValue() {
         return value;
     }
 
+    private static final HttpVersion[] VERSIONS = HttpVersion.values();
     private static final Map<String, HttpVersion> VERSION_MAP = HashMap.newHashMap(HttpVersion.values().length);
 
     static {
@@ -32,4 +37,14 @@ public enum HttpVersion {
 
         return VERSION_MAP.get(version);
     }
+
+    public static HttpVersion fromBytes(byte[] source, int start, int end) {
+        for (var version : VERSIONS) {
+            if (Arrays.equals(version.bytes, 0, version.bytes.length, source, start, end)) {
+                return version;
+            }
+        }
+
+        return null;
+    }
 }
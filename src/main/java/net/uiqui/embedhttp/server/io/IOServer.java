@@ -52,14 +52,6 @@ public class IOServer extends ServerInstance {
         }
     }
 
-    private static void waitForAllVirtualThreadsToFinish(Counter counter) {
-        try {
-            counter.await();
-        } catch (InterruptedException e) {
-            Thread.currentThread().interrupt();
-        }
-    }
-
     private void acceptAndProcess(
             ServerSocket serverSocket,
             ExecutorService executorService,
@@ -85,10 +77,12 @@ public class IOServer extends ServerInstance {
         try (clientSocket) {
             counter.addOne();
             clientSocket.setSoTimeout(SO_TIMEOUT);
+            var connectionBuffer = new ConnectionBuffer(clientSocket.getInputStream());
+            var outputStream = clientSocket.getOutputStream();
             var keepAlive = true;
 
             while (keepAlive && stateMachine.getCurrentState() == ServerState.RUNNING) {
-                keepAlive = requestProcessor.process(clientSocket);
+                keepAlive = requestProcessor.process(connectionBuffer, outputStream);
             }
 
             logger.log(DEBUG, () -> serverLogMessage("Client(%s:%d): Connection closed", clientAddress, clientPort));
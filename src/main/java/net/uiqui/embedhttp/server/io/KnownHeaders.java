@@ -0,0 +1,78 @@
+package net.uiqui.embedhttp.server.io;
+
+import net.uiqui.embedhttp.api.HttpHeader;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+public class KnownHeaders {
+    private static final HttpHeader[] HEADERS = HttpHeader.values();
+    public static final int COUNT = HEADERS.length;
+
+    private static final HttpHeader[] NO_HEADERS = new HttpHeader[0];
+    private static final byte[][] LOWER_CASE_NAMES = new byte[COUNT][];
+    private static final HttpHeader[][] HEADERS_BY_LENGTH;
+
+    static {
+        var maxLength = 0;
+        for (var header : HttpHeader.values()) {
+            LOWER_CASE_NAMES[header.ordinal()] = header.getValue().toLowerCase(Locale.ROOT).getBytes(StandardCharsets.US_ASCII);
+            maxLength = Math.max(maxLength, header.getValue().length());
+        }
+
+        // Names are grouped by length, each group has only a few candidates told apart by their first byte
+        var groups = new ArrayList<List<HttpHeader>>();
+        for (var length = 0; length <= maxLength; length++) {
+            groups.add(new ArrayList<>());
+        }
+
+        for (var header : HttpHeader.values()) {
+            groups.get(header.getValue().length()).add(header);
+        }
+
+        HEADERS_BY_LENGTH = groups.stream()
+                .map(group -> group.toArray(NO_HEADERS))
+                .toArray(HttpHeader[][]::new);
+    }
+
+    private KnownHeaders() {
+    }
+
+    public static HttpHeader fromBytes(byte[] source, int start, int end) {
+        var length = end - start;
+        if (length <= 0 || length >= HEADERS_BY_LENGTH.length) {
+            return null;
+        }
+
+        var first = toLowerCase(source[start]);
+
+        for (var header : HEADERS_BY_LENGTH[length]) {
+            var name = LOWER_CASE_NAMES[header.ordinal()];
+            if (name[0] == first && equalsIgnoreCase(name, source, start)) {
+                return header;
+            }
+        }
+
+        return null;
+    }
+
+    public static String nameOf(int ordinal) {
+        return HEADERS[ordinal].getValue();
+    }
+
+    private static boolean equalsIgnoreCase(byte[] lowerCaseName, byte[] source, int start) {
+        for (var i = 1; i < lowerCaseName.length; i++) {
+            if (lowerCaseName[i] != toLowerCase(source[start + i])) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    private static byte toLowerCase(byte value) {
+        return value >= 'A' && value <= 'Z' ? (byte) (value + ('a' - 'A')) : value;
+    }
+}
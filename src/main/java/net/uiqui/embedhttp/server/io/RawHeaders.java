@@ -0,0 +1,110 @@
+package net.uiqui.embedhttp.server.io;
+
+import net.uiqui.embedhttp.api.HttpHeader;
+import net.uiqui.embedhttp.server.InsensitiveMap;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+public class RawHeaders {
+    private static final int INITIAL_DATA_SIZE = 512;
+    private static final int INITIAL_LINE_COUNT = 16;
+    private static final int OFFSETS_PER_LINE = 4; // name start, name end, value start, value end
+    private static final int UNKNOWN = -1;
+
+    // Header lines are copied as they are read, the connection buffer is reused for the next request
+    private byte[] data = new byte[INITIAL_DATA_SIZE];
+    private int dataLength = 0;
+    private int[] offsets = new int[INITIAL_LINE_COUNT * OFFSETS_PER_LINE];
+    private int[] lineHeaders = new int[INITIAL_LINE_COUNT];
+    private int lineCount = 0;
+    private final int[] knownLines = newKnownLines();
+    private final String[] knownValues = new String[KnownHeaders.COUNT];
+
+    public void add(byte[] source, int nameStart, int nameEnd, int valueStart, int valueEnd) {
+        var length = valueEnd - nameStart;
+        ensureCapacity(length);
+        System.arraycopy(source, nameStart, data, dataLength, length);
+
+        var index = lineCount * OFFSETS_PER_LINE;
+        offsets[index] = dataLength;
+        offsets[index + 1] = dataLength + nameEnd - nameStart;
+        offsets[index + 2] = dataLength + valueStart - nameStart;
+        offsets[index + 3] = dataLength + length;
+        dataLength += length;
+
+        // Only the name is matched, well-known values are decoded when first read
+        var header = KnownHeaders.fromBytes(source, nameStart, nameEnd);
+        if (header != null) {
+            knownLines[header.ordinal()] = lineCount;
+            knownValues[header.ordinal()] = null;
+        }
+
+        lineHeaders[lineCount] = header == null ? UNKNOWN : header.ordinal();
+        lineCount++;
+    }
+
+    public int size() {
+        return lineCount;
+    }
+
+    public String get(HttpHeader header) {
+        var ordinal = header.ordinal();
+        var line = knownLines[ordinal];
+
+        if (line == UNKNOWN) {
+            return null;
+        }
+
+        var value = knownValues[ordinal];
+        if (value == null) {
+            value = decodeValue(line);
+            knownValues[ordinal] = value;
+        }
+
+        return value;
+    }
+
+    public InsensitiveMap toMap() {
+        var headers = new InsensitiveMap();
+
+        for (var line = 0; line < lineCount; line++) {
+            var header = lineHeaders[line];
+            var name = header == UNKNOWN ? decodeName(line) : KnownHeaders.nameOf(header);
+            headers.put(name, decodeValue(line));
+        }
+
+        return headers;
+    }
+
+    private String decodeName(int line) {
+        var index = line * OFFSETS_PER_LINE;
+        return decode(offsets[index], offsets[index + 1]);
+    }
+
+    private String decodeValue(int line) {
+        var index = line * OFFSETS_PER_LINE;
+        return decode(offsets[index + 2], offsets[index + 3]);
+    }
+
+    private String decode(int start, int end) {
+        return new String(data, start, end - start, StandardCharsets.UTF_8);
+    }
+
+    private void ensureCapacity(int length) {
+        if (dataLength + length > data.length) {
+            data = Arrays.copyOf(data, Math.max(dataLength + length, data.length * 2));
+        }
+
+        if (lineCount == lineHeaders.length) {
+            offsets = Arrays.copyOf(offsets, offsets.length * 2);
+            lineHeaders = Arrays.copyOf(lineHeaders, lineHeaders.length * 2);
+        }
+    }
+
+    private static int[] newKnownLines() {
+        var knownLines = new int[KnownHeaders.COUNT];
+        Arrays.fill(knownLines, UNKNOWN);
+        return knownLines;
+    }
+}
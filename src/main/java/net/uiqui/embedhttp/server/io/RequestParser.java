@@ -2,17 +2,13 @@ package net.uiqui.embedhttp.server.io;
 
 import net.uiqui.embedhttp.api.HttpHeader;
 import net.uiqui.embedhttp.api.HttpMethod;
-import net.uiqui.embedhttp.server.InsensitiveMap;
 import net.uiqui.embedhttp.server.Request;
 
-import java.io.BufferedReader;
 import java.io.IOException;
 import java.io.InputStream;
-import java.io.InputStreamReader;
 import java.net.ProtocolException;
 import java.net.SocketTimeoutException;
 import java.nio.charset.StandardCharsets;
-import java.util.Map;
 
 import static net.uiqui.embedhttp.server.ConnectionHeader.CLOSE;
 import static net.uiqui.embedhttp.server.ConnectionHeader.KEEP_ALIVE;
@@ -23,70 +19,118 @@ public class RequestParser {
     private static final int MAX_CHUNK_SIZE = 1024 * 1024; // 1MB
     private static final int MAX_HEADER_COUNT = 100;
     private static final int MAX_HEADER_SIZE = 8192; // 8KB
+    private static final int MAX_REQUEST_LINE_SIZE = 8192; // 8KB
+    private static final int MAX_CHUNK_SIZE_DIGITS = 15;
+    private static final HttpMethod[] METHODS = HttpMethod.values();
+
+    public Request parseRequest(ConnectionBuffer buffer) throws IOException {
+        var request = parseRequestHead(buffer);
+        parseRequestBody(buffer, request, false);
+        return request;
+    }
+
+    public Request parseRequestHead(ConnectionBuffer buffer) throws IOException {
+        var requestLine = decodeRequestLine(buffer);
+        var headers = decodeRequestHeaders(buffer);
+        var keepAlive = decodeKeepAlive(headers.get(HttpHeader.CONNECTION));
 
-    public Request parseRequest(InputStream inputStream) throws IOException {
-        var reader = new BufferedReader(new InputStreamReader(inputStream, StandardCharsets.UTF_8));
-        var requestLine = decodeRequestLine(reader);
-        var headers = decodeRequestHeaders(reader);
-        var body = decodeRequestBody(reader, headers);
-        var keepAlive = decodeKeepAlive(headers);
+        return Request.fromRawHeaders(requestLine.method(), requestLine.url(), requestLine.version(), headers, keepAlive);
+    }
+
+    public void parseRequestBody(ConnectionBuffer buffer, Request request, boolean streaming) throws IOException {
+        if (streaming) {
+            request.setBodyStream(openRequestBody(buffer, request));
+        } else {
+            request.setBody(decodeRequestBody(buffer, request));
+        }
+    }
 
-        return new Request(requestLine.method(), requestLine.url(), headers, body, keepAlive);
+    public boolean isBodyTooLarge(Request request) throws ProtocolException {
+        // Only a declared length can be checked before reading, chunked bodies are limited while they are read
+        var contentLengthHeader = request.header(HttpHeader.CONTENT_LENGTH);
+        return contentLengthHeader != null && decodeContentLength(contentLengthHeader) > MAX_BODY_SIZE;
     }
 
-    private RequestLine decodeRequestLine(BufferedReader reader) throws IOException {
-        var line = readRequestLine(reader);
+    private RequestLine decodeRequestLine(ConnectionBuffer buffer) throws IOException {
+        var length = readRequestLine(buffer);
+        var bytes = buffer.array();
+        var start = buffer.lineStart();
+        var end = start + length;
 
-        var parts = line.split(" ", 3);
-        if (parts.length != 3) {
-            throw new ProtocolException("Invalid request line: " + line);
+        var methodEnd = indexOf(bytes, (byte) ' ', start, end);
+        var urlEnd = methodEnd == -1 ? -1 : indexOf(bytes, (byte) ' ', methodEnd + 1, end);
+        if (urlEnd == -1) {
+            throw new ProtocolException("Invalid request line: " + decode(bytes, start, end));
         }
 
-        var method = HttpMethod.fromString(parts[0]);
+        var method = decodeMethod(bytes, start, methodEnd);
         if (method == null) {
-            throw new ProtocolException("Invalid HTTP method: " + parts[0]);
+            throw new ProtocolException("Invalid HTTP method: " + decode(bytes, start, methodEnd));
         }
 
-        var url = parts[1];
+        var url = decode(bytes, methodEnd + 1, urlEnd);
 
-        var version = HttpVersion.fromString(parts[2]);
+        var version = HttpVersion.fromBytes(bytes, urlEnd + 1, end);
         if (version == null) {
-            throw new ProtocolException("Unsupported HTTP version: " + parts[2]);
+            throw new ProtocolException("Unsupported HTTP version: " + decode(bytes, urlEnd + 1, end));
         }
 
         return new RequestLine(method, url, version);
     }
 
-    private static String readRequestLine(BufferedReader reader) throws IOException {
+    private static int readRequestLine(ConnectionBuffer buffer) throws IOException {
         try {
-            var line = reader.readLine();
-            if (line == null) {
+            var length = buffer.readLine(MAX_REQUEST_LINE_SIZE);
+            if (length == -1) {
                 throw new ClientDisconnectedException();
             }
 
-            if (line.isEmpty()) {
+            if (length == 0) {
                 throw new ProtocolException("Invalid request line: line is empty");
             }
 
-            return line;
+            if (length > MAX_REQUEST_LINE_SIZE) {
+                throw new ProtocolException("Request line too large: maximum " + MAX_REQUEST_LINE_SIZE + " bytes allowed");
+            }
+
+            return length;
         } catch (SocketTimeoutException e) {
             throw new ClientDisconnectedException(e);
         }
     }
 
-    private InsensitiveMap decodeRequestHeaders(BufferedReader reader) throws IOException {
-        var headers = new InsensitiveMap();
-        String line;
+    private static HttpMethod decodeMethod(byte[] bytes, int start, int end) {
+        for (var method : METHODS) {
+            var name = method.name();
+            if (name.length() == end - start && equalsIgnoreCase(name, bytes, start)) {
+                return method;
+            }
+        }
+
+        return null;
+    }
+
+    private RawHeaders decodeRequestHeaders(ConnectionBuffer buffer) throws IOException {
+        var headers = new RawHeaders();
         int headerCount = 0;
 
-        while ((line = reader.readLine()) != null && !line.isEmpty()) {
-            if (line.length() > MAX_HEADER_SIZE) {
+        while (true) {
+            var length = buffer.readLine(MAX_HEADER_SIZE);
+            if (length <= 0) {
+                break; // End of headers or end of stream
+            }
+
+            if (length > MAX_HEADER_SIZE) {
                 throw new ProtocolException("Header too large: maximum " + MAX_HEADER_SIZE + " bytes allowed");
             }
 
-            var colonIndex = line.indexOf(':');
+            var bytes = buffer.array();
+            var start = buffer.lineStart();
+            var end = start + length;
+
+            var colonIndex = indexOf(bytes, (byte) ':', start, end);
             if (colonIndex == -1) {
-                throw new ProtocolException("Invalid header line: " + line);
+                throw new ProtocolException("Invalid header line: " + decode(bytes, start, end));
             }
 
             headerCount++;
@@ -94,33 +138,64 @@ public class RequestParser {
                 throw new ProtocolException("Too many headers: maximum " + MAX_HEADER_COUNT + " allowed");
             }
 
-            var headerName = line.substring(0, colonIndex).trim();
-            var headerValue = line.substring(colonIndex + 1).trim();
-            headers.put(headerName, headerValue);
+            var nameStart = skipWhitespace(bytes, start, colonIndex);
+            var nameEnd = trimEnd(bytes, nameStart, colonIndex);
+            var valueStart = skipWhitespace(bytes, colonIndex + 1, end);
+            var valueEnd = trimEnd(bytes, valueStart, end);
+
+            // Only the offsets are kept, names and values are decoded when they are read
+            headers.add(bytes, nameStart, nameEnd, valueStart, valueEnd);
         }
 
         return headers;
     }
 
-    private String decodeRequestBody(BufferedReader reader, Map<String, String> headers) throws IOException {
-        if (headers.containsKey(HttpHeader.CONTENT_LENGTH.getValue())) {
-            var contentLength = Integer.parseInt(headers.get(HttpHeader.CONTENT_LENGTH.getValue()));
+    private InputStream openRequestBody(ConnectionBuffer buffer, Request request) throws IOException {
+        var contentLengthHeader = request.header(HttpHeader.CONTENT_LENGTH);
+        if (contentLengthHeader != null) {
+            var contentLength = decodeContentLength(contentLengthHeader);
+            return new FixedLengthBodyStream(buffer, contentLength);
+        }
+
+        if (TRANSFER_ENCODING_CHUNKED.equalsIgnoreCase(request.header(HttpHeader.TRANSFER_ENCODING))) {
+            return new ChunkedBodyStream(buffer);
+        }
+
+        return InputStream.nullInputStream(); // No body or unsupported format
+    }
+
+    private byte[] decodeRequestBody(ConnectionBuffer buffer, Request request) throws IOException {
+        var contentLengthHeader = request.header(HttpHeader.CONTENT_LENGTH);
+        if (contentLengthHeader != null) {
+            var contentLength = decodeContentLength(contentLengthHeader);
             if (contentLength > MAX_BODY_SIZE) {
                 throw new ProtocolException("Request body too large: " + contentLength);
             }
 
-            return readFixedSizeBodyChunk(reader, contentLength);
+            return readFixedSizeChunk(buffer, (int) contentLength);
         }
 
-        if (TRANSFER_ENCODING_CHUNKED.equalsIgnoreCase(headers.get(HttpHeader.TRANSFER_ENCODING.getValue()))) {
-            return readChunkedBody(reader);
+        if (TRANSFER_ENCODING_CHUNKED.equalsIgnoreCase(request.header(HttpHeader.TRANSFER_ENCODING))) {
+            return readChunkedBody(buffer);
         }
 
-        return ""; // No body or unsupported format
+        return Request.EMPTY_BODY; // No body or unsupported format
+    }
+
+    private static long decodeContentLength(String value) throws ProtocolException {
+        try {
+            var contentLength = Long.parseLong(value);
+            if (contentLength < 0) {
+                throw new ProtocolException("Invalid Content-Length: " + value);
+            }
+
+            return contentLength;
+        } catch (NumberFormatException e) {
+            throw new ProtocolException("Invalid Content-Length: " + value);
+        }
     }
 
-    private boolean decodeKeepAlive(InsensitiveMap headers) {
-        var connectionHeader = headers.get(HttpHeader.CONNECTION.getValue());
+    private boolean decodeKeepAlive(String connectionHeader) {
         if (connectionHeader == null) {
             return true; // Default to keep-alive if no connection header is present
         }
@@ -132,43 +207,70 @@ public class RequestParser {
         return !CLOSE.getValue().equalsIgnoreCase(connectionHeader);
     }
 
-    private String readChunkedBody(BufferedReader reader) throws IOException {
-        var body = new StringBuilder();
-
-        while (true) {
-            int chunkSize = readChunkSize(reader);
-            if (chunkSize == 0) {
-                consumeTrailingLine(reader); // Consume the trailing empty line
-                break;
-            }
-
-            body.append(readFixedSizeBodyChunk(reader, chunkSize));
-            consumeTrailingLine(reader); // Consume trailing \r\n
+    private byte[] readChunkedBody(ConnectionBuffer buffer) throws IOException {
+        var body = new ChunkedBodyStream(buffer).readNBytes(MAX_BODY_SIZE + 1);
+        if (body.length > MAX_BODY_SIZE) {
+            throw new ProtocolException("Request body too large: more than " + MAX_BODY_SIZE + " bytes");
         }
 
-        return body.toString();
+        return body;
     }
 
-    private int readChunkSize(BufferedReader reader) throws IOException {
-        var line = reader.readLine();
-        if (line == null) {
+    static int readChunkSize(ConnectionBuffer buffer) throws IOException {
+        var length = buffer.readLine(MAX_HEADER_SIZE);
+        if (length == -1) {
             throw new ProtocolException("Unexpected end of stream while reading chunk size");
         }
 
-        int chunkSize = Integer.parseInt(line.trim(), 16);
+        if (length > MAX_HEADER_SIZE) {
+            throw new ProtocolException("Chunk size line too large: maximum " + MAX_HEADER_SIZE + " bytes allowed");
+        }
+
+        var bytes = buffer.array();
+        var end = buffer.lineStart() + length;
+        var start = skipWhitespace(bytes, buffer.lineStart(), end);
+        var digitsEnd = start;
+
+        // Chunk extensions after ';' are ignored
+        while (digitsEnd < end && bytes[digitsEnd] != ';' && !isWhitespace(bytes[digitsEnd])) {
+            digitsEnd++;
+        }
+
+        if (digitsEnd == start) {
+            throw new ProtocolException("Invalid chunk size: " + decode(bytes, buffer.lineStart(), end));
+        }
+
+        if (digitsEnd - start > MAX_CHUNK_SIZE_DIGITS) {
+            throw new ProtocolException("Chunk size too large: " + decode(bytes, start, digitsEnd));
+        }
+
+        var chunkSize = 0L;
+        for (var i = start; i < digitsEnd; i++) {
+            var digit = Character.digit(bytes[i], 16);
+            if (digit == -1) {
+                throw new ProtocolException("Invalid chunk size: " + decode(bytes, buffer.lineStart(), end));
+            }
+
+            chunkSize = chunkSize * 16 + digit;
+        }
+
         if (chunkSize > MAX_CHUNK_SIZE) {
             throw new ProtocolException("Chunk size too large: " + chunkSize);
         }
 
-        return chunkSize;
+        return (int) chunkSize;
     }
 
-    private String readFixedSizeBodyChunk(BufferedReader reader, int chunkSize) throws IOException {
-        var chunk = new char[chunkSize];
+    private byte[] readFixedSizeChunk(ConnectionBuffer buffer, int chunkSize) throws IOException {
+        if (chunkSize == 0) {
+            return Request.EMPTY_BODY;
+        }
+
+        var chunk = new byte[chunkSize];
         int read = 0;
 
         while (read < chunkSize) {
-            var readCount = reader.read(chunk, read, chunkSize - read);
+            var readCount = buffer.read(chunk, read, chunkSize - read);
             if (readCount == -1) {
                 throw new ProtocolException("Unexpected end of stream while reading body");
             }
@@ -176,16 +278,65 @@ public class RequestParser {
             read += readCount;
         }
 
-        return new String(chunk);
+        return chunk;
     }
 
-    private void consumeTrailingLine(BufferedReader reader) throws IOException {
-        var line = reader.readLine();
-        if (line == null) {
+    static void consumeTrailingLine(ConnectionBuffer buffer) throws IOException {
+        var length = buffer.readLine(MAX_HEADER_SIZE);
+        if (length == -1) {
             throw new ProtocolException("Unexpected end of stream while consuming trailing line");
         }
     }
 
+    private static int indexOf(byte[] bytes, byte value, int start, int end) {
+        for (var i = start; i < end; i++) {
+            if (bytes[i] == value) {
+                return i;
+            }
+        }
+
+        return -1;
+    }
+
+    private static boolean equalsIgnoreCase(String expected, byte[] bytes, int start) {
+        for (var i = 0; i < expected.length(); i++) {
+            var value = bytes[start + i];
+            if (value >= 'a' && value <= 'z') {
+                value -= 'a' - 'A';
+            }
+
+            if (value != expected.charAt(i)) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    private static boolean isWhitespace(byte value) {
+        return value >= 0 && value <= ' ';
+    }
+
+    private static int skipWhitespace(byte[] bytes, int start, int end) {
+        while (start < end && isWhitespace(bytes[start])) {
+            start++;
+        }
+
+        return start;
+    }
+
+    private static int trimEnd(byte[] bytes, int start, int end) {
+        while (end > start && isWhitespace(bytes[end - 1])) {
+            end--;
+        }
+
+        return end;
+    }
+
+    private static String decode(byte[] bytes, int start, int end) {
+        return new String(bytes, start, end - start, StandardCharsets.UTF_8);
+    }
+
     protected record RequestLine(HttpMethod method, String url, HttpVersion version) {
     }
-}
\ No newline at end of file
+}
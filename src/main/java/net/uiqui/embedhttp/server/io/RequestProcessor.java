@@ -2,7 +2,9 @@ package net.uiqui.embedhttp.server.io;
 
 import net.uiqui.embedhttp.api.ContentType;
 import net.uiqui.embedhttp.api.HttpHeader;
+import net.uiqui.embedhttp.api.HttpMethod;
 import net.uiqui.embedhttp.api.HttpResponse;
+import net.uiqui.embedhttp.api.HttpStatusCode;
 import net.uiqui.embedhttp.api.impl.HttpRequestImpl;
 import net.uiqui.embedhttp.api.impl.HttpResponseImpl;
 import net.uiqui.embedhttp.routing.RouterImpl;
@@ -11,12 +13,33 @@ import net.uiqui.embedhttp.server.Request;
 import net.uiqui.embedhttp.server.RequestPipeline;
 
 import java.io.IOException;
-import java.io.InputStream;
 import java.io.OutputStream;
 import java.net.ProtocolException;
-import java.net.Socket;
+import java.util.ArrayList;
+import java.util.List;
 
 public class RequestProcessor {
+    public static final int MAX_PIPELINED_REQUESTS = 32;
+    public static final int MAX_DISCARDED_BODY_SIZE = 64 * 1024; // 64KB
+
+    private static final String CONTINUE_EXPECTATION = "100-continue";
+
+    private static final HttpResponse UNEXPECTED_ERROR = HttpResponse.unexpectedError()
+            .setBody(ContentType.TEXT_PLAIN, "Unexpected error executing request")
+            .freeze();
+    private static final HttpResponse READ_ERROR = HttpResponse.unexpectedError()
+            .setHeader(HttpHeader.CONNECTION, ConnectionHeader.CLOSE.getValue())
+            .setBody(ContentType.TEXT_PLAIN, "Something went wrong on our side")
+            .freeze();
+    private static final HttpResponse EXPECTATION_FAILED = HttpResponse.withStatus(HttpStatusCode.EXPECTATION_FAILED)
+            .setHeader(HttpHeader.CONNECTION, ConnectionHeader.CLOSE.getValue())
+            .setBody(ContentType.TEXT_PLAIN, "Expectation Failed")
+            .freeze();
+    private static final HttpResponse PAYLOAD_TOO_LARGE = HttpResponse.withStatus(HttpStatusCode.PAYLOAD_TOO_LARGE)
+            .setHeader(HttpHeader.CONNECTION, ConnectionHeader.CLOSE.getValue())
+            .setBody(ContentType.TEXT_PLAIN, "Payload Too Large")
+            .freeze();
+
     private final RequestParser requestParser;
     private final ResponseWriter responseWriter;
     private final RouterImpl router;
@@ -27,71 +50,203 @@ public class RequestProcessor {
         this.router = router;
     }
 
-    public boolean process(Socket clientSocket) throws IOException {
-        var response = RequestPipeline.value(clientSocket.getInputStream())
+    public boolean process(ConnectionBuffer connectionBuffer, OutputStream outputStream) throws IOException {
+        var responses = new ArrayList<HttpResponseImpl>();
+        var keepAlive = true;
+
+        // Pipelined requests already sitting in the buffer are answered in order with a single write
+        do {
+            var response = processRequest(connectionBuffer, outputStream, responses);
+            responses.add(response);
+            keepAlive = shouldKeepAliveConnection(response);
+        } while (keepAlive && responses.size() < MAX_PIPELINED_REQUESTS && connectionBuffer.hasRequestHead());
+
+        responseWriter.writeResponses(outputStream, responses);
+
+        return keepAlive;
+    }
+
+    private HttpResponseImpl processRequest(ConnectionBuffer connectionBuffer, OutputStream outputStream, List<HttpResponseImpl> responses) throws IOException {
+        var response = RequestPipeline.value(connectionBuffer)
                 .map(this::parse)
-                .map(this::route)
+                .map(request -> route(connectionBuffer, request, outputStream, responses))
                 .then(this::execute);
-        write(response, clientSocket.getOutputStream());
 
-        return shouldKeepAliveConnection(response);
+        return (HttpResponseImpl) response;
     }
 
-    private boolean shouldKeepAliveConnection(HttpResponse response) {
-        var castedResponse = (HttpResponseImpl) response;
-        return !castedResponse.closeConnection();
+    private boolean shouldKeepAliveConnection(HttpResponseImpl response) {
+        return !response.closeConnection();
     }
 
-    private RequestPipeline<Request> parse(InputStream inputStream) throws ClientDisconnectedException {
+    private RequestPipeline<Request> parse(ConnectionBuffer connectionBuffer) throws ClientDisconnectedException {
         try {
-            var request = requestParser.parseRequest(inputStream);
+            var request = requestParser.parseRequestHead(connectionBuffer);
             return RequestPipeline.value(request);
         } catch (ProtocolException e) {
-            var response = HttpResponse.badRequest()
-                    .setHeader(HttpHeader.CONNECTION, ConnectionHeader.CLOSE.getValue())
-                    .setBody(ContentType.TEXT_PLAIN, "Bad Request: " + e.getMessage());
-            return RequestPipeline.error(response);
+            return RequestPipeline.error(badRequest(e));
         } catch (ClientDisconnectedException e) {
             throw e;
         } catch (IOException e) {
-            var response = HttpResponse.unexpectedError()
-                    .setHeader(HttpHeader.CONNECTION, ConnectionHeader.CLOSE.getValue())
-                    .setBody(ContentType.TEXT_PLAIN, "Something went wrong on our side");
-            return RequestPipeline.error(response);
+            return RequestPipeline.error(readError());
         }
     }
 
-    private RequestPipeline<HttpRequestImpl> route(Request request) {
-        var httpRequest = router.routeRequest(request);
+    private RequestPipeline<HttpRequestImpl> route(ConnectionBuffer connectionBuffer, Request request, OutputStream outputStream, List<HttpResponseImpl> responses) throws IOException {
+        var hostRouter = router.selectRouter(request);
+        var httpRequest = hostRouter.routeRequest(request);
+        var streaming = httpRequest != null && httpRequest.getRoute().isStreamingBody();
+        var expectation = request.header(HttpHeader.EXPECT);
+
+        if (expectation != null) {
+            // The client waits before sending the body, a rejected request leaves it unread and closes the connection
+            var rejection = checkExpectation(expectation, hostRouter, request, httpRequest, streaming);
+            if (rejection != null) {
+                return RequestPipeline.error(omitBodyForHead(request, closeConnection(rejection)));
+            }
+
+            sendContinue(outputStream, responses);
+        }
+
+        try {
+            requestParser.parseRequestBody(connectionBuffer, request, streaming);
+        } catch (ProtocolException e) {
+            return RequestPipeline.error(badRequest(e));
+        } catch (IOException e) {
+            return RequestPipeline.error(readError());
+        }
 
         if (httpRequest == null) {
-            var response = HttpResponse.notFound()
-                    .setBody(ContentType.TEXT_PLAIN, "Not Found:" + request.getPath());
-            return RequestPipeline.error(response);
+            var response = noRouteFound(hostRouter, request);
+
+            if (!request.isKeepAlive()) {
+                response = closeConnection(response);
+            }
+
+            return RequestPipeline.error(omitBodyForHead(request, response));
         }
 
         return RequestPipeline.value(httpRequest);
     }
 
+    private HttpResponse checkExpectation(String expectation, RouterImpl router, Request request, HttpRequestImpl httpRequest, boolean streaming) {
+        if (!CONTINUE_EXPECTATION.equalsIgnoreCase(expectation)) {
+            return EXPECTATION_FAILED;
+        }
+
+        if (httpRequest == null) {
+            return noRouteFound(router, request);
+        }
+
+        try {
+            // Streamed bodies are read by the handler, they have no size limit
+            if (!streaming && requestParser.isBodyTooLarge(request)) {
+                return PAYLOAD_TOO_LARGE;
+            }
+        } catch (ProtocolException e) {
+            return badRequest(e);
+        }
+
+        return null;
+    }
+
+    private void sendContinue(OutputStream outputStream, List<HttpResponseImpl> responses) throws IOException {
+        // Responses to earlier pipelined requests must reach the client before the interim response
+        if (!responses.isEmpty()) {
+            responseWriter.writeResponses(outputStream, responses);
+            responses.clear();
+        }
+
+        responseWriter.writeContinue(outputStream);
+    }
+
+    private static HttpResponse noRouteFound(RouterImpl router, Request request) {
+        var allowedMethods = router.findAllowedMethods(request.getPath());
+
+        if (allowedMethods == null) {
+            return HttpResponse.notFound()
+                    .setBody(ContentType.TEXT_PLAIN, "Not Found:" + request.getPath());
+        }
+
+        // The path exists for other methods, the responses were precomputed when the routes were compiled
+        if (request.getMethod() == HttpMethod.OPTIONS) {
+            return allowedMethods.getOptionsResponse();
+        }
+
+        return allowedMethods.getMethodNotAllowedResponse();
+    }
+
     private HttpResponse execute(HttpRequestImpl httpRequest) {
         var handler = httpRequest.getRoute().getHandler();
+        var request = httpRequest.getRequest();
+        HttpResponse response;
 
         try {
-            var response = handler.handle(httpRequest);
+            response = handler.handle(httpRequest);
 
-            if (!httpRequest.getRequest().isKeepAlive()) {
-                response.setHeader(HttpHeader.CONNECTION, ConnectionHeader.CLOSE.getValue());
+            if (!request.isKeepAlive()) {
+                response = closeConnection(response);
             }
 
-            return response;
+            if (request.getVersion() == HttpVersion.VERSION_1_0) {
+                response = ((HttpResponseImpl) response).withoutChunkedEncoding();
+            }
+        } catch (IOException e) {
+            // The body may have been partially read, the connection cannot be reused
+            response = readError();
         } catch (Exception e) {
-            return HttpResponse.unexpectedError()
-                    .setBody(ContentType.TEXT_PLAIN, "Unexpected error executing request");
+            response = UNEXPECTED_ERROR;
+        }
+
+        if (request.isBodyStreamed() && !discardUnreadBody(request)) {
+            response = closeConnection(response);
+        }
+
+        return omitBodyForHead(request, response);
+    }
+
+    private boolean discardUnreadBody(Request request) {
+        var bodyStream = request.getBodyStream();
+        var remaining = (long) MAX_DISCARDED_BODY_SIZE;
+
+        try {
+            // A small leftover is skipped to keep the connection usable, anything larger closes it
+            while (remaining > 0) {
+                var skipped = bodyStream.skip(remaining);
+                if (skipped <= 0) {
+                    break;
+                }
+
+                remaining -= skipped;
+            }
+
+            return bodyStream.read() == -1;
+        } catch (IOException e) {
+            return false;
+        }
+    }
+
+    private static HttpResponse omitBodyForHead(Request request, HttpResponse response) {
+        if (request.getMethod() != HttpMethod.HEAD) {
+            return response;
         }
+
+        // The headers, Content-Length included, are the same as for GET, only the body is not sent
+        return ((HttpResponseImpl) response).withoutBody();
+    }
+
+    private static HttpResponse closeConnection(HttpResponse response) {
+        // Frozen responses cannot be changed, they provide a variant that closes the connection
+        return ((HttpResponseImpl) response).withConnectionClose();
+    }
+
+    private static HttpResponse badRequest(ProtocolException e) {
+        return HttpResponse.badRequest()
+                .setHeader(HttpHeader.CONNECTION, ConnectionHeader.CLOSE.getValue())
+                .setBody(ContentType.TEXT_PLAIN, "Bad Request: " + e.getMessage());
     }
 
-    private void write(HttpResponse response, OutputStream outputStream) throws IOException {
-        var castedResponse = (HttpResponseImpl) response;
-        responseWriter.writeResponse(outputStream, castedResponse);
+    private static HttpResponse readError() {
+        return READ_ERROR;
     }
 }
@@ -0,0 +1,77 @@
+package net.uiqui.embedhttp.server.io;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+public class ResponseBuffer {
+    public static final int DEFAULT_CAPACITY = 1024; // 1KB
+
+    private byte[] buffer = new byte[DEFAULT_CAPACITY];
+    private int count = 0;
+
+    public int size() {
+        return count;
+    }
+
+    public ResponseBuffer writeAscii(String value) {
+        var length = value.length();
+        ensureCapacity(length);
+
+        for (var i = 0; i < length; i++) {
+            buffer[count++] = (byte) value.charAt(i);
+        }
+
+        return this;
+    }
+
+    public ResponseBuffer writeText(String value) {
+        var length = value.length();
+        ensureCapacity(length);
+
+        for (var i = 0; i < length; i++) {
+            var c = value.charAt(i);
+            if (c > 0x7F) {
+                // Header values are mostly ASCII, the rest of a value with other characters is encoded as UTF-8
+                return write(value.substring(i).getBytes(StandardCharsets.UTF_8));
+            }
+
+            buffer[count++] = (byte) c;
+        }
+
+        return this;
+    }
+
+    public ResponseBuffer writeInt(int value) {
+        return writeAscii(Integer.toString(value));
+    }
+
+    public ResponseBuffer write(byte[] source) {
+        return write(source, 0, source.length);
+    }
+
+    public ResponseBuffer write(byte[] source, int offset, int length) {
+        ensureCapacity(length);
+        System.arraycopy(source, offset, buffer, count, length);
+        count += length;
+        return this;
+    }
+
+    public byte[] toByteArray() {
+        return Arrays.copyOf(buffer, count);
+    }
+
+    public void writeTo(OutputStream outputStream) throws IOException {
+        if (count > 0) {
+            outputStream.write(buffer, 0, count);
+            count = 0;
+        }
+    }
+
+    private void ensureCapacity(int extra) {
+        if (buffer.length - count < extra) {
+            buffer = Arrays.copyOf(buffer, Math.max(count + extra, buffer.length * 2));
+        }
+    }
+}
@@ -0,0 +1,44 @@
+package net.uiqui.embedhttp.server.io;
+
+import net.uiqui.embedhttp.api.impl.HttpResponseImpl;
+
+public class ResponseEncoder {
+    public static final String HTTP_VERSION_1_1 = "HTTP/1.1";
+    public static final String CRLF = "\r\n";
+
+    private ResponseEncoder() {
+    }
+
+    public static void appendStatusAndHeaders(ResponseBuffer buffer, HttpResponseImpl response) {
+        // Write the HTTP response line
+        buffer.writeAscii(HTTP_VERSION_1_1)
+                .writeAscii(" ")
+                .writeInt(response.getStatusCode())
+                .writeAscii(" ")
+                .writeText(response.getStatusMessage())
+                .writeAscii(CRLF);
+
+        // Write the headers
+        for (var header : response.getHeaders().entrySet()) {
+            buffer.writeText(header.getKey())
+                    .writeAscii(": ")
+                    .writeText(header.getValue())
+                    .writeAscii(CRLF);
+        }
+    }
+
+    public static EncodedResponse encode(HttpResponseImpl response) {
+        var buffer = new ResponseBuffer();
+        appendStatusAndHeaders(buffer, response);
+
+        // The Date header changes every second, it is spliced in at this offset when the response is written
+        var dateOffset = buffer.size();
+        buffer.writeAscii(CRLF);
+
+        if (response.getBodyLength() > 0) {
+            buffer.write(response.getBodyBytes(), response.getBodyOffset(), response.getBodyLength());
+        }
+
+        return new EncodedResponse(buffer.toByteArray(), dateOffset);
+    }
+}
@@ -1,53 +1,115 @@
 package net.uiqui.embedhttp.server.io;
 
-import net.uiqui.embedhttp.api.HttpHeader;
 import net.uiqui.embedhttp.api.impl.HttpResponseImpl;
 import net.uiqui.embedhttp.server.DateHeader;
 
 import java.io.IOException;
 import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static net.uiqui.embedhttp.server.io.ResponseEncoder.CRLF;
+import static net.uiqui.embedhttp.server.io.ResponseEncoder.HTTP_VERSION_1_1;
 
 public class ResponseWriter {
-    public static final String HTTP_VERSION_1_1 = "HTTP/1.1";
-    public static final String CRLF = "\r\n";
+    public static final int MAX_BUFFERED_BODY_SIZE = 16 * 1024; // 16KB
+
+    private static final byte[] CONTINUE = (HTTP_VERSION_1_1 + " 100 Continue" + CRLF + CRLF).getBytes(StandardCharsets.US_ASCII);
 
     private final DateHeader dateHeader = new DateHeader();
 
     public void writeResponse(OutputStream outputStream, HttpResponseImpl response) throws IOException {
-        var builder = new StringBuilder();
-
-        // Write the HTTP response line
-        builder.append(HTTP_VERSION_1_1)
-                .append(" ")
-                .append(response.getStatusCode())
-                .append(" ")
-                .append(response.getStatusMessage())
-                .append(CRLF);
-
-        // Write the headers
-        for (var header : response.getHeaders().entrySet()) {
-            builder.append(header.getKey())
-                    .append(": ")
-                    .append(header.getValue())
-                    .append(CRLF);
-        }
+        writeResponses(outputStream, List.of(response));
+    }
 
-        // Write the Date header
-        builder.append(HttpHeader.DATE.getValue())
-                .append(": ")
-                .append(dateHeader.getDateHeaderValue())
-                .append(CRLF);
+    public void writeResponses(OutputStream outputStream, List<HttpResponseImpl> responses) throws IOException {
+        var buffer = new ResponseBuffer();
 
-        // End of headers
-        builder.append(CRLF);
+        for (var response : responses) {
+            if (response.isFrozen()) {
+                appendEncoded(outputStream, buffer, response.getEncoded(), response.isBodyOmitted());
+                continue;
+            }
+
+            appendHead(buffer, response);
 
-        // Write the body if present
-        if (response.getBody() != null) {
-            builder.append(response.getBody());
+            if (response.isBodyOmitted()) {
+                // Responses to HEAD requests keep their headers, the body is never produced
+                continue;
+            }
+
+            if (response.getBodyWriter() != null) {
+                // Everything buffered so far goes out before the streamed body
+                buffer.writeTo(outputStream);
+                writeStreamedBody(outputStream, response);
+            } else {
+                appendBody(outputStream, buffer, response.getBodyBytes(), response.getBodyOffset(), response.getBodyLength());
+            }
         }
 
         // Write and flush the output stream to ensure all data is sent
-        outputStream.write(builder.toString().getBytes());
+        buffer.writeTo(outputStream);
         outputStream.flush();
     }
+
+    public void writeContinue(OutputStream outputStream) throws IOException {
+        // Interim response, it has no headers and the final response follows once the body is read
+        outputStream.write(CONTINUE);
+        outputStream.flush();
+    }
+
+    private void writeStreamedBody(OutputStream outputStream, HttpResponseImpl response) throws IOException {
+        OutputStream bodyStream;
+        if (response.isChunked()) {
+            bodyStream = new ChunkedOutputStream(outputStream);
+        } else if (response.hasContentLength()) {
+            bodyStream = new FixedLengthOutputStream(outputStream, response.getContentLength());
+        } else {
+            bodyStream = new CloseDelimitedOutputStream(outputStream);
+        }
+
+        response.getBodyWriter().writeTo(bodyStream);
+
+        // Completes the body framing, the connection itself is closed by the caller when required
+        bodyStream.close();
+    }
+
+    private void appendEncoded(OutputStream outputStream, ResponseBuffer buffer, EncodedResponse encoded, boolean bodyOmitted) throws IOException {
+        var bytes = encoded.bytes();
+        var dateOffset = encoded.dateOffset();
+
+        // Only the Date header is written, everything else was encoded when the response was frozen
+        buffer.write(bytes, 0, dateOffset);
+        appendDate(buffer);
+
+        if (bodyOmitted) {
+            // End of headers only, the encoded body stays unsent
+            buffer.writeAscii(CRLF);
+            return;
+        }
+
+        appendBody(outputStream, buffer, bytes, dateOffset, bytes.length - dateOffset);
+    }
+
+    private void appendBody(OutputStream outputStream, ResponseBuffer buffer, byte[] body, int offset, int length) throws IOException {
+        if (length > MAX_BUFFERED_BODY_SIZE) {
+            // Large bodies are written from their own array instead of being copied
+            buffer.writeTo(outputStream);
+            outputStream.write(body, offset, length);
+        } else if (length > 0) {
+            buffer.write(body, offset, length);
+        }
+    }
+
+    private void appendHead(ResponseBuffer buffer, HttpResponseImpl response) {
+        ResponseEncoder.appendStatusAndHeaders(buffer, response);
+        appendDate(buffer);
+
+        // End of headers
+        buffer.writeAscii(CRLF);
+    }
+
+    private void appendDate(ResponseBuffer buffer) {
+        buffer.write(dateHeader.getDateHeaderBytes());
+    }
 }
@@ -0,0 +1,225 @@
+package net.uiqui.embedhttp.server.nio;
+
+import net.uiqui.embedhttp.server.Now;
+import net.uiqui.embedhttp.server.io.ConnectionBuffer;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.SocketTimeoutException;
+import java.nio.ByteBuffer;
+import java.nio.channels.CancelledKeyException;
+import java.nio.channels.ClosedChannelException;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.SocketChannel;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+
+public class NioConnection {
+    public static final int READ_TIMEOUT = 1000;
+    public static final int MAX_PENDING_SIZE = 64 * 1024;
+
+    private final SocketChannel channel;
+    private final Selector selector;
+    private final SelectionKey key;
+    private final Lock lock = new ReentrantLock();
+    private final Condition readiness = lock.newCondition();
+    private final ConnectionBuffer connectionBuffer = new ConnectionBuffer(new ChannelInputStream());
+    private final OutputStream outputStream = new ChannelOutputStream();
+    private final String clientAddress;
+    private final int clientPort;
+    private final int writeTimeout;
+
+    private volatile boolean busy = false;
+    private volatile long idleSince = Now.currentTimeMillis();
+    private int readyOps = 0;
+    private boolean closed = false;
+
+    public NioConnection(SocketChannel channel, Selector selector, int writeTimeout) throws IOException {
+        this.channel = channel;
+        this.selector = selector;
+        this.writeTimeout = writeTimeout;
+        this.clientAddress = channel.socket().getInetAddress().getHostAddress();
+        this.clientPort = channel.socket().getPort();
+
+        channel.configureBlocking(false);
+        this.key = channel.register(selector, SelectionKey.OP_READ, this);
+    }
+
+    public String getClientAddress() {
+        return clientAddress;
+    }
+
+    public int getClientPort() {
+        return clientPort;
+    }
+
+    public ConnectionBuffer getConnectionBuffer() {
+        return connectionBuffer;
+    }
+
+    public OutputStream getOutputStream() {
+        return outputStream;
+    }
+
+    public boolean isBusy() {
+        return busy;
+    }
+
+    public boolean isExpired(long now, long idleTimeout) {
+        // Reads do not extend the deadline, a client dribbling a request head expires like an idle one
+        return !busy && now - idleSince > idleTimeout;
+    }
+
+    public int readPending(ByteBuffer readBuffer) throws IOException {
+        readBuffer.clear();
+        var count = channel.read(readBuffer);
+
+        if (count > 0) {
+            readBuffer.flip();
+            connectionBuffer.append(readBuffer);
+        }
+
+        return count;
+    }
+
+    public boolean hasRequestHead() {
+        if (connectionBuffer.available() >= MAX_PENDING_SIZE) {
+            return true;
+        }
+
+        return connectionBuffer.hasRequestHead();
+    }
+
+    public void dispatch() {
+        busy = true;
+        updateInterest(0);
+    }
+
+    public void release() {
+        connectionBuffer.release();
+        idleSince = Now.currentTimeMillis();
+        busy = false;
+        updateInterest(SelectionKey.OP_READ);
+        selector.wakeup();
+    }
+
+    public void signal(int ops) {
+        lock.lock();
+        try {
+            readyOps |= ops;
+            updateInterest(key.interestOps() & ~ops);
+            readiness.signalAll();
+        } catch (CancelledKeyException e) {
+            // Connection was closed meanwhile
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void awaitReady(int op, long timeoutMillis, String timeoutMessage) throws IOException {
+        lock.lock();
+        try {
+            readyOps &= ~op;
+            updateInterest(key.interestOps() | op);
+            selector.wakeup();
+
+            var remaining = TimeUnit.MILLISECONDS.toNanos(timeoutMillis);
+            while ((readyOps & op) == 0) {
+                if (closed) {
+                    throw new ClosedChannelException();
+                }
+
+                if ((remaining = readiness.awaitNanos(remaining)) <= 0) {
+                    throw new SocketTimeoutException(timeoutMessage);
+                }
+            }
+
+            readyOps &= ~op;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ClosedChannelException();
+        } catch (CancelledKeyException e) {
+            throw new ClosedChannelException();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void updateInterest(int ops) {
+        lock.lock();
+        try {
+            if (key.isValid()) {
+                key.interestOps(ops);
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public void close() {
+        lock.lock();
+        try {
+            closed = true;
+            readiness.signalAll();
+        } finally {
+            lock.unlock();
+        }
+
+        key.cancel();
+
+        try {
+            channel.close();
+        } catch (IOException e) {
+            // Ignore, the connection is being discarded
+        }
+    }
+
+    private class ChannelInputStream extends InputStream {
+        @Override
+        public int read() throws IOException {
+            var single = new byte[1];
+            var count = read(single, 0, 1);
+            return count == -1 ? -1 : single[0] & 0xFF;
+        }
+
+        @Override
+        public int read(byte[] buffer, int offset, int length) throws IOException {
+            if (length == 0) {
+                return 0;
+            }
+
+            var target = ByteBuffer.wrap(buffer, offset, length);
+            while (true) {
+                var count = channel.read(target);
+                if (count != 0) {
+                    return count;
+                }
+
+                awaitReady(SelectionKey.OP_READ, READ_TIMEOUT, "Read timed out");
+            }
+        }
+    }
+
+    private class ChannelOutputStream extends OutputStream {
+        @Override
+        public void write(int value) throws IOException {
+            write(new byte[]{(byte) value}, 0, 1);
+        }
+
+        @Override
+        public void write(byte[] buffer, int offset, int length) throws IOException {
+            var source = ByteBuffer.wrap(buffer, offset, length);
+
+            while (source.hasRemaining()) {
+                if (channel.write(source) == 0) {
+                    // A client that stops reading would otherwise hold the handler thread forever
+                    awaitReady(SelectionKey.OP_WRITE, writeTimeout, "Write timed out");
+                }
+            }
+        }
+    }
+}
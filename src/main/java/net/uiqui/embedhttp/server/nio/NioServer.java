@@ -0,0 +1,221 @@
+package net.uiqui.embedhttp.server.nio;
+
+import net.uiqui.embedhttp.Router;
+import net.uiqui.embedhttp.routing.RouterImpl;
+import net.uiqui.embedhttp.server.Now;
+import net.uiqui.embedhttp.server.ServerInstance;
+import net.uiqui.embedhttp.server.io.ClientDisconnectedException;
+import net.uiqui.embedhttp.server.io.RequestParser;
+import net.uiqui.embedhttp.server.io.RequestProcessor;
+import net.uiqui.embedhttp.server.io.ResponseWriter;
+import net.uiqui.embedhttp.server.state.Counter;
+import net.uiqui.embedhttp.server.state.ServerState;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.SocketTimeoutException;
+import java.nio.ByteBuffer;
+import java.nio.channels.ClosedChannelException;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.ServerSocketChannel;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static java.lang.System.Logger.Level.DEBUG;
+import static java.lang.System.Logger.Level.ERROR;
+import static java.lang.System.Logger.Level.INFO;
+
+public class NioServer extends ServerInstance {
+    public static final int SELECT_TIMEOUT = 1000;
+    public static final int READ_BUFFER_SIZE = 16 * 1024;
+    public static final int IDLE_TIMEOUT = 10_000;
+
+    private final int idleTimeout;
+
+    public NioServer(int port, int backlog) {
+        this(port, backlog, IDLE_TIMEOUT);
+    }
+
+    public NioServer(int port, int backlog, int idleTimeout) {
+        super(port, backlog);
+        this.idleTimeout = idleTimeout;
+    }
+
+    @Override
+    public void listenAndServe(Router router) {
+        var counter = new Counter();
+
+        try (var selector = Selector.open();
+             var serverChannel = ServerSocketChannel.open();
+             var executorService = Executors.newVirtualThreadPerTaskExecutor()) {
+            serverChannel.bind(new InetSocketAddress(port), backlog);
+            serverChannel.configureBlocking(false);
+            serverChannel.register(selector, SelectionKey.OP_ACCEPT);
+            instancePort.set(serverChannel.socket().getLocalPort());
+
+            var requestParser = new RequestParser();
+            var responseWriter = new ResponseWriter();
+            var requestProcessor = new RequestProcessor(requestParser, responseWriter, (RouterImpl) router);
+            var eventLoop = new EventLoop(selector, serverChannel, executorService, counter, requestProcessor);
+
+            stateMachine.setState(ServerState.RUNNING);
+            logger.log(INFO, () -> serverLogMessage("Started on port %d", serverChannel.socket().getLocalPort()));
+
+            eventLoop.run();
+        } catch (Exception e) {
+            logger.log(ERROR, () -> serverLogMessage("Error starting server"), e);
+        } finally {
+            waitForAllVirtualThreadsToFinish(counter);
+            stateMachine.setState(ServerState.STOPPED);
+        }
+    }
+
+    private class EventLoop {
+        private final Selector selector;
+        private final ServerSocketChannel serverChannel;
+        private final ExecutorService executorService;
+        private final Counter counter;
+        private final RequestProcessor requestProcessor;
+        private final ByteBuffer readBuffer = ByteBuffer.allocateDirect(READ_BUFFER_SIZE);
+        private long nextSweep = Now.currentTimeMillis() + SELECT_TIMEOUT;
+
+        private EventLoop(
+                Selector selector,
+                ServerSocketChannel serverChannel,
+                ExecutorService executorService,
+                Counter counter,
+                RequestProcessor requestProcessor
+        ) {
+            this.selector = selector;
+            this.serverChannel = serverChannel;
+            this.executorService = executorService;
+            this.counter = counter;
+            this.requestProcessor = requestProcessor;
+        }
+
+        private void run() throws IOException {
+            try {
+                while (stateMachine.getCurrentState() == ServerState.RUNNING) {
+                    selector.select(this::handleKey, SELECT_TIMEOUT);
+                    closeExpiredConnections();
+                }
+            } finally {
+                closeAllConnections();
+            }
+        }
+
+        private void handleKey(SelectionKey key) {
+            if (key.isValid() && key.isAcceptable()) {
+                acceptConnections();
+                return;
+            }
+
+            var connection = (NioConnection) key.attachment();
+
+            if (!key.isValid()) {
+                return;
+            }
+
+            if (connection.isBusy()) {
+                connection.signal(key.readyOps());
+                return;
+            }
+
+            if (key.isReadable()) {
+                readConnection(connection);
+            }
+        }
+
+        private void acceptConnections() {
+            try {
+                var clientChannel = serverChannel.accept();
+
+                while (clientChannel != null) {
+                    var connection = new NioConnection(clientChannel, selector, idleTimeout);
+                    logger.log(DEBUG, () -> clientLogMessage(connection, "Connected"));
+                    clientChannel = serverChannel.accept();
+                }
+            } catch (IOException e) {
+                logger.log(ERROR, () -> serverLogMessage("Error accepting client requests"), e);
+            }
+        }
+
+        private void readConnection(NioConnection connection) {
+            try {
+                var count = connection.readPending(readBuffer);
+
+                if (count == -1) {
+                    logger.log(DEBUG, () -> clientLogMessage(connection, "Disconnected"));
+                    connection.close();
+                    return;
+                }
+
+                if (connection.hasRequestHead()) {
+                    connection.dispatch();
+                    counter.addOne();
+                    executorService.submit(() -> handleRequest(connection));
+                }
+            } catch (IOException e) {
+                logger.log(DEBUG, () -> clientLogMessage(connection, "Disconnected"));
+                connection.close();
+            }
+        }
+
+        private void handleRequest(NioConnection connection) {
+            try {
+                var keepAlive = true;
+
+                while (keepAlive && connection.hasRequestHead() && stateMachine.getCurrentState() == ServerState.RUNNING) {
+                    keepAlive = requestProcessor.process(connection.getConnectionBuffer(), connection.getOutputStream());
+                }
+
+                if (keepAlive && stateMachine.getCurrentState() == ServerState.RUNNING) {
+                    connection.release();
+                } else {
+                    logger.log(DEBUG, () -> clientLogMessage(connection, "Connection closed"));
+                    connection.close();
+                }
+            } catch (ClientDisconnectedException | ClosedChannelException e) {
+                logger.log(DEBUG, () -> clientLogMessage(connection, "Disconnected"));
+                connection.close();
+            } catch (SocketTimeoutException e) {
+                logger.log(DEBUG, () -> clientLogMessage(connection, e.getMessage()));
+                connection.close();
+            } catch (Exception e) {
+                logger.log(ERROR, () -> clientLogMessage(connection, "Error processing request"), e);
+                connection.close();
+            } finally {
+                counter.downOne();
+            }
+        }
+
+        private void closeExpiredConnections() {
+            var now = Now.currentTimeMillis();
+            if (now < nextSweep) {
+                return;
+            }
+
+            // Connections waiting for a complete request head are only read here, nothing else would time them out
+            nextSweep = now + SELECT_TIMEOUT;
+            for (var key : selector.keys()) {
+                if (key.attachment() instanceof NioConnection connection && connection.isExpired(now, idleTimeout)) {
+                    logger.log(DEBUG, () -> clientLogMessage(connection, "Idle timeout"));
+                    connection.close();
+                }
+            }
+        }
+
+        private void closeAllConnections() {
+            for (var key : selector.keys()) {
+                if (key.attachment() instanceof NioConnection connection) {
+                    connection.close();
+                }
+            }
+        }
+
+        private String clientLogMessage(NioConnection connection, String message) {
+            return serverLogMessage("Client(%s:%d): %s", connection.getClientAddress(), connection.getClientPort(), message);
+        }
+    }
+}
@@ -1,6 +1,8 @@
 package net.uiqui.embedhttp;
 
 import net.uiqui.embedhttp.server.ServerInstance;
+import net.uiqui.embedhttp.server.io.IOServer;
+import net.uiqui.embedhttp.server.nio.NioServer;
 import org.junit.jupiter.api.Test;
 
 import static org.assertj.core.api.Assertions.assertThat;
@@ -17,4 +19,26 @@ class HttpServerTest {
         assertThat(result).isInstanceOf(ServerInstance.class);
         assertThat(result.isRunning()).isFalse();
     }
+
+    @Test
+    void newInstanceWithIOEngine() {
+        // given
+        int port = 8080;
+        // when
+        var result = HttpServer.newInstance(port, ServerEngine.IO);
+        // then
+        assertThat(result).isInstanceOf(IOServer.class);
+        assertThat(result.isRunning()).isFalse();
+    }
+
+    @Test
+    void newInstanceWithNioEngine() {
+        // given
+        int port = 8080;
+        // when
+        var result = HttpServer.newInstance(port, ServerEngine.NIO);
+        // then
+        assertThat(result).isInstanceOf(NioServer.class);
+        assertThat(result.isRunning()).isFalse();
+    }
 }
\ No newline at end of file
@@ -6,6 +6,8 @@ import net.uiqui.embedhttp.server.InsensitiveMap;
 import net.uiqui.embedhttp.server.Request;
 import org.junit.jupiter.api.Test;
 
+import java.nio.charset.StandardCharsets;
+import java.util.List;
 import java.util.Map;
 
 import static org.assertj.core.api.Assertions.assertThat;
@@ -79,6 +81,63 @@ class HttpRequestImplTest {
         assertThat(result).isEmpty();
     }
 
+    @Test
+    void testGetQueryParametersWithRepeatedParameter() {
+        // given
+        var request = new Request(HttpMethod.GET, "/test/path?tag=a&tag=b", null, null, false);
+        var classUnderTest = new HttpRequestImpl(request, null, null);
+        // when
+        var result = classUnderTest.getQueryParameters();
+        // then
+        assertThat(result).containsEntry("tag", "b").hasSize(1);
+    }
+
+    @Test
+    void testGetQueryParameterWithRepeatedParameter() {
+        // given
+        var request = new Request(HttpMethod.GET, "/test/path?tag=a&tag=b", null, null, false);
+        var classUnderTest = new HttpRequestImpl(request, null, null);
+        // when
+        var result = classUnderTest.getQueryParameter("tag");
+        // then
+        assertThat(result).isEqualTo("b");
+    }
+
+    @Test
+    void testGetQueryParameterValues() {
+        // given
+        var request = new Request(HttpMethod.GET, "/test/path?tag=a&name=test&tag=b+c", null, null, false);
+        var classUnderTest = new HttpRequestImpl(request, null, null);
+        // when
+        var result = classUnderTest.getQueryParameterValues("tag");
+        // then
+        assertThat(result).containsExactly("a", "b c");
+    }
+
+    @Test
+    void testGetQueryParameterValuesWhenParameterDoNotExists() {
+        // given
+        var request = new Request(HttpMethod.GET, "/test/path?name=test", null, null, false);
+        var classUnderTest = new HttpRequestImpl(request, null, null);
+        // when
+        var result = classUnderTest.getQueryParameterValues("tag");
+        // then
+        assertThat(result).isEmpty();
+    }
+
+    @Test
+    void testGetAllQueryParameters() {
+        // given
+        var request = new Request(HttpMethod.GET, "/test/path?tag=a&name=test&tag=b", null, null, false);
+        var classUnderTest = new HttpRequestImpl(request, null, null);
+        // when
+        var result = classUnderTest.getAllQueryParameters();
+        // then
+        assertThat(result)
+                .containsEntry("tag", List.of("a", "b"))
+                .containsEntry("name", List.of("test"));
+    }
+
     @Test
     void testExtractQueryParametersWithEmojis() {
         // given
@@ -117,7 +176,7 @@ class HttpRequestImplTest {
     void testGetBody() {
         // given
         var body = "This is a test body";
-        var request = new Request(HttpMethod.POST, "/", null, body, false);
+        var request = new Request(HttpMethod.POST, "/", null, body.getBytes(StandardCharsets.UTF_8), false);
         var classUnderTest = new HttpRequestImpl(request, null, null);
         // when
         var result = classUnderTest.getBody();
@@ -125,6 +184,30 @@ class HttpRequestImplTest {
         assertThat(result).isEqualTo(body);
     }
 
+    @Test
+    void testGetBodyBytes() {
+        // given
+        var body = new byte[]{0x08, (byte) 0x96, 0x01, (byte) 0xFF, 0x00};
+        var request = new Request(HttpMethod.POST, "/", null, body, false);
+        var classUnderTest = new HttpRequestImpl(request, null, null);
+        // when
+        var result = classUnderTest.getBodyBytes();
+        // then
+        assertThat(result).isEqualTo(body);
+    }
+
+    @Test
+    void testGetBodyWithoutBody() {
+        // given
+        var request = new Request(HttpMethod.GET, "/", null, null, false);
+        var classUnderTest = new HttpRequestImpl(request, null, null);
+        // when
+        var result = classUnderTest.getBody();
+        // then
+        assertThat(result).isEmpty();
+        assertThat(classUnderTest.getBodyBytes()).isEmpty();
+    }
+
     @Test
     void testRequest() {
         // given
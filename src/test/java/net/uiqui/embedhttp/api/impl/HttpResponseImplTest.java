@@ -3,15 +3,20 @@ package net.uiqui.embedhttp.api.impl;
 import net.uiqui.embedhttp.api.ContentType;
 import net.uiqui.embedhttp.api.HttpHeader;
 import net.uiqui.embedhttp.api.HttpStatusCode;
+import net.uiqui.embedhttp.api.ResponseBodyWriter;
+import net.uiqui.embedhttp.server.ConnectionHeader;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.Arguments;
 import org.junit.jupiter.params.provider.MethodSource;
 
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
 import java.util.Arrays;
 import java.util.stream.Stream;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.AssertionsForClassTypes.catchThrowable;
 
 class HttpResponseImplTest {
 
@@ -134,6 +139,265 @@ class HttpResponseImplTest {
         assertThat(classUnderTest.getBody()).isEqualTo(body);
     }
 
+    @Test
+    void testSetBodyWithByteArray() {
+        // given
+        var classUnderTest = new HttpResponseImpl(HttpStatusCode.OK);
+        var body = new byte[]{0x08, (byte) 0x96, 0x01, (byte) 0xFF};
+        // when
+        classUnderTest.setBody("application/x-protobuf", body);
+        // then
+        assertThat(classUnderTest.getHeaders()).containsEntry(HttpHeader.CONTENT_TYPE.getValue(), "application/x-protobuf");
+        assertThat(classUnderTest.getHeaders()).containsEntry(HttpHeader.CONTENT_LENGTH.getValue(), "4");
+        assertThat(classUnderTest.getBodyBytes()).isSameAs(body);
+        assertThat(classUnderTest.getBodyOffset()).isEqualTo(0);
+        assertThat(classUnderTest.getBodyLength()).isEqualTo(4);
+    }
+
+    @Test
+    void testSetBodyWithHeapByteBuffer() {
+        // given
+        var classUnderTest = new HttpResponseImpl(HttpStatusCode.OK);
+        var array = "__Hello World__".getBytes(StandardCharsets.UTF_8);
+        var body = ByteBuffer.wrap(array, 2, 11);
+        // when
+        classUnderTest.setBody(ContentType.TEXT_PLAIN, body);
+        // then
+        assertThat(classUnderTest.getHeaders()).containsEntry(HttpHeader.CONTENT_LENGTH.getValue(), "11");
+        assertThat(classUnderTest.getBodyBytes()).isSameAs(array);
+        assertThat(classUnderTest.getBodyOffset()).isEqualTo(2);
+        assertThat(classUnderTest.getBody()).isEqualTo("Hello World");
+        assertThat(body.position()).isEqualTo(2);
+    }
+
+    @Test
+    void testSetBodyWithDirectByteBuffer() {
+        // given
+        var classUnderTest = new HttpResponseImpl(HttpStatusCode.OK);
+        var body = ByteBuffer.allocateDirect(11);
+        body.put("Hello World".getBytes(StandardCharsets.UTF_8)).flip();
+        // when
+        classUnderTest.setBody(ContentType.TEXT_PLAIN, body);
+        // then
+        assertThat(classUnderTest.getHeaders()).containsEntry(HttpHeader.CONTENT_LENGTH.getValue(), "11");
+        assertThat(classUnderTest.getBody()).isEqualTo("Hello World");
+        assertThat(body.remaining()).isEqualTo(11);
+    }
+
+    @Test
+    void testSetBodyKeepsEncodedString() {
+        // given
+        var classUnderTest = new HttpResponseImpl(HttpStatusCode.OK);
+        var body = "café 🎉";
+        // when
+        classUnderTest.setBody(ContentType.TEXT_PLAIN, body);
+        // then
+        assertThat(classUnderTest.getBodyBytes()).isEqualTo(body.getBytes(StandardCharsets.UTF_8));
+        assertThat(classUnderTest.getBodyLength()).isEqualTo(10);
+    }
+
+    @Test
+    void testSetStreamedBodyWithUnknownLength() {
+        // given
+        var classUnderTest = new HttpResponseImpl(HttpStatusCode.OK);
+        ResponseBodyWriter bodyWriter = outputStream -> outputStream.write(1);
+        // when
+        classUnderTest.setBody(ContentType.TEXT_PLAIN, bodyWriter);
+        // then
+        assertThat(classUnderTest.getHeaders()).containsEntry(HttpHeader.CONTENT_TYPE.getValue(), ContentType.TEXT_PLAIN.getValue());
+        assertThat(classUnderTest.getHeaders()).containsEntry(HttpHeader.TRANSFER_ENCODING.getValue(), "chunked");
+        assertThat(classUnderTest.getHeaders()).doesNotContainKey(HttpHeader.CONTENT_LENGTH.getValue());
+        assertThat(classUnderTest.getBodyWriter()).isSameAs(bodyWriter);
+        assertThat(classUnderTest.getBody()).isNull();
+        assertThat(classUnderTest.isChunked()).isTrue();
+    }
+
+    @Test
+    void testSetStreamedBodyWithKnownLength() {
+        // given
+        var classUnderTest = new HttpResponseImpl(HttpStatusCode.OK);
+        ResponseBodyWriter bodyWriter = outputStream -> outputStream.write(new byte[1024]);
+        // when
+        classUnderTest.setBody("application/octet-stream", 1024, bodyWriter);
+        // then
+        assertThat(classUnderTest.getHeaders()).containsEntry(HttpHeader.CONTENT_LENGTH.getValue(), "1024");
+        assertThat(classUnderTest.getHeaders()).doesNotContainKey(HttpHeader.TRANSFER_ENCODING.getValue());
+        assertThat(classUnderTest.getBodyWriter()).isSameAs(bodyWriter);
+        assertThat(classUnderTest.isChunked()).isFalse();
+        assertThat(classUnderTest.getContentLength()).isEqualTo(1024);
+    }
+
+    @Test
+    void testReplaceStreamedBodyWithString() {
+        // given
+        var classUnderTest = new HttpResponseImpl(HttpStatusCode.OK);
+        classUnderTest.setBody(ContentType.TEXT_PLAIN, outputStream -> outputStream.write(1));
+        // when
+        classUnderTest.setBody(ContentType.TEXT_PLAIN, "Hello World");
+        // then
+        assertThat(classUnderTest.getHeaders()).containsEntry(HttpHeader.CONTENT_LENGTH.getValue(), "11");
+        assertThat(classUnderTest.getHeaders()).doesNotContainKey(HttpHeader.TRANSFER_ENCODING.getValue());
+        assertThat(classUnderTest.getBodyWriter()).isNull();
+        assertThat(classUnderTest.getBody()).isEqualTo("Hello World");
+    }
+
+    @Test
+    void testFreezeEncodesNonAsciiHeaderValue() {
+        // given
+        var classUnderTest = new HttpResponseImpl(HttpStatusCode.OK);
+        classUnderTest.setHeader("Content-Disposition", "attachment; filename=\"relatório.pdf\"");
+        // when
+        classUnderTest.freeze();
+        // then
+        var result = new String(classUnderTest.getEncoded().bytes(), StandardCharsets.UTF_8);
+        assertThat(result).contains("Content-Disposition: attachment; filename=\"relatório.pdf\"\r\n");
+    }
+
+    @Test
+    void testFreezeEncodesResponse() {
+        // given
+        var classUnderTest = new HttpResponseImpl(HttpStatusCode.OK);
+        classUnderTest.setBody(ContentType.TEXT_PLAIN, "Hello World");
+        // when
+        var result = classUnderTest.freeze();
+        // then
+        assertThat(result).isSameAs(classUnderTest);
+        assertThat(classUnderTest.isFrozen()).isTrue();
+        var encoded = classUnderTest.getEncoded();
+        var head = new String(encoded.bytes(), 0, encoded.dateOffset(), StandardCharsets.US_ASCII);
+        var tail = new String(encoded.bytes(), encoded.dateOffset(), encoded.bytes().length - encoded.dateOffset(), StandardCharsets.UTF_8);
+        assertThat(head).isEqualTo("HTTP/1.1 200 OK\r\nContent-Type: text/plain\r\nContent-Length: 11\r\n");
+        assertThat(tail).isEqualTo("\r\nHello World");
+        assertThat(classUnderTest.getBody()).isEqualTo("Hello World");
+    }
+
+    @Test
+    void testFrozenResponseCannotBeModified() {
+        // given
+        var classUnderTest = new HttpResponseImpl(HttpStatusCode.OK);
+        classUnderTest.freeze();
+        // when
+        var headerError = catchThrowable(() -> classUnderTest.setHeader("X-Test", "test"));
+        var bodyError = catchThrowable(() -> classUnderTest.setBody(ContentType.TEXT_PLAIN, "Hello World"));
+        // then
+        assertThat(headerError).isInstanceOf(UnsupportedOperationException.class);
+        assertThat(bodyError).isInstanceOf(UnsupportedOperationException.class);
+        assertThat(classUnderTest.getHeaders()).isEmpty();
+    }
+
+    @Test
+    void testStreamedResponseCannotBeFrozen() {
+        // given
+        var classUnderTest = new HttpResponseImpl(HttpStatusCode.OK);
+        classUnderTest.setBody(ContentType.TEXT_PLAIN, outputStream -> outputStream.write(1));
+        // when
+        var result = catchThrowable(classUnderTest::freeze);
+        // then
+        assertThat(result).isInstanceOf(IllegalStateException.class);
+        assertThat(classUnderTest.isFrozen()).isFalse();
+    }
+
+    @Test
+    void testWithConnectionCloseOnFrozenResponse() {
+        // given
+        var classUnderTest = new HttpResponseImpl(HttpStatusCode.OK);
+        classUnderTest.setBody(ContentType.TEXT_PLAIN, "Hello World").freeze();
+        // when
+        var result = classUnderTest.withConnectionClose();
+        // then
+        assertThat(result).isNotSameAs(classUnderTest);
+        assertThat(result.isFrozen()).isTrue();
+        assertThat(result.closeConnection()).isTrue();
+        assertThat(result.getHeaders()).containsEntry(HttpHeader.CONNECTION.getValue(), ConnectionHeader.CLOSE.getValue());
+        assertThat(result.getBody()).isEqualTo("Hello World");
+        assertThat(result.withConnectionClose()).isSameAs(result);
+        assertThat(classUnderTest.closeConnection()).isFalse();
+        assertThat(classUnderTest.getHeaders()).doesNotContainKey(HttpHeader.CONNECTION.getValue());
+    }
+
+    @Test
+    void testWithConnectionCloseOnMutableResponse() {
+        // given
+        var classUnderTest = new HttpResponseImpl(HttpStatusCode.OK);
+        classUnderTest.setBody(ContentType.TEXT_PLAIN, "Hello World");
+        // when
+        var result = classUnderTest.withConnectionClose();
+        // then
+        assertThat(result).isNotSameAs(classUnderTest);
+        assertThat(result.closeConnection()).isTrue();
+        assertThat(result.getHeaders()).containsEntry(HttpHeader.CONNECTION.getValue(), ConnectionHeader.CLOSE.getValue());
+        assertThat(result.getBody()).isEqualTo("Hello World");
+        assertThat(result.withConnectionClose()).isSameAs(result);
+        assertThat(classUnderTest.closeConnection()).isFalse();
+        assertThat(classUnderTest.getHeaders()).doesNotContainKey(HttpHeader.CONNECTION.getValue());
+    }
+
+    @Test
+    void testWithoutBodyOnFrozenResponse() {
+        // given
+        var classUnderTest = new HttpResponseImpl(HttpStatusCode.OK);
+        classUnderTest.setBody(ContentType.TEXT_PLAIN, "Hello World").freeze();
+        // when
+        var result = classUnderTest.withoutBody();
+        // then
+        assertThat(result).isNotSameAs(classUnderTest);
+        assertThat(result.isFrozen()).isTrue();
+        assertThat(result.isBodyOmitted()).isTrue();
+        assertThat(result.getEncoded()).isSameAs(classUnderTest.getEncoded());
+        assertThat(result.getHeaders()).containsEntry(HttpHeader.CONTENT_LENGTH.getValue(), "11");
+        assertThat(result.withoutBody()).isSameAs(result);
+        assertThat(result.withConnectionClose().isBodyOmitted()).isTrue();
+        assertThat(result.withConnectionClose().closeConnection()).isTrue();
+        assertThat(classUnderTest.isBodyOmitted()).isFalse();
+    }
+
+    @Test
+    void testWithoutBodyOnMutableResponse() {
+        // given
+        var classUnderTest = new HttpResponseImpl(HttpStatusCode.OK);
+        classUnderTest.setBody(ContentType.TEXT_PLAIN, "Hello World");
+        // when
+        var result = classUnderTest.withoutBody();
+        // then
+        assertThat(result).isNotSameAs(classUnderTest);
+        assertThat(result.isBodyOmitted()).isTrue();
+        assertThat(result.getHeaders()).containsEntry(HttpHeader.CONTENT_LENGTH.getValue(), "11");
+        assertThat(result.withoutBody()).isSameAs(result);
+        assertThat(result.withConnectionClose().isBodyOmitted()).isTrue();
+        assertThat(classUnderTest.isBodyOmitted()).isFalse();
+        assertThat(classUnderTest.getBody()).isEqualTo("Hello World");
+    }
+
+    @Test
+    void testWithoutChunkedEncoding() {
+        // given
+        var classUnderTest = new HttpResponseImpl(HttpStatusCode.OK);
+        classUnderTest.setBody(ContentType.TEXT_PLAIN, outputStream -> outputStream.write(1));
+        // when
+        var result = classUnderTest.withoutChunkedEncoding();
+        // then
+        assertThat(result).isNotSameAs(classUnderTest);
+        assertThat(result.isChunked()).isFalse();
+        assertThat(result.hasContentLength()).isFalse();
+        assertThat(result.closeConnection()).isTrue();
+        assertThat(result.getBodyWriter()).isSameAs(classUnderTest.getBodyWriter());
+        assertThat(classUnderTest.isChunked()).isTrue();
+        assertThat(classUnderTest.closeConnection()).isFalse();
+        assertThat(classUnderTest.getHeaders()).doesNotContainKey(HttpHeader.CONNECTION.getValue());
+    }
+
+    @Test
+    void testWithoutChunkedEncodingOnFixedLengthResponse() {
+        // given
+        var classUnderTest = new HttpResponseImpl(HttpStatusCode.OK);
+        classUnderTest.setBody(ContentType.TEXT_PLAIN, 1, outputStream -> outputStream.write(1));
+        // when
+        var result = classUnderTest.withoutChunkedEncoding();
+        // then
+        assertThat(result).isSameAs(classUnderTest);
+        assertThat(result.closeConnection()).isFalse();
+    }
+
     private static Stream<Arguments> statusCodes() {
         return Arrays.stream(HttpStatusCode.values())
                 .map(statusCode -> Arguments.of(statusCode, statusCode.getCode(), statusCode.getReasonPhrase()));
@@ -0,0 +1,148 @@
+package net.uiqui.embedhttp.api.impl;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.AssertionsForClassTypes.catchThrowable;
+
+class QueryStringTest {
+    @Test
+    void testParseWithRepeatedParameters() {
+        // given
+        var query = "tag=a&name=test&tag=b&tag=c";
+        // when
+        var result = QueryString.parse(query);
+        // then
+        assertThat(result).hasSize(2);
+        assertThat(result.get("tag")).containsExactly("a", "b", "c");
+        assertThat(result.get("name")).containsExactly("test");
+    }
+
+    @Test
+    void testParseKeepsQueryOrder() {
+        // given
+        var query = "c=3&a=1&b=2";
+        // when
+        var result = QueryString.parse(query);
+        // then
+        assertThat(List.copyOf(result.keySet())).containsExactly("c", "a", "b");
+    }
+
+    @Test
+    void testParseWithEmptyAndValuelessParameters() {
+        // given
+        var query = "&flag&&empty=&=value&";
+        // when
+        var result = QueryString.parse(query);
+        // then
+        assertThat(result).hasSize(3);
+        assertThat(result.get("flag")).containsExactly("");
+        assertThat(result.get("empty")).containsExactly("");
+        assertThat(result.get("")).containsExactly("value");
+    }
+
+    @Test
+    void testParseWithEscapedParameters() {
+        // given
+        var query = "first+name=John+Smith&q=%F0%9F%92%A1&eq=a%3Db";
+        // when
+        var result = QueryString.parse(query);
+        // then
+        assertThat(result.get("first name")).containsExactly("John Smith");
+        assertThat(result.get("q")).containsExactly("💡");
+        assertThat(result.get("eq")).containsExactly("a=b");
+    }
+
+    @Test
+    void testParseWithEmptyQuery() {
+        // when
+        var result = QueryString.parse("");
+        // then
+        assertThat(result).isEmpty();
+    }
+
+    @Test
+    void testParseWithValuelessParametersBeforeValue() {
+        // given
+        var query = "a&b&c=1";
+        // when
+        var result = QueryString.parse(query);
+        // then
+        assertThat(result.get("a")).containsExactly("");
+        assertThat(result.get("b")).containsExactly("");
+        assertThat(result.get("c")).containsExactly("1");
+    }
+
+    @Test
+    void testParseReturnsUnmodifiableValues() {
+        // given
+        var result = QueryString.parse("tag=a&tag=b");
+        // when
+        var addValue = catchThrowable(() -> result.get("tag").add("c"));
+        var addParameter = catchThrowable(() -> result.put("name", List.of("test")));
+        // then
+        assertThat(addValue).isInstanceOf(UnsupportedOperationException.class);
+        assertThat(addParameter).isInstanceOf(UnsupportedOperationException.class);
+        assertThat(result.get("tag")).containsExactly("a", "b");
+    }
+
+    @ParameterizedTest
+    @MethodSource("findLastTests")
+    void testFindLast(String query, String name, String expectedValue) {
+        // when
+        var result = QueryString.findLast(query, name);
+        // then
+        assertThat(result).isEqualTo(expectedValue);
+    }
+
+    @Test
+    void testFindAll() {
+        // given
+        var query = "tag=a&other=x&tag=b&ta=c&tags=d&t%61g=e";
+        // when
+        var result = QueryString.findAll(query, "tag");
+        // then
+        assertThat(result).containsExactly("a", "b", "e");
+    }
+
+    @Test
+    void testFindAllReturnsUnmodifiableValues() {
+        // given
+        var result = QueryString.findAll("tag=a", "tag");
+        // when
+        var addValue = catchThrowable(() -> result.add("b"));
+        // then
+        assertThat(addValue).isInstanceOf(UnsupportedOperationException.class);
+    }
+
+    @Test
+    void testFindAllWhenParameterDoNotExists() {
+        // when
+        var result = QueryString.findAll("name=test", "tag");
+        // then
+        assertThat(result).isEmpty();
+    }
+
+    private static Stream<Arguments> findLastTests() {
+        return Stream.of(
+                // query, name, expectedValue
+                Arguments.of("name=test", "name", "test"),
+                Arguments.of("a=1&name=first&name=second", "name", "second"),
+                Arguments.of("name=first&n%61me=second&name", "name", ""),
+                Arguments.of("names=1&nam=2&name=3", "name", "3"),
+                Arguments.of("flag&other=1", "flag", ""),
+                Arguments.of("a=1&flag", "flag", ""),
+                Arguments.of("first+name=John+Smith", "first name", "John Smith"),
+                Arguments.of("q=%F0%9F%92%A1", "q", "💡"),
+                Arguments.of("name=test", "other", null),
+                Arguments.of("=value", "value", null),
+                Arguments.of("", "name", null)
+        );
+    }
+}
@@ -0,0 +1,80 @@
+package net.uiqui.embedhttp.routing;
+
+import net.uiqui.embedhttp.api.HttpMethod;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AllowedMethodsIndexTest {
+    @ParameterizedTest
+    @MethodSource("allowedMethodsTests")
+    void testFindAllowedMethods(String path, String expectedAllowHeader) {
+        // given
+        var classUnderTest = AllowedMethodsIndex.compile(buildRoutingTable());
+        // when
+        var result = classUnderTest.findAllowedMethods(path);
+        // then
+        assertThat(result == null ? null : result.getAllowHeader()).isEqualTo(expectedAllowHeader);
+    }
+
+    @Test
+    void testPathsWithSameMethodsShareAllowedMethods() {
+        // given
+        var classUnderTest = AllowedMethodsIndex.compile(buildRoutingTable());
+        // when
+        var first = classUnderTest.findAllowedMethods("/users/1");
+        var second = classUnderTest.findAllowedMethods("/users/2");
+        // then
+        assertThat(second).isSameAs(first);
+    }
+
+    @Test
+    void testCompileWithoutRoutes() {
+        // given
+        var classUnderTest = AllowedMethodsIndex.compile(new EnumMap<>(HttpMethod.class));
+        // when
+        var result = classUnderTest.findAllowedMethods("/users");
+        // then
+        assertThat(result).isNull();
+    }
+
+    private static Map<HttpMethod, RouteTree> buildRoutingTable() {
+        var routingTable = new EnumMap<HttpMethod, RouteTree>(HttpMethod.class);
+        addRoute(routingTable, HttpMethod.GET, "/");
+        addRoute(routingTable, HttpMethod.GET, "/users/:id");
+        addRoute(routingTable, HttpMethod.GET, "/users/admin/settings");
+        addRoute(routingTable, HttpMethod.DELETE, "/users/:id");
+        addRoute(routingTable, HttpMethod.PUT, "/files/*path");
+        addRoute(routingTable, HttpMethod.POST, "/files/upload");
+        return routingTable;
+    }
+
+    private static void addRoute(Map<HttpMethod, RouteTree> routingTable, HttpMethod method, String pathPattern) {
+        routingTable.computeIfAbsent(method, k -> new RouteTree()).addRoute(new Route(method, pathPattern, null));
+    }
+
+    private static Stream<Arguments> allowedMethodsTests() {
+        return Stream.of(
+                // path, expectedAllowHeader
+                Arguments.of("/", "GET, OPTIONS, HEAD"),
+                Arguments.of("/users/123", "GET, DELETE, OPTIONS, HEAD"),
+                Arguments.of("//users//123/", "GET, DELETE, OPTIONS, HEAD"),
+                // The literal segment takes precedence in the GET tree, the DELETE tree still matches its parameter
+                Arguments.of("/users/admin", "DELETE, OPTIONS"),
+                Arguments.of("/users/admin/settings", "GET, OPTIONS, HEAD"),
+                Arguments.of("/files/upload", "POST, PUT, OPTIONS"),
+                Arguments.of("/files/css/app.css", "PUT, OPTIONS"),
+                Arguments.of("/users", null),
+                Arguments.of("/users/123/other", null),
+                Arguments.of("//", null),
+                Arguments.of("", null)
+        );
+    }
+}
@@ -0,0 +1,60 @@
+package net.uiqui.embedhttp.routing;
+
+import net.uiqui.embedhttp.api.HttpHeader;
+import net.uiqui.embedhttp.api.HttpMethod;
+import net.uiqui.embedhttp.api.HttpStatusCode;
+import net.uiqui.embedhttp.api.impl.HttpResponseImpl;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AllowedMethodsTest {
+    @Test
+    void testAllowHeaderAlwaysIncludesOptions() {
+        // given
+        var mask = AllowedMethods.toMask(HttpMethod.POST) | AllowedMethods.toMask(HttpMethod.GET);
+        // when
+        var classUnderTest = new AllowedMethods(mask);
+        // then
+        assertThat(classUnderTest.getAllowHeader()).isEqualTo("GET, POST, OPTIONS, HEAD");
+        assertThat(classUnderTest.isAllowed(HttpMethod.GET)).isTrue();
+        assertThat(classUnderTest.isAllowed(HttpMethod.OPTIONS)).isTrue();
+        assertThat(classUnderTest.isAllowed(HttpMethod.HEAD)).isTrue();
+        assertThat(classUnderTest.isAllowed(HttpMethod.DELETE)).isFalse();
+    }
+
+    @Test
+    void testHeadIsOnlyAllowedWithGet() {
+        // given
+        var mask = AllowedMethods.toMask(HttpMethod.POST);
+        // when
+        var classUnderTest = new AllowedMethods(mask);
+        // then
+        assertThat(classUnderTest.getAllowHeader()).isEqualTo("POST, OPTIONS");
+        assertThat(classUnderTest.isAllowed(HttpMethod.HEAD)).isFalse();
+    }
+
+    @Test
+    void testMethodNotAllowedResponse() {
+        // given
+        var classUnderTest = new AllowedMethods(AllowedMethods.toMask(HttpMethod.GET));
+        // when
+        var result = (HttpResponseImpl) classUnderTest.getMethodNotAllowedResponse();
+        // then
+        assertThat(result.isFrozen()).isTrue();
+        assertThat(result.getStatusCode()).isEqualTo(HttpStatusCode.METHOD_NOT_ALLOWED.getCode());
+        assertThat(result.getHeaders()).containsEntry(HttpHeader.ALLOW.getValue(), "GET, OPTIONS, HEAD");
+    }
+
+    @Test
+    void testOptionsResponse() {
+        // given
+        var classUnderTest = new AllowedMethods(AllowedMethods.toMask(HttpMethod.GET));
+        // when
+        var result = (HttpResponseImpl) classUnderTest.getOptionsResponse();
+        // then
+        assertThat(result.isFrozen()).isTrue();
+        assertThat(result.getStatusCode()).isEqualTo(HttpStatusCode.NO_CONTENT.getCode());
+        assertThat(result.getHeaders()).containsEntry(HttpHeader.ALLOW.getValue(), "GET, OPTIONS, HEAD");
+    }
+}
@@ -0,0 +1,160 @@
+package net.uiqui.embedhttp.routing;
+
+import net.uiqui.embedhttp.api.HttpMethod;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CompiledRouteTreeTest {
+    @ParameterizedTest
+    @MethodSource("findRouteTests")
+    void testFindRoute(String path, String expectedPathPattern) {
+        // given
+        var routeTree = new RouteTree();
+        routeTree.addRoute(new Route(HttpMethod.GET, "/api/v1/tenants/:tenantId/config", null));
+        routeTree.addRoute(new Route(HttpMethod.GET, "/api/v1/tenants/:tenantId/users/:userId", null));
+        routeTree.addRoute(new Route(HttpMethod.GET, "/api/v1/status", null));
+        routeTree.addRoute(new Route(HttpMethod.GET, "/api/v2/status/health/live", null));
+        var classUnderTest = routeTree.compile();
+        // when
+        var result = classUnderTest.findRoute(path);
+        // then
+        if (result == null) {
+            assertThat(expectedPathPattern).isNull();
+        } else {
+            assertThat(result.route().getPathPattern()).isEqualTo(expectedPathPattern);
+        }
+    }
+
+    @Test
+    void testFindRouteWithWideFanOut() {
+        // given
+        var routeTree = new RouteTree();
+        for (var i = 0; i < 1000; i++) {
+            routeTree.addRoute(new Route(HttpMethod.GET, "/tenants/tenant" + i + "/config", null));
+        }
+        routeTree.addRoute(new Route(HttpMethod.GET, "/tenants/:tenantId/config", null));
+        var classUnderTest = routeTree.compile();
+        // when
+        var first = classUnderTest.findRoute("/tenants/tenant0/config");
+        var last = classUnderTest.findRoute("/tenants/tenant999/config");
+        var parameter = classUnderTest.findRoute("/tenants/other/config");
+        // then
+        assertThat(first.route().getPathPattern()).isEqualTo("/tenants/tenant0/config");
+        assertThat(last.route().getPathPattern()).isEqualTo("/tenants/tenant999/config");
+        assertThat(parameter.route().getPathPattern()).isEqualTo("/tenants/:tenantId/config");
+        assertThat(parameter.pathParameters()).containsEntry("tenantId", "other");
+    }
+
+    @Test
+    void testFindRouteAfterNewRouteIsAdded() {
+        // given
+        var classUnderTest = new RouteTree();
+        classUnderTest.addRoute(new Route(HttpMethod.GET, "/v1/events", null));
+        classUnderTest.compile();
+        // when
+        classUnderTest.addRoute(new Route(HttpMethod.GET, "/v1/events/:eventId", null));
+        var result = classUnderTest.findRoute("/v1/events/123");
+        // then
+        assertThat(result).isNotNull();
+        assertThat(result.route().getPathPattern()).isEqualTo("/v1/events/:eventId");
+    }
+
+    @ParameterizedTest
+    @MethodSource("catchAllTests")
+    void testFindRouteWithCatchAll(String path, String expectedPathPattern, String expectedRest) {
+        // given
+        var routeTree = new RouteTree();
+        routeTree.addRoute(new Route(HttpMethod.GET, "/static/*file", null));
+        routeTree.addRoute(new Route(HttpMethod.GET, "/static/img/logo.png", null));
+        routeTree.addRoute(new Route(HttpMethod.GET, "/proxy/:service/*rest", null));
+        var classUnderTest = routeTree.compile();
+        // when
+        var result = classUnderTest.findRoute(path);
+        // then
+        if (result == null) {
+            assertThat(expectedPathPattern).isNull();
+        } else {
+            assertThat(result.route().getPathPattern()).isEqualTo(expectedPathPattern);
+            assertThat(result.pathParameters().get("file")).isEqualTo(expectedRest);
+        }
+    }
+
+    @Test
+    void testCatchAllKeepsOtherParameters() {
+        // given
+        var routeTree = new RouteTree();
+        routeTree.addRoute(new Route(HttpMethod.GET, "/proxy/:service/*rest", null));
+        var classUnderTest = routeTree.compile();
+        // when
+        var result = classUnderTest.findRoute("/proxy/users/v1/users/123/");
+        // then
+        assertThat(result.pathParameters()).containsEntry("service", "users");
+        assertThat(result.pathParameters()).containsEntry("rest", "v1/users/123/");
+        assertThat(result.pathParameters()).hasSize(2);
+    }
+
+    @ParameterizedTest
+    @MethodSource("literalWildcardTests")
+    void testFindRouteWithLiteralWildcardSegments(String path, String expectedPathPattern) {
+        // given
+        var routeTree = new RouteTree();
+        routeTree.addRoute(new Route(HttpMethod.GET, "/files/*", null));
+        routeTree.addRoute(new Route(HttpMethod.GET, "/files/**", null));
+        routeTree.addRoute(new Route(HttpMethod.GET, "/files/:name", null));
+        routeTree.addRoute(new Route(HttpMethod.GET, "/docs/**", null));
+        routeTree.addRoute(new Route(HttpMethod.GET, "/docs/*rest", null));
+        var classUnderTest = routeTree.compile();
+        // when
+        var result = classUnderTest.findRoute(path);
+        // then
+        assertThat(result.route().getPathPattern()).isEqualTo(expectedPathPattern);
+    }
+
+    private static Stream<Arguments> literalWildcardTests() {
+        return Stream.of(
+                // path, expectedPathPattern
+                Arguments.of("/files/*", "/files/*"),
+                Arguments.of("/files/**", "/files/**"),
+                Arguments.of("/files/report.pdf", "/files/:name"),
+                Arguments.of("/docs/**", "/docs/**"),
+                Arguments.of("/docs/guide/intro", "/docs/*rest")
+        );
+    }
+
+    private static Stream<Arguments> catchAllTests() {
+        return Stream.of(
+                // path, expectedPathPattern, expectedRest
+                Arguments.of("/static/css/app.css", "/static/*file", "css/app.css"),
+                Arguments.of("/static/img/logo.png", "/static/img/logo.png", null),
+                Arguments.of("/static/img/other.png", "/static/*file", "img/other.png"),
+                Arguments.of("/static/img", "/static/*file", "img"),
+                Arguments.of("/static/", "/static/*file", ""),
+                Arguments.of("/static", "/static/*file", ""),
+                Arguments.of("/proxy", null, null),
+                Arguments.of("/other/file", null, null)
+        );
+    }
+
+    private static Stream<Arguments> findRouteTests() {
+        return Stream.of(
+                // path, expectedPathPattern
+                Arguments.of("/api/v1/tenants/abc/config", "/api/v1/tenants/:tenantId/config"),
+                Arguments.of("/api//v1/tenants/abc/config/", "/api/v1/tenants/:tenantId/config"),
+                Arguments.of("/api/v1/tenants/abc/users/123", "/api/v1/tenants/:tenantId/users/:userId"),
+                Arguments.of("/api/v1/status", "/api/v1/status"),
+                Arguments.of("/api/v2/status/health/live", "/api/v2/status/health/live"),
+                Arguments.of("/api/v2/status/health", null),
+                Arguments.of("/api/v2/status/health/ready", null),
+                Arguments.of("/api/v2", null),
+                Arguments.of("/api", null),
+                Arguments.of("/api/v1/tenants/abc", null),
+                Arguments.of("/", null)
+        );
+    }
+}
@@ -0,0 +1,50 @@
+package net.uiqui.embedhttp.routing;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.AssertionsForClassTypes.catchThrowable;
+
+class PathParametersTest {
+    @Test
+    void testGet() {
+        // given
+        var classUnderTest = new PathParameters(new String[]{"eventId", "ticketId"}, new String[]{"456", "789", null});
+        // when
+        var eventId = classUnderTest.get("eventId");
+        var ticketId = classUnderTest.get("ticketId");
+        var unknown = classUnderTest.get("unknown");
+        // then
+        assertThat(eventId).isEqualTo("456");
+        assertThat(ticketId).isEqualTo("789");
+        assertThat(unknown).isNull();
+        assertThat(classUnderTest.containsKey("eventId")).isTrue();
+        assertThat(classUnderTest.containsKey("unknown")).isFalse();
+        assertThat(classUnderTest).hasSize(2);
+    }
+
+    @Test
+    void testBehavesAsMap() {
+        // given
+        var classUnderTest = new PathParameters(new String[]{"eventId", "ticketId"}, new String[]{"456", "789"});
+        // when
+        var result = Map.copyOf(classUnderTest);
+        // then
+        assertThat(result).isEqualTo(Map.of("eventId", "456", "ticketId", "789"));
+        assertThat(classUnderTest).isEqualTo(result);
+        assertThat(classUnderTest.hashCode()).isEqualTo(result.hashCode());
+    }
+
+    @Test
+    void testIsImmutable() {
+        // given
+        var classUnderTest = new PathParameters(new String[]{"eventId"}, new String[]{"456"});
+        // when
+        var result = catchThrowable(() -> classUnderTest.put("eventId", "123"));
+        // then
+        assertThat(result).isInstanceOf(UnsupportedOperationException.class);
+        assertThat(classUnderTest.get("eventId")).isEqualTo("456");
+    }
+}
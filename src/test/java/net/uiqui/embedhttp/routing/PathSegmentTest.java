@@ -167,6 +167,26 @@ class PathSegmentTest {
                 .hasMessage("Path segment '*' already exists at '/'.");
     }
 
+    @Test
+    void testLiteralWildcardSegmentsAreStaticChildren() {
+        // given
+        var classUnderTest = new PathSegment.Root();
+        var parameter = classUnderTest.registerParameterChild("name", null);
+        var catchAll = classUnderTest.registerCatchAllChild("rest", null);
+        // when
+        var matchAll = classUnderTest.registerStaticChild("*", null);
+        var doubleMatchAll = classUnderTest.registerStaticChild("**", null);
+        // then
+        assertThat(classUnderTest.getChildCount()).isEqualTo(4);
+        assertThat(classUnderTest.findChild("*", true)).isSameAs(matchAll);
+        assertThat(classUnderTest.findChild("**", true)).isSameAs(doubleMatchAll);
+        assertThat(classUnderTest.findChild("other", true)).isNull();
+        assertThat(classUnderTest.findChild("other", false)).isSameAs(parameter);
+        assertThat(classUnderTest.findParameterChild()).isSameAs(parameter);
+        assertThat(classUnderTest.findCatchAllChild()).isSameAs(catchAll);
+        assertThat(classUnderTest.getStaticChildren()).containsExactly(matchAll, doubleMatchAll);
+    }
+
     @Test
     void testSetRouteOnRoot() {
         // given
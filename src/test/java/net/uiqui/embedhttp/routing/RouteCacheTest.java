@@ -0,0 +1,111 @@
+package net.uiqui.embedhttp.routing;
+
+import net.uiqui.embedhttp.api.HttpMethod;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.AssertionsForClassTypes.catchThrowable;
+
+class RouteCacheTest {
+    private static final Route ROUTE = new Route(HttpMethod.GET, "/tenants/:tenantId/config", null);
+
+    @Test
+    void testGetAndPut() {
+        // given
+        var classUnderTest = new RouteCache(10);
+        var routeMatch = routeMatch("abc");
+        // when
+        var miss = classUnderTest.get(HttpMethod.GET, "/tenants/abc/config");
+        classUnderTest.put(HttpMethod.GET, "/tenants/abc/config", routeMatch);
+        var hit = classUnderTest.get(HttpMethod.GET, "/tenants/abc/config");
+        var otherMethod = classUnderTest.get(HttpMethod.POST, "/tenants/abc/config");
+        // then
+        assertThat(miss).isNull();
+        assertThat(hit).isSameAs(routeMatch);
+        assertThat(otherMethod).isNull();
+        assertThat(classUnderTest.getHitCount()).isEqualTo(1);
+        assertThat(classUnderTest.getMissCount()).isEqualTo(2);
+        assertThat(classUnderTest.getHitRate()).isEqualTo(1.0 / 3);
+    }
+
+    @Test
+    void testSizeIsBounded() {
+        // given
+        var classUnderTest = new RouteCache(4);
+        // when
+        for (var i = 0; i < 20; i++) {
+            classUnderTest.put(HttpMethod.GET, "/tenants/" + i + "/config", routeMatch(String.valueOf(i)));
+        }
+        // then
+        assertThat(classUnderTest.size()).isEqualTo(4);
+        assertThat(classUnderTest.get(HttpMethod.GET, "/tenants/19/config")).isNotNull();
+    }
+
+    @Test
+    void testRecentlyReadEntriesAreKept() {
+        // given
+        var classUnderTest = new RouteCache(2);
+        classUnderTest.put(HttpMethod.GET, "/tenants/a/config", routeMatch("a"));
+        classUnderTest.put(HttpMethod.GET, "/tenants/b/config", routeMatch("b"));
+        classUnderTest.get(HttpMethod.GET, "/tenants/a/config");
+        // when
+        classUnderTest.put(HttpMethod.GET, "/tenants/c/config", routeMatch("c"));
+        // then
+        assertThat(classUnderTest.get(HttpMethod.GET, "/tenants/a/config")).isNotNull();
+        assertThat(classUnderTest.get(HttpMethod.GET, "/tenants/b/config")).isNull();
+        assertThat(classUnderTest.get(HttpMethod.GET, "/tenants/c/config")).isNotNull();
+    }
+
+    @Test
+    void testConcurrentAccess() throws InterruptedException {
+        // given
+        var classUnderTest = new RouteCache(16);
+        var threads = new ArrayList<Thread>();
+        // when
+        for (var t = 0; t < 8; t++) {
+            var offset = t;
+            threads.add(Thread.ofVirtual().start(() -> {
+                for (var i = 0; i < 1000; i++) {
+                    var path = "/tenants/" + ((i + offset) % 64) + "/config";
+                    if (classUnderTest.get(HttpMethod.GET, path) == null) {
+                        classUnderTest.put(HttpMethod.GET, path, routeMatch(path));
+                    }
+                }
+            }));
+        }
+
+        for (var thread : threads) {
+            thread.join();
+        }
+        // then
+        assertThat(classUnderTest.size()).isLessThanOrEqualTo(16);
+        assertThat(classUnderTest.getHitCount() + classUnderTest.getMissCount()).isEqualTo(8000);
+    }
+
+    @Test
+    void testClear() {
+        // given
+        var classUnderTest = new RouteCache(2);
+        classUnderTest.put(HttpMethod.GET, "/tenants/a/config", routeMatch("a"));
+        // when
+        classUnderTest.clear();
+        // then
+        assertThat(classUnderTest.size()).isZero();
+        assertThat(classUnderTest.get(HttpMethod.GET, "/tenants/a/config")).isNull();
+    }
+
+    @Test
+    void testInvalidCapacity() {
+        // when
+        var result = catchThrowable(() -> new RouteCache(0));
+        // then
+        assertThat(result).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private static RouteTree.RouteMatch routeMatch(String tenantId) {
+        return new RouteTree.RouteMatch(ROUTE, Map.of("tenantId", tenantId));
+    }
+}
@@ -0,0 +1,33 @@
+package net.uiqui.embedhttp.routing;
+
+import net.uiqui.embedhttp.api.HttpMethod;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.AssertionsForClassTypes.catchThrowable;
+
+class RouteTest {
+    @Test
+    void testParameterNames() {
+        // when
+        var classUnderTest = new Route(HttpMethod.GET, "/v2/events/:eventId/tickets/:ticketId", null);
+        // then
+        assertThat(classUnderTest.getParameterNames()).containsExactly("eventId", "ticketId");
+    }
+
+    @Test
+    void testStaticRouteHasNoParameterNames() {
+        // when
+        var classUnderTest = new Route(HttpMethod.GET, "/v1/events", null);
+        // then
+        assertThat(classUnderTest.getParameterNames()).isEmpty();
+    }
+
+    @Test
+    void testRepeatedParameterName() {
+        // when
+        var result = catchThrowable(() -> new Route(HttpMethod.GET, "/v1/:id/items/:id", null));
+        // then
+        assertThat(result).isInstanceOf(InvalidRouteException.class);
+    }
+}
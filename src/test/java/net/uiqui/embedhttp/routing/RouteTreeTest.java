@@ -7,9 +7,11 @@ import org.junit.jupiter.params.provider.Arguments;
 import org.junit.jupiter.params.provider.MethodSource;
 
 import java.util.List;
+import java.util.Map;
 import java.util.stream.Stream;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.AssertionsForClassTypes.catchThrowable;
 
 class RouteTreeTest {
     @ParameterizedTest
@@ -34,6 +36,75 @@ class RouteTreeTest {
         assertThat(result).isEqualTo(expectedParam);
     }
 
+    @ParameterizedTest
+    @MethodSource("staticPathTests")
+    void testToStaticPath(String pathPattern, String expectedStaticPath) {
+        // given
+        var classUnderTest = new RouteTree();
+        // when
+        var result = classUnderTest.toStaticPath(pathPattern);
+        // then
+        assertThat(result).isEqualTo(expectedStaticPath);
+    }
+
+    @ParameterizedTest
+    @MethodSource("catchAllTests")
+    void testExtractCatchAllName(String segment, String expectedName) {
+        // when
+        var result = RouteTree.extractCatchAllName(segment);
+        // then
+        assertThat(result).isEqualTo(expectedName);
+    }
+
+    @Test
+    void testAddCatchAllRoute() {
+        // given
+        var route = new Route(HttpMethod.GET, "/static/*file", null);
+        var classUnderTest = new RouteTree();
+        // when
+        classUnderTest.addRoute(route);
+        // then
+        assertThat(classUnderTest.getAllRoutes()).containsExactly(route);
+        assertThat(classUnderTest.getTreePaths()).containsExactly("/", "/static", "/static/*file+");
+        assertThat(classUnderTest.toStaticPath("/static/*file")).isNull();
+    }
+
+    @Test
+    void testAddCatchAllRouteNotAtTheEnd() {
+        // given
+        var classUnderTest = new RouteTree();
+        // when
+        var result = catchThrowable(() -> classUnderTest.addRoute(new Route(HttpMethod.GET, "/static/*file/info", null)));
+        // then
+        assertThat(result).isInstanceOf(InvalidRouteException.class);
+    }
+
+    @Test
+    void testAddDuplicatedRoute() {
+        // given
+        var classUnderTest = new RouteTree();
+        classUnderTest.addRoute(new Route(HttpMethod.GET, "/v1/events/:eventId", null));
+        // when
+        var result = catchThrowable(() -> classUnderTest.addRoute(new Route(HttpMethod.GET, "/v1/events/:id", null)));
+        // then
+        assertThat(result).isInstanceOf(InvalidRouteException.class)
+                .hasMessage("Path segment '/v1/events/:eventId' already has a handler.");
+    }
+
+    @Test
+    void testAddRouteForExistingIntermediateSegment() {
+        // given
+        var route1 = new Route(HttpMethod.GET, "/v1/events/:eventId", null);
+        var route2 = new Route(HttpMethod.GET, "/v1/events", null);
+        var classUnderTest = new RouteTree();
+        classUnderTest.addRoute(route1);
+        // when
+        classUnderTest.addRoute(route2);
+        // then
+        assertThat(classUnderTest.getAllRoutes()).containsExactlyInAnyOrder(route1, route2);
+        assertThat(classUnderTest.findRoute("/v1/events").route()).isEqualTo(route2);
+    }
+
     @Test
     void testAddRootRoute() {
         // given
@@ -130,6 +201,65 @@ class RouteTreeTest {
         assertThat(result).isNull();
     }
 
+    @Test
+    void testFindRouteWithPathParameters() {
+        // given
+        var route = new Route(HttpMethod.GET, "/v2/events/:eventId/tickets/:ticketId", null);
+        var classUnderTest = new RouteTree();
+        classUnderTest.addRoute(route);
+        // when
+        var result = classUnderTest.findRoute("/v2//events/456/tickets/789/");
+        // then
+        assertThat(result).isNotNull();
+        assertThat(result.route()).isEqualTo(route);
+        assertThat(result.pathParameters()).containsEntry("eventId", "456");
+        assertThat(result.pathParameters()).containsEntry("ticketId", "789");
+        assertThat(result.pathParameters()).hasSize(2);
+    }
+
+    @Test
+    void testFindRouteUsesParameterNamesOfMatchedRoute() {
+        // given
+        var classUnderTest = new RouteTree();
+        classUnderTest.addRoute(new Route(HttpMethod.GET, "/v1/events/:eventId", null));
+        classUnderTest.addRoute(new Route(HttpMethod.GET, "/v1/events/:id/tickets", null));
+        // when
+        var result = classUnderTest.findRoute("/v1/events/123/tickets");
+        // then
+        assertThat(result.route().getPathPattern()).isEqualTo("/v1/events/:id/tickets");
+        assertThat(result.pathParameters()).isEqualTo(Map.of("id", "123"));
+    }
+
+    @Test
+    void testFindStaticRouteSharesEmptyPathParameters() {
+        // given
+        var classUnderTest = new RouteTree();
+        classUnderTest.addRoute(new Route(HttpMethod.GET, "/v1/events", null));
+        // when
+        var first = classUnderTest.findRoute("/v1/events");
+        var second = classUnderTest.findRoute("/v1/events/");
+        // then
+        assertThat(first.pathParameters()).isEmpty();
+        assertThat(second.pathParameters()).isSameAs(first.pathParameters());
+    }
+
+    @Test
+    void testFindRouteWithManyStaticChildren() {
+        // given
+        var classUnderTest = new RouteTree();
+        for (var i = 0; i < 20; i++) {
+            classUnderTest.addRoute(new Route(HttpMethod.GET, "/tenants/tenant" + i, null));
+        }
+        classUnderTest.addRoute(new Route(HttpMethod.GET, "/tenants/:tenantId", null));
+        // when
+        var staticMatch = classUnderTest.findRoute("/tenants/tenant15");
+        var parameterMatch = classUnderTest.findRoute("/tenants/other");
+        // then
+        assertThat(staticMatch.route().getPathPattern()).isEqualTo("/tenants/tenant15");
+        assertThat(parameterMatch.route().getPathPattern()).isEqualTo("/tenants/:tenantId");
+        assertThat(parameterMatch.pathParameters()).containsEntry("tenantId", "other");
+    }
+
     private static Stream<Arguments> pathTests() {
         return Stream.of(
                 // path, expectedSegments
@@ -146,6 +276,31 @@ class RouteTreeTest {
         );
     }
 
+    private static Stream<Arguments> staticPathTests() {
+        return Stream.of(
+                // pathPattern, expectedStaticPath
+                Arguments.of("/", "/"),
+                Arguments.of("/health", "/health"),
+                Arguments.of("v1/metrics/", "/v1/metrics"),
+                Arguments.of("/api//status", "/api/status"),
+                Arguments.of("/v1/events/:eventId", null),
+                Arguments.of("/:param/status", null),
+                Arguments.of("", null)
+        );
+    }
+
+    private static Stream<Arguments> catchAllTests() {
+        return Stream.of(
+                // segment, expectedName
+                Arguments.of("*file", "file"),
+                Arguments.of("*rest2", "rest2"),
+                Arguments.of("*", null),
+                Arguments.of("*2rest", null),
+                Arguments.of(":param", null),
+                Arguments.of("staticSegment", null)
+        );
+    }
+
     private static Stream<Arguments> paramTests() {
         return Stream.of(
                 // segment, expectedParam
@@ -171,6 +326,8 @@ class RouteTreeTest {
                 Arguments.of("/v2/events/456", "/v2/events/:eventId"),
                 Arguments.of("/v2/events/456/tickets", "/v2/events/:eventId/tickets"),
                 Arguments.of("/v2/events/456/tickets/789", "/v2/events/:eventId/tickets/:ticketId"),
+                Arguments.of("//", null),
+                Arguments.of("v1/events", "/v1/events"),
                 Arguments.of("/v1/unknown", null),
                 Arguments.of("/v3", null),
                 Arguments.of("/v2/events/456/tickets/789/unknown", null)
@@ -4,10 +4,17 @@ import net.uiqui.embedhttp.Router;
 import net.uiqui.embedhttp.api.HttpMethod;
 import net.uiqui.embedhttp.api.HttpRequestHandler;
 import net.uiqui.embedhttp.api.HttpResponse;
+import net.uiqui.embedhttp.server.InsensitiveMap;
 import net.uiqui.embedhttp.server.Request;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+
+import java.util.stream.Stream;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.AssertionsForClassTypes.catchThrowable;
 
 class RouterImplTest {
     @Test
@@ -24,6 +31,19 @@ class RouterImplTest {
         assertThat(result.getRequest()).isEqualTo(request);
     }
 
+    @Test
+    void testRouteRequestWithStaticPathWithTrailingSlash() {
+        // given
+        var classUnderTest = buildRouterImpl();
+        var request = new Request(HttpMethod.GET, "/get/", null, null, false);
+        // when
+        var result = classUnderTest.routeRequest(request);
+        // then
+        assertThat(result).isNotNull();
+        assertThat(result.getRoute().getPathPattern()).isEqualTo("/get");
+        assertThat(result.getPathParameters()).isEmpty();
+    }
+
     @Test
     void testRouteRequestWithPutMethodAndPathParameter() {
         // given
@@ -39,6 +59,19 @@ class RouterImplTest {
         assertThat(result.getPathParameters()).containsEntry("id", "123");
     }
 
+    @Test
+    void testRouteRequestWithReadOnlyPathParameters() {
+        // given
+        var classUnderTest = buildRouterImpl();
+        var request = new Request(HttpMethod.PUT, "/put/123", null, null, false);
+        var pathParameters = classUnderTest.routeRequest(request).getPathParameters();
+        // when
+        var result = catchThrowable(() -> pathParameters.put("id", "456"));
+        // then
+        assertThat(result).isInstanceOf(UnsupportedOperationException.class);
+        assertThat(pathParameters).containsEntry("id", "123");
+    }
+
     @Test
     void testRouteRequestWithPostMethod() {
         // given
@@ -77,6 +110,162 @@ class RouterImplTest {
         assertThat(result.getPathParameters()).containsEntry("name", "abc");
     }
 
+    @Test
+    void testRouteRequestWithRouteCache() {
+        // given
+        var classUnderTest = buildRouterImpl().withRouteCache(10);
+        var request = new Request(HttpMethod.PUT, "/put/123", null, null, false);
+        // when
+        var first = classUnderTest.routeRequest(request);
+        var second = classUnderTest.routeRequest(request);
+        // then
+        assertThat(first.getRoute().getPathPattern()).isEqualTo("/put/:id");
+        assertThat(second.getRoute().getPathPattern()).isEqualTo("/put/:id");
+        assertThat(second.getPathParameters()).containsEntry("id", "123");
+        assertThat(classUnderTest.getRouteCacheHitRate()).isEqualTo(0.5);
+    }
+
+    @Test
+    void testRouteCacheIsDisabledByDefault() {
+        // given
+        var classUnderTest = buildRouterImpl();
+        var request = new Request(HttpMethod.PUT, "/put/123", null, null, false);
+        // when
+        classUnderTest.routeRequest(request);
+        // then
+        assertThat(classUnderTest.getRouteCache()).isNull();
+        assertThat(classUnderTest.getRouteCacheHitRate()).isZero();
+    }
+
+    @Test
+    void testRouteHeadRequestToGetRoute() {
+        // given
+        var classUnderTest = buildRouterImpl();
+        var request = new Request(HttpMethod.HEAD, "/get", null, null, false);
+        // when
+        var result = classUnderTest.routeRequest(request);
+        // then
+        assertThat(result).isNotNull();
+        assertThat(result.getRoute().getMethod()).isEqualTo(HttpMethod.GET);
+        assertThat(result.getMethod()).isEqualTo(HttpMethod.HEAD);
+    }
+
+    @Test
+    void testRouteHeadRequestToHeadRoute() {
+        // given
+        var classUnderTest = buildRouterImpl();
+        classUnderTest.head("/get", x -> HttpResponse.noContent());
+        var request = new Request(HttpMethod.HEAD, "/get", null, null, false);
+        // when
+        var result = classUnderTest.routeRequest(request);
+        // then
+        assertThat(result).isNotNull();
+        assertThat(result.getRoute().getMethod()).isEqualTo(HttpMethod.HEAD);
+    }
+
+    @Test
+    void testFindAllowedMethods() {
+        // given
+        var classUnderTest = buildRouterImpl();
+        classUnderTest.delete("/put/:id", x -> HttpResponse.noContent());
+        // when
+        var result = classUnderTest.findAllowedMethods("/put/123");
+        // then
+        assertThat(result).isNotNull();
+        assertThat(result.getAllowHeader()).isEqualTo("PUT, DELETE, OPTIONS");
+        assertThat(result.isAllowed(HttpMethod.PUT)).isTrue();
+        assertThat(result.isAllowed(HttpMethod.GET)).isFalse();
+    }
+
+    @Test
+    void testFindAllowedMethodsForUnknownPath() {
+        // given
+        var classUnderTest = buildRouterImpl();
+        classUnderTest.compile();
+        // when
+        var result = classUnderTest.findAllowedMethods("/put");
+        // then
+        assertThat(result).isNull();
+    }
+
+    @ParameterizedTest
+    @MethodSource("allowedMethodsTests")
+    void testFindAllowedMethodsKeepsPrecedenceOfEachMethod(Router router, String path, String expectedAllowHeader) {
+        // given
+        var classUnderTest = (RouterImpl) router;
+        classUnderTest.compile();
+        // when
+        var result = classUnderTest.findAllowedMethods(path);
+        // then
+        assertThat(result).isNotNull();
+        assertThat(result.getAllowHeader()).isEqualTo(expectedAllowHeader);
+    }
+
+    @Test
+    void testFindAllowedMethodsWithoutFillingRouteCache() {
+        // given
+        var classUnderTest = buildRouterImpl().withRouteCache(10);
+        classUnderTest.delete("/put/:id", x -> HttpResponse.noContent());
+        classUnderTest.compile();
+        // when
+        var first = classUnderTest.findAllowedMethods("/put/123");
+        var second = classUnderTest.findAllowedMethods("/put/123");
+        var unknown = classUnderTest.findAllowedMethods("/other");
+        // then
+        assertThat(second).isSameAs(first);
+        assertThat(second.getAllowHeader()).isEqualTo("PUT, DELETE, OPTIONS");
+        assertThat(unknown).isNull();
+        assertThat(classUnderTest.getRouteCache().size()).isZero();
+    }
+
+    @Test
+    void testRouteRequestWithVirtualHost() {
+        // given
+        var hostRouter = Router.newRouter()
+                .get("/get", x -> HttpResponse.ok());
+        var classUnderTest = buildRouterImpl().withHost("*.example.com", hostRouter);
+        classUnderTest.compile();
+        var request = new Request(HttpMethod.GET, "/get", headers("Host", "acme.example.com"), null, false);
+        var otherRequest = new Request(HttpMethod.GET, "/get", headers("Host", "localhost"), null, false);
+        // when
+        var result = classUnderTest.selectRouter(request);
+        var otherResult = classUnderTest.selectRouter(otherRequest);
+        // then
+        assertThat(result).isSameAs(hostRouter);
+        assertThat(result.routeRequest(request)).isNotNull();
+        assertThat(result.findAllowedMethods("/put/1")).isNull();
+        assertThat(otherResult).isSameAs(classUnderTest);
+    }
+
+    @Test
+    void testRouterCannotBeItsOwnVirtualHost() {
+        // given
+        var classUnderTest = buildRouterImpl();
+        // when
+        var result = catchThrowable(() -> classUnderTest.withHost("example.com", classUnderTest));
+        // then
+        assertThat(result).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private static InsensitiveMap headers(String name, String value) {
+        var headers = new InsensitiveMap();
+        headers.put(name, value);
+        return headers;
+    }
+
+    private static Stream<Arguments> allowedMethodsTests() {
+        HttpRequestHandler handler = x -> HttpResponse.noContent();
+        return Stream.of(
+                // router, path, expectedAllowHeader
+                Arguments.of(Router.newRouter().get("/users/:id", handler).post("/users/new", handler),
+                        "/users/new", "GET, POST, OPTIONS, HEAD"),
+                Arguments.of(Router.newRouter().get("/items/:id", handler).post("/items/new/x", handler),
+                        "/items/new", "GET, OPTIONS, HEAD"),
+                Arguments.of(Router.newRouter().get("/files/*path", handler).post("/files/upload", handler),
+                        "/files/upload", "GET, POST, OPTIONS, HEAD")
+        );
+    }
+
     private static RouterImpl buildRouterImpl() {
         HttpRequestHandler handler = x -> HttpResponse.noContent();
         var router = Router.newRouter()
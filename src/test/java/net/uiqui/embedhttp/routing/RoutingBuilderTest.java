@@ -7,6 +7,7 @@ import net.uiqui.embedhttp.api.HttpResponse;
 import org.junit.jupiter.api.Test;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.AssertionsForClassTypes.catchThrowable;
 
 class RoutingBuilderTest {
     @Test
@@ -33,4 +34,123 @@ class RoutingBuilderTest {
         assertThat(classUnderTest.getRouteTreeForMethod(HttpMethod.OPTIONS).getAllRoutes()).containsExactly(new Route(HttpMethod.OPTIONS, "/options", handler));
         assertThat(classUnderTest.getRouteTreeForMethod(HttpMethod.PATCH).getAllRoutes()).containsExactly(new Route(HttpMethod.PATCH, "/patch", handler));
     }
-}
\ No newline at end of file
+
+    @Test
+    void testWithStreamingRoute() {
+        // given
+        HttpRequestHandler handler = request -> HttpResponse.noContent();
+        // when
+        var result = Router.newRouter()
+                .withStreamingRoute(HttpMethod.POST, "/upload", handler)
+                .post("/submit", handler);
+        // then
+        var classUnderTest = (RoutingBuilder) result;
+        var routeTree = classUnderTest.getRouteTreeForMethod(HttpMethod.POST);
+        assertThat(routeTree.findRoute("/upload").route().isStreamingBody()).isTrue();
+        assertThat(routeTree.findRoute("/submit").route().isStreamingBody()).isFalse();
+    }
+
+    @Test
+    void testStaticRoutesAreIndexedByPath() {
+        // given
+        HttpRequestHandler handler = request -> HttpResponse.noContent();
+        // when
+        var result = Router.newRouter()
+                .get("/v1/metrics/", handler)
+                .get("/v1/events/:eventId", handler);
+        // then
+        var classUnderTest = (RoutingBuilder) result;
+        assertThat(classUnderTest.getStaticRoute(HttpMethod.GET, "/v1/metrics")).isEqualTo(new Route(HttpMethod.GET, "/v1/metrics/", handler));
+        assertThat(classUnderTest.getStaticRoute(HttpMethod.GET, "/v1/events/:eventId")).isNull();
+        assertThat(classUnderTest.getStaticRoute(HttpMethod.POST, "/v1/metrics")).isNull();
+    }
+
+    @Test
+    void testMountRouter() {
+        // given
+        HttpRequestHandler handler = request -> HttpResponse.noContent();
+        var users = Router.newRouter()
+                .get("/", handler)
+                .get("/users/:userId", handler);
+        var classUnderTest = (RoutingBuilder) Router.newRouter()
+                .mount("/tenants/:tenantId/", users);
+        users.withStreamingRoute(HttpMethod.POST, "/upload", handler);
+        // when
+        classUnderTest.compile();
+        // then
+        var getTree = classUnderTest.getRouteTreeForMethod(HttpMethod.GET);
+        var result = getTree.findRoute("/tenants/acme/users/123");
+        assertThat(result.route().getPathPattern()).isEqualTo("/tenants/:tenantId/users/:userId");
+        assertThat(result.pathParameters()).containsEntry("tenantId", "acme").containsEntry("userId", "123");
+        assertThat(getTree.findRoute("/tenants/acme").route().getPathPattern()).isEqualTo("/tenants/:tenantId/");
+        assertThat(classUnderTest.getRouteTreeForMethod(HttpMethod.POST).findRoute("/tenants/acme/upload").route().isStreamingBody()).isTrue();
+    }
+
+    @Test
+    void testMountRouterJoinsPathSegments() {
+        // given
+        HttpRequestHandler handler = request -> HttpResponse.noContent();
+        var users = Router.newRouter()
+                .get("users", handler)
+                .get("/users/:userId", handler);
+        var classUnderTest = (RoutingBuilder) Router.newRouter()
+                .mount("/api", users)
+                .mount("/", Router.newRouter().get("health", handler));
+        // when
+        classUnderTest.compile();
+        // then
+        assertThat(classUnderTest.getStaticRoute(HttpMethod.GET, "/api/users").getPathPattern()).isEqualTo("/api/users");
+        assertThat(classUnderTest.getStaticRoute(HttpMethod.GET, "/apiusers")).isNull();
+        assertThat(classUnderTest.getStaticRoute(HttpMethod.GET, "/health").getPathPattern()).isEqualTo("/health");
+        assertThat(classUnderTest.getRouteTreeForMethod(HttpMethod.GET).findRoute("/api/users/123").route().getPathPattern()).isEqualTo("/api/users/:userId");
+    }
+
+    @Test
+    void testMountRouterWithTrailingSeparatorInPrefix() {
+        // given
+        HttpRequestHandler handler = request -> HttpResponse.noContent();
+        var classUnderTest = (RoutingBuilder) Router.newRouter()
+                .mount("/api/", Router.newRouter().get("/users", handler))
+                .group("/v1//", v1 -> v1.get("events", handler));
+        // when
+        classUnderTest.compile();
+        // then
+        assertThat(classUnderTest.getStaticRoute(HttpMethod.GET, "/api/users").getPathPattern()).isEqualTo("/api/users");
+        assertThat(classUnderTest.getStaticRoute(HttpMethod.GET, "/v1/events").getPathPattern()).isEqualTo("/v1/events");
+        assertThat(classUnderTest.getRouteTreeForMethod(HttpMethod.GET).getAllRoutes().stream().map(Route::getPathPattern).toList())
+                .containsExactlyInAnyOrder("/api/users", "/v1/events");
+    }
+
+    @Test
+    void testGroupRoutes() {
+        // given
+        HttpRequestHandler handler = request -> HttpResponse.noContent();
+        var classUnderTest = (RoutingBuilder) Router.newRouter()
+                .get("/health", handler)
+                .group("/api", api -> api
+                        .group("/v1", v1 -> v1.get("/events", handler))
+                        .post("/events", handler));
+        // when
+        classUnderTest.compile();
+        classUnderTest.compile();
+        // then
+        assertThat(classUnderTest.getStaticRoute(HttpMethod.GET, "/api/v1/events").getPathPattern()).isEqualTo("/api/v1/events");
+        assertThat(classUnderTest.getStaticRoute(HttpMethod.POST, "/api/events").getPathPattern()).isEqualTo("/api/events");
+        assertThat(classUnderTest.getRouteTreeForMethod(HttpMethod.GET).getAllRoutes()).hasSize(2);
+        assertThat(classUnderTest.findAllowedMethods("/api/events").isAllowed(HttpMethod.POST)).isTrue();
+    }
+
+    @Test
+    void testMountWithInvalidPrefix() {
+        // given
+        var classUnderTest = Router.newRouter();
+        // when
+        var emptyPrefix = catchThrowable(() -> classUnderTest.mount("", Router.newRouter()));
+        var catchAllPrefix = catchThrowable(() -> classUnderTest.mount("/static/*file", Router.newRouter()));
+        var itself = catchThrowable(() -> classUnderTest.mount("/api", classUnderTest));
+        // then
+        assertThat(emptyPrefix).isInstanceOf(InvalidRouteException.class);
+        assertThat(catchAllPrefix).isInstanceOf(InvalidRouteException.class);
+        assertThat(itself).isInstanceOf(IllegalArgumentException.class);
+    }
+}
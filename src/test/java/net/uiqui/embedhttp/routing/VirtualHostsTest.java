@@ -0,0 +1,72 @@
+package net.uiqui.embedhttp.routing;
+
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.junit.jupiter.api.Test;
+
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.AssertionsForClassTypes.catchThrowable;
+
+class VirtualHostsTest {
+    private static final RouterImpl API = new RouterImpl();
+    private static final RouterImpl TENANTS = new RouterImpl();
+    private static final RouterImpl EU_TENANTS = new RouterImpl();
+
+    @ParameterizedTest
+    @MethodSource("findRouterTests")
+    void testFindRouter(String hostHeader, RouterImpl expectedRouter) {
+        // given
+        var classUnderTest = new VirtualHosts();
+        classUnderTest.addHost("api.example.com", API);
+        classUnderTest.addHost("*.example.com", TENANTS);
+        classUnderTest.addHost("*.eu.Example.com", EU_TENANTS);
+        // when
+        var result = classUnderTest.findRouter(hostHeader);
+        // then
+        assertThat(result).isSameAs(expectedRouter);
+    }
+
+    @Test
+    void testIsEmpty() {
+        // given
+        var classUnderTest = new VirtualHosts();
+        // when
+        var before = classUnderTest.isEmpty();
+        classUnderTest.addHost("api.example.com", API);
+        var after = classUnderTest.isEmpty();
+        // then
+        assertThat(before).isTrue();
+        assertThat(after).isFalse();
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"", "*.", "*", "api.*.com", "api.example.com:8080", "example.com/api"})
+    void testAddInvalidHost(String hostPattern) {
+        // given
+        var classUnderTest = new VirtualHosts();
+        // when
+        var result = catchThrowable(() -> classUnderTest.addHost(hostPattern, API));
+        // then
+        assertThat(result).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private static Stream<Arguments> findRouterTests() {
+        return Stream.of(
+                // hostHeader, expectedRouter
+                Arguments.of("api.example.com", API),
+                Arguments.of("API.Example.com:8080", API),
+                Arguments.of("api.example.com.", API),
+                Arguments.of("acme.example.com", TENANTS),
+                Arguments.of("a.b.example.com", TENANTS),
+                Arguments.of("acme.eu.example.com", EU_TENANTS),
+                Arguments.of("example.com", null),
+                Arguments.of("other.com", null),
+                Arguments.of("[::1]:8080", null),
+                Arguments.of(null, null)
+        );
+    }
+}
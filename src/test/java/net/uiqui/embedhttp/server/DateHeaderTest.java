@@ -8,6 +8,7 @@ import org.junit.jupiter.params.provider.Arguments;
 import org.junit.jupiter.params.provider.MethodSource;
 import org.mockito.MockedStatic;
 
+import java.nio.charset.StandardCharsets;
 import java.time.ZonedDateTime;
 import java.util.stream.Stream;
 
@@ -28,15 +29,40 @@ class DateHeaderTest {
     }
 
     @Test
-    void testGetDateHeaderValue() {
+    void testGetDateHeaderBytes() {
         // given
         var classUnderTest = new DateHeader();
-        var now = ZonedDateTime.parse("2023-10-01T12:00:00.100Z");
-        mockedNow.when(Now::asZonedDateTime).thenReturn(now);
+        mockNow("2023-10-01T12:00:00.100Z");
         // when
-        var result = classUnderTest.getDateHeaderValue();
+        var result = classUnderTest.getDateHeaderBytes();
         // then
-        assertThat(result).isEqualTo("Sun, 01 Oct 2023 12:00:00 GMT");
+        assertThat(new String(result, StandardCharsets.US_ASCII)).isEqualTo("Date: Sun, 01 Oct 2023 12:00:00 GMT\r\n");
+    }
+
+    @Test
+    void testGetDateHeaderBytesWithinSameSecond() {
+        // given
+        var classUnderTest = new DateHeader();
+        mockNow("2023-10-01T12:00:00.100Z");
+        var first = classUnderTest.getDateHeaderBytes();
+        mockNow("2023-10-01T12:00:00.900Z");
+        // when
+        var result = classUnderTest.getDateHeaderBytes();
+        // then
+        assertThat(result).isSameAs(first);
+    }
+
+    @Test
+    void testGetDateHeaderBytesOnNewSecond() {
+        // given
+        var classUnderTest = new DateHeader();
+        mockNow("2023-10-01T12:00:00.900Z");
+        classUnderTest.getDateHeaderBytes();
+        mockNow("2023-10-01T12:00:01.000Z");
+        // when
+        var result = classUnderTest.getDateHeaderBytes();
+        // then
+        assertThat(new String(result, StandardCharsets.US_ASCII)).isEqualTo("Date: Sun, 01 Oct 2023 12:00:01 GMT\r\n");
     }
 
     @ParameterizedTest
@@ -51,6 +77,11 @@ class DateHeaderTest {
         assertThat(result).isEqualTo(expected);
     }
 
+    private void mockNow(String now) {
+        var millis = ZonedDateTime.parse(now).toInstant().toEpochMilli();
+        mockedNow.when(Now::currentTimeMillis).thenReturn(millis);
+    }
+
     private static Stream<Arguments> formatDates() {
         return Stream.of(
                 // input, expected
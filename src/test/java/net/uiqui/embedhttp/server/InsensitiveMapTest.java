@@ -2,6 +2,8 @@ package net.uiqui.embedhttp.server;
 
 import org.junit.jupiter.api.Test;
 
+import java.util.AbstractMap;
+import java.util.List;
 import java.util.Map;
 
 import static org.assertj.core.api.Assertions.assertThat;
@@ -43,4 +45,88 @@ class InsensitiveMapTest {
                 .containsKey("key1")
                 .containsKey("KEY1");
     }
-}
\ No newline at end of file
+
+    @Test
+    void testPutKeepsFirstNameAndReplacesValue() {
+        // given
+        var classUnderTest = new InsensitiveMap();
+        classUnderTest.put("Content-Type", "text/plain");
+        // when
+        var result = classUnderTest.put("content-type", "application/json");
+        // then
+        assertThat(result).isEqualTo("text/plain");
+        assertThat(classUnderTest).hasSize(1)
+                .containsEntry("Content-Type", "application/json");
+        assertThat(classUnderTest.keySet()).containsExactly("Content-Type");
+    }
+
+    @Test
+    void testIterationFollowsInsertionOrder() {
+        // given
+        var classUnderTest = new InsensitiveMap();
+        // when
+        for (var i = 0; i < 100; i++) {
+            classUnderTest.put("X-Header-" + (99 - i), String.valueOf(i));
+        }
+        // then
+        assertThat(classUnderTest).hasSize(100);
+        var names = List.copyOf(classUnderTest.keySet());
+        assertThat(names.get(0)).isEqualTo("X-Header-99");
+        assertThat(names.get(99)).isEqualTo("X-Header-0");
+        assertThat(classUnderTest.get("x-header-50")).isEqualTo("49");
+    }
+
+    @Test
+    void testRemove() {
+        // given
+        var classUnderTest = new InsensitiveMap();
+        classUnderTest.put("Content-Type", "text/plain");
+        classUnderTest.put("Content-Length", "11");
+        classUnderTest.put("Connection", "close");
+        // when
+        var result = classUnderTest.remove("CONTENT-LENGTH");
+        // then
+        assertThat(result).isEqualTo("11");
+        assertThat(classUnderTest.keySet()).containsExactly("Content-Type", "Connection");
+        assertThat(classUnderTest.get("connection")).isEqualTo("close");
+        assertThat(classUnderTest.containsKey("Content-Length")).isFalse();
+    }
+
+    @Test
+    void testRemoveWithIterator() {
+        // given
+        var classUnderTest = InsensitiveMap.from(Map.of("Host", "localhost"));
+        classUnderTest.put("Accept", "*/*");
+        // when
+        classUnderTest.entrySet().removeIf(entry -> entry.getKey().equals("Host"));
+        // then
+        assertThat(classUnderTest).containsExactly(Map.entry("Accept", "*/*"));
+        assertThat(classUnderTest.get("host")).isNull();
+    }
+
+    @Test
+    void testEqualsOtherMaps() {
+        // given
+        var classUnderTest = new InsensitiveMap();
+        // when
+        classUnderTest.put("Host", "localhost");
+        // then
+        assertThat(classUnderTest).isEqualTo(Map.of("Host", "localhost"));
+        assertThat(classUnderTest.get(null)).isNull();
+        assertThat(classUnderTest.get(1)).isNull();
+    }
+
+    @Test
+    void testEntryWithNullValue() {
+        // given
+        var classUnderTest = new InsensitiveMap();
+        classUnderTest.put("Host", null);
+        var expected = new AbstractMap.SimpleEntry<String, String>("Host", null);
+        // when
+        var entry = classUnderTest.entrySet().iterator().next();
+        // then
+        assertThat(entry.equals(expected)).isTrue();
+        assertThat(entry.hashCode()).isEqualTo(expected.hashCode());
+        assertThat(classUnderTest.hashCode()).isEqualTo(Map.of().hashCode() + expected.hashCode());
+    }
+}
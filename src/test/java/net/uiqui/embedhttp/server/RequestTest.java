@@ -1,14 +1,22 @@
 package net.uiqui.embedhttp.server;
 
+import net.uiqui.embedhttp.api.HttpHeader;
 import net.uiqui.embedhttp.api.HttpMethod;
+import net.uiqui.embedhttp.server.io.HttpVersion;
+import net.uiqui.embedhttp.server.io.RawHeaders;
+import org.junit.jupiter.api.Test;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.Arguments;
 import org.junit.jupiter.params.provider.MethodSource;
 
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
 import java.util.Map;
 import java.util.stream.Stream;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.AssertionsForClassTypes.catchThrowable;
 
 class RequestTest {
     @ParameterizedTest
@@ -17,7 +25,7 @@ class RequestTest {
         // given
         var method = HttpMethod.GET;
         var headers = InsensitiveMap.from(Map.of("header1", "value1", "header2", "value2"));
-        var body = "request body";
+        var body = "request body".getBytes(StandardCharsets.UTF_8);
         var keepAlive = true;
         // when
         var result = new Request(method, url, headers, body, keepAlive);
@@ -25,12 +33,66 @@ class RequestTest {
         assertThat(result.getMethod()).isEqualTo(method);
         assertThat(result.getUrl()).isEqualTo(url);
         assertThat(result.getHeaders()).isEqualTo(headers);
-        assertThat(result.getBody()).isEqualTo(body);
+        assertThat(result.getBody()).isEqualTo("request body");
+        assertThat(result.getBodyBytes()).isEqualTo(body);
         assertThat(result.getPath()).isEqualTo(path);
         assertThat(result.getQuery()).isEqualTo(query);
         assertThat(result.isKeepAlive()).isEqualTo(keepAlive);
     }
 
+    @Test
+    void testHeaderWithoutKnownHeaders() {
+        // given
+        var headers = InsensitiveMap.from(Map.of("content-type", "text/plain"));
+        // when
+        var classUnderTest = new Request(HttpMethod.GET, "/", headers, null, true);
+        // then
+        assertThat(classUnderTest.header(HttpHeader.CONTENT_TYPE)).isEqualTo("text/plain");
+        assertThat(classUnderTest.header(HttpHeader.HOST)).isNull();
+        assertThat(new Request(HttpMethod.GET, "/", null, null, true).header(HttpHeader.HOST)).isNull();
+    }
+
+    @Test
+    void testFromRawHeaders() {
+        // given
+        var rawHeaders = new RawHeaders();
+        var line = "Host: localhost".getBytes(StandardCharsets.UTF_8);
+        rawHeaders.add(line, 0, 4, 6, line.length);
+        // when
+        var classUnderTest = Request.fromRawHeaders(HttpMethod.GET, "/test?q=1", HttpVersion.VERSION_1_1, rawHeaders, true);
+        // then
+        assertThat(classUnderTest.header(HttpHeader.HOST)).isEqualTo("localhost");
+        assertThat(classUnderTest.getHeaders()).containsExactly(Map.entry("Host", "localhost"));
+        assertThat(classUnderTest.getHeaders()).isSameAs(classUnderTest.getHeaders());
+        assertThat(classUnderTest.getPath()).isEqualTo("/test");
+        assertThat(classUnderTest.getBodyBytes()).isEmpty();
+    }
+
+    @Test
+    void testBodyStream() throws IOException {
+        // given
+        var classUnderTest = new Request(HttpMethod.POST, "/", null, null, true);
+        var bodyStream = new ByteArrayInputStream("streamed body".getBytes(StandardCharsets.UTF_8));
+        // when
+        classUnderTest.setBodyStream(bodyStream);
+        // then
+        assertThat(classUnderTest.isBodyStreamed()).isTrue();
+        assertThat(classUnderTest.getBodyStream()).isSameAs(bodyStream);
+        assertThat(catchThrowable(classUnderTest::getBodyBytes)).isInstanceOf(IllegalStateException.class);
+    }
+
+    @Test
+    void testBodyStreamFromLoadedBody() throws IOException {
+        // given
+        var body = "request body".getBytes(StandardCharsets.UTF_8);
+        var classUnderTest = new Request(HttpMethod.POST, "/", null, body, true);
+        // when
+        var result = classUnderTest.getBodyStream().readAllBytes();
+        // then
+        assertThat(classUnderTest.isBodyStreamed()).isFalse();
+        assertThat(result).isEqualTo(body);
+    }
+
     private static Stream<Arguments> requestUrls() {
         return Stream.of(
                 // url, path, query
@@ -0,0 +1,72 @@
+package net.uiqui.embedhttp.server.io;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.net.ProtocolException;
+import java.nio.charset.StandardCharsets;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.AssertionsForClassTypes.catchThrowable;
+
+class ChunkedBodyStreamTest {
+    @Test
+    void testReadChunks() throws IOException {
+        // given
+        var connectionBuffer = buildConnectionBuffer("""
+                5\r
+                Hello\r
+                6\r
+                 World\r
+                0\r
+                \r
+                GET / HTTP/1.1\r
+                """);
+        var classUnderTest = new ChunkedBodyStream(connectionBuffer);
+        // when
+        var result = classUnderTest.readAllBytes();
+        // then
+        assertThat(new String(result, StandardCharsets.UTF_8)).isEqualTo("Hello World");
+        assertThat(classUnderTest.read()).isEqualTo(-1);
+        assertThat(connectionBuffer.available()).isEqualTo(16);
+    }
+
+    @Test
+    void testSkipAcrossChunks() throws IOException {
+        // given
+        var connectionBuffer = buildConnectionBuffer("""
+                5\r
+                Hello\r
+                6\r
+                 World\r
+                0\r
+                \r
+                """);
+        var classUnderTest = new ChunkedBodyStream(connectionBuffer);
+        // when
+        var first = classUnderTest.skip(100);
+        var second = classUnderTest.skip(100);
+        var third = classUnderTest.skip(100);
+        // then
+        assertThat(first).isEqualTo(5);
+        assertThat(second).isEqualTo(6);
+        assertThat(third).isEqualTo(0);
+        assertThat(connectionBuffer.available()).isEqualTo(0);
+    }
+
+    @Test
+    void testRejectInvalidChunkSize() {
+        // given
+        var classUnderTest = new ChunkedBodyStream(buildConnectionBuffer("XYZ\r\nHello\r\n"));
+        // when
+        var result = catchThrowable(classUnderTest::readAllBytes);
+        // then
+        assertThat(result).isInstanceOf(ProtocolException.class);
+        assertThat(result).hasMessageContaining("Invalid chunk size");
+    }
+
+    private static ConnectionBuffer buildConnectionBuffer(String content) {
+        return new ConnectionBuffer(new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8)));
+    }
+}
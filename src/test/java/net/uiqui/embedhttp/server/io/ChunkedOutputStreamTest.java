@@ -0,0 +1,73 @@
+package net.uiqui.embedhttp.server.io;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.AssertionsForClassTypes.catchThrowable;
+
+class ChunkedOutputStreamTest {
+    @Test
+    void testWriteChunks() throws IOException {
+        // given
+        var outputStream = new ByteArrayOutputStream();
+        var classUnderTest = new ChunkedOutputStream(outputStream);
+        // when
+        classUnderTest.write("Hello".getBytes(StandardCharsets.UTF_8));
+        classUnderTest.flush();
+        classUnderTest.write(" World".getBytes(StandardCharsets.UTF_8));
+        classUnderTest.close();
+        // then
+        var expected = """
+                5\r
+                Hello\r
+                6\r
+                 World\r
+                0\r
+                \r
+                """;
+        assertThat(outputStream.toString(StandardCharsets.UTF_8)).isEqualTo(expected);
+    }
+
+    @Test
+    void testSplitLargeWritesIntoChunks() throws IOException {
+        // given
+        var outputStream = new ByteArrayOutputStream();
+        var classUnderTest = new ChunkedOutputStream(outputStream);
+        var body = "X".repeat(ChunkedOutputStream.CHUNK_SIZE + 10);
+        // when
+        classUnderTest.write(body.getBytes(StandardCharsets.UTF_8));
+        classUnderTest.close();
+        // then
+        var expected = "2000\r\n" + "X".repeat(ChunkedOutputStream.CHUNK_SIZE) + "\r\n" +
+                "a\r\n" + "X".repeat(10) + "\r\n" +
+                "0\r\n\r\n";
+        assertThat(outputStream.toString(StandardCharsets.UTF_8)).isEqualTo(expected);
+    }
+
+    @Test
+    void testEmptyBody() throws IOException {
+        // given
+        var outputStream = new ByteArrayOutputStream();
+        var classUnderTest = new ChunkedOutputStream(outputStream);
+        // when
+        classUnderTest.close();
+        classUnderTest.close();
+        // then
+        assertThat(outputStream.toString(StandardCharsets.UTF_8)).isEqualTo("0\r\n\r\n");
+    }
+
+    @Test
+    void testRejectWriteAfterClose() throws IOException {
+        // given
+        var classUnderTest = new ChunkedOutputStream(new ByteArrayOutputStream());
+        classUnderTest.close();
+        // when
+        var result = catchThrowable(() -> classUnderTest.write(1));
+        // then
+        assertThat(result).isInstanceOf(IOException.class);
+    }
+}
@@ -0,0 +1,140 @@
+package net.uiqui.embedhttp.server.io;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ConnectionBufferTest {
+    private static final int MAX_LINE_LENGTH = 100_000;
+
+    @Test
+    void testReadLine() throws IOException {
+        // given
+        var classUnderTest = new ConnectionBuffer(buildInputStream("first\r\nsecond\nthird"));
+        // when
+        var first = readLine(classUnderTest);
+        var second = readLine(classUnderTest);
+        var third = readLine(classUnderTest);
+        var endOfStream = classUnderTest.readLine(MAX_LINE_LENGTH);
+        // then
+        assertThat(first).isEqualTo("first");
+        assertThat(second).isEqualTo("second");
+        assertThat(third).isEqualTo("third");
+        assertThat(endOfStream).isEqualTo(-1);
+    }
+
+    @Test
+    void testReadLineLongerThanDefaultCapacity() throws IOException {
+        // given
+        var longLine = "x".repeat(ConnectionBuffer.DEFAULT_CAPACITY * 3);
+        var classUnderTest = new ConnectionBuffer(buildInputStream(longLine + "\r\nnext\r\n"));
+        // when
+        var first = readLine(classUnderTest);
+        var second = readLine(classUnderTest);
+        // then
+        assertThat(first).isEqualTo(longLine);
+        assertThat(second).isEqualTo("next");
+    }
+
+    @Test
+    void testReadKeepsLeftoverBytes() throws IOException {
+        // given
+        var classUnderTest = new ConnectionBuffer(buildInputStream("header\r\nbodyNEXT\r\n"));
+        var body = new byte[4];
+        // when
+        var line = readLine(classUnderTest);
+        var count = classUnderTest.read(body, 0, body.length);
+        var next = readLine(classUnderTest);
+        // then
+        assertThat(line).isEqualTo("header");
+        assertThat(count).isEqualTo(4);
+        assertThat(new String(body, StandardCharsets.UTF_8)).isEqualTo("body");
+        assertThat(next).isEqualTo("NEXT");
+    }
+
+    @Test
+    void testAppendAndContains() throws IOException {
+        // given
+        var classUnderTest = new ConnectionBuffer(InputStream.nullInputStream());
+        var sequence = "\r\n\r\n".getBytes(StandardCharsets.UTF_8);
+        // when
+        classUnderTest.append(ByteBuffer.wrap("GET / HTTP/1.1\r\n".getBytes(StandardCharsets.UTF_8)));
+        var partial = classUnderTest.contains(sequence);
+        classUnderTest.append(ByteBuffer.wrap("\r\n".getBytes(StandardCharsets.UTF_8)));
+        var complete = classUnderTest.contains(sequence);
+        // then
+        assertThat(partial).isFalse();
+        assertThat(complete).isTrue();
+        assertThat(classUnderTest.available()).isEqualTo(18);
+        assertThat(readLine(classUnderTest)).isEqualTo("GET / HTTP/1.1");
+    }
+
+    @Test
+    void testReleaseKeepsUnreadBytes() throws IOException {
+        // given
+        var classUnderTest = new ConnectionBuffer(InputStream.nullInputStream());
+        classUnderTest.append(ByteBuffer.wrap("first\r\nsecond\r\n".getBytes(StandardCharsets.UTF_8)));
+        readLine(classUnderTest);
+        // when
+        classUnderTest.release();
+        // then
+        assertThat(classUnderTest.available()).isEqualTo(8);
+        assertThat(readLine(classUnderTest)).isEqualTo("second");
+    }
+
+    @Test
+    void testReadLineExceedingMaxLength() throws IOException {
+        // given
+        var classUnderTest = new ConnectionBuffer(buildInputStream("0123456789\r\n"));
+        // when
+        var result = classUnderTest.readLine(5);
+        // then
+        assertThat(result).isEqualTo(6);
+        assertThat(classUnderTest.available()).isEqualTo(12);
+    }
+
+    @ParameterizedTest
+    @MethodSource("requestHeads")
+    void testHasRequestHead(String content, boolean expected) {
+        // given
+        var classUnderTest = new ConnectionBuffer(InputStream.nullInputStream());
+        classUnderTest.append(ByteBuffer.wrap(content.getBytes(StandardCharsets.UTF_8)));
+        // when
+        var result = classUnderTest.hasRequestHead();
+        // then
+        assertThat(result).isEqualTo(expected);
+    }
+
+    private static Stream<Arguments> requestHeads() {
+        return Stream.of(
+                // content, expected
+                Arguments.of("GET / HTTP/1.1\r\nHost: localhost\r\n\r\n", true),
+                Arguments.of("GET / HTTP/1.1\nHost: localhost\n\n", true),
+                Arguments.of("GET / HTTP/1.1\r\nHost: localhost\n\r\n", true),
+                Arguments.of("GET / HTTP/1.1\nHost: localhost\r\n\n", true),
+                Arguments.of("GET / HTTP/1.1\r\nHost: localhost\r\n", false),
+                Arguments.of("GET / HTTP/1.1\nHost: localhost\n\r", false),
+                Arguments.of("GET / HTTP/1.1\r\n\rHost: localhost\r\n", false),
+                Arguments.of("", false)
+        );
+    }
+
+    private static String readLine(ConnectionBuffer connectionBuffer) throws IOException {
+        var length = connectionBuffer.readLine(MAX_LINE_LENGTH);
+        return new String(connectionBuffer.array(), connectionBuffer.lineStart(), length, StandardCharsets.UTF_8);
+    }
+
+    private static InputStream buildInputStream(String content) {
+        return new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8));
+    }
+}
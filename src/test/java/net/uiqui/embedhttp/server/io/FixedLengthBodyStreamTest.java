@@ -0,0 +1,55 @@
+package net.uiqui.embedhttp.server.io;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.net.ProtocolException;
+import java.nio.charset.StandardCharsets;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.AssertionsForClassTypes.catchThrowable;
+
+class FixedLengthBodyStreamTest {
+    @Test
+    void testReadStopsAtContentLength() throws IOException {
+        // given
+        var connectionBuffer = buildConnectionBuffer("Hello WorldGET / HTTP/1.1\r\n");
+        var classUnderTest = new FixedLengthBodyStream(connectionBuffer, 11);
+        // when
+        var result = classUnderTest.readAllBytes();
+        // then
+        assertThat(new String(result, StandardCharsets.UTF_8)).isEqualTo("Hello World");
+        assertThat(classUnderTest.read()).isEqualTo(-1);
+        assertThat(connectionBuffer.hasRequestHead()).isFalse();
+        assertThat(connectionBuffer.available()).isEqualTo(16);
+    }
+
+    @Test
+    void testSkip() throws IOException {
+        // given
+        var connectionBuffer = buildConnectionBuffer("Hello World");
+        var classUnderTest = new FixedLengthBodyStream(connectionBuffer, 11);
+        // when
+        var skipped = classUnderTest.skip(6);
+        var result = classUnderTest.readAllBytes();
+        // then
+        assertThat(skipped).isEqualTo(6);
+        assertThat(new String(result, StandardCharsets.UTF_8)).isEqualTo("World");
+    }
+
+    @Test
+    void testRejectTruncatedBody() {
+        // given
+        var classUnderTest = new FixedLengthBodyStream(buildConnectionBuffer("Hello"), 11);
+        // when
+        var result = catchThrowable(classUnderTest::readAllBytes);
+        // then
+        assertThat(result).isInstanceOf(ProtocolException.class);
+        assertThat(result).hasMessageContaining("Unexpected end of stream");
+    }
+
+    private static ConnectionBuffer buildConnectionBuffer(String content) {
+        return new ConnectionBuffer(new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8)));
+    }
+}
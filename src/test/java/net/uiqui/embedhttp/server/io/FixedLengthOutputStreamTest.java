@@ -0,0 +1,49 @@
+package net.uiqui.embedhttp.server.io;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.AssertionsForClassTypes.catchThrowable;
+
+class FixedLengthOutputStreamTest {
+    @Test
+    void testWriteExactLength() throws IOException {
+        // given
+        var outputStream = new ByteArrayOutputStream();
+        var classUnderTest = new FixedLengthOutputStream(outputStream, 11);
+        // when
+        classUnderTest.write("Hello".getBytes(StandardCharsets.UTF_8));
+        classUnderTest.write(' ');
+        classUnderTest.write("World".getBytes(StandardCharsets.UTF_8));
+        classUnderTest.close();
+        // then
+        assertThat(outputStream.toString(StandardCharsets.UTF_8)).isEqualTo("Hello World");
+    }
+
+    @Test
+    void testRejectBodyLongerThanContentLength() {
+        // given
+        var classUnderTest = new FixedLengthOutputStream(new ByteArrayOutputStream(), 5);
+        // when
+        var result = catchThrowable(() -> classUnderTest.write("Hello World".getBytes(StandardCharsets.UTF_8)));
+        // then
+        assertThat(result).isInstanceOf(IOException.class);
+        assertThat(result).hasMessageContaining("exceeds Content-Length");
+    }
+
+    @Test
+    void testRejectBodyShorterThanContentLength() throws IOException {
+        // given
+        var classUnderTest = new FixedLengthOutputStream(new ByteArrayOutputStream(), 11);
+        classUnderTest.write("Hello".getBytes(StandardCharsets.UTF_8));
+        // when
+        var result = catchThrowable(classUnderTest::close);
+        // then
+        assertThat(result).isInstanceOf(IOException.class);
+        assertThat(result).hasMessageContaining("shorter than Content-Length");
+    }
+}
@@ -2,12 +2,19 @@ package net.uiqui.embedhttp.server.io;
 
 import net.uiqui.embedhttp.Router;
 import net.uiqui.embedhttp.api.ContentType;
+import net.uiqui.embedhttp.api.HttpMethod;
 import net.uiqui.embedhttp.api.HttpResponse;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
 
 import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
 import java.net.ConnectException;
+import java.net.Socket;
 import java.net.http.HttpClient;
+import java.nio.charset.StandardCharsets;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.AssertionsForClassTypes.catchThrowable;
@@ -52,6 +59,359 @@ class IOServerTest {
         assertThat(response.body()).isEqualTo("Hello World");
     }
 
+    @Test
+    void testPipelinedRequests() throws Exception {
+        // given
+        var classUnderTest = new IOServer(0, 10);
+        var router = Router.newRouter()
+                .get("/first", req -> HttpResponse.ok()
+                        .setBody(ContentType.TEXT_PLAIN, "First")
+                )
+                .get("/second", req -> HttpResponse.ok()
+                        .setBody(ContentType.TEXT_PLAIN, "Second")
+                );
+        classUnderTest.start(router);
+        var rawRequests = """
+                GET /first HTTP/1.1\r
+                Host: localhost\r
+                \r
+                GET /second HTTP/1.1\r
+                Host: localhost\r
+                Connection: close\r
+                \r
+                """;
+        // when
+        String result;
+        try (var socket = new Socket("localhost", classUnderTest.getInstancePort())) {
+            socket.getOutputStream().write(rawRequests.getBytes(StandardCharsets.UTF_8));
+            result = new String(socket.getInputStream().readAllBytes(), StandardCharsets.UTF_8);
+        }
+        // then
+        assertThat(result).startsWith("HTTP/1.1 200 OK");
+        assertThat(result.indexOf("\r\n\r\nFirst")).isPositive();
+        assertThat(result.indexOf("\r\n\r\nSecond")).isGreaterThan(result.indexOf("\r\n\r\nFirst"));
+    }
+
+    @Test
+    void testMethodNotAllowedAndOptions() throws Exception {
+        // given
+        var classUnderTest = new IOServer(0, 10);
+        var router = Router.newRouter()
+                .get("/items/:id", req -> HttpResponse.ok()
+                        .setBody(ContentType.TEXT_PLAIN, "Item")
+                )
+                .put("/items/:id", req -> HttpResponse.noContent());
+        classUnderTest.start(router);
+        var rawRequests = """
+                DELETE /items/1 HTTP/1.1\r
+                Host: localhost\r
+                \r
+                OPTIONS /items/1 HTTP/1.1\r
+                Host: localhost\r
+                \r
+                DELETE /other HTTP/1.1\r
+                Host: localhost\r
+                Connection: close\r
+                \r
+                """;
+        // when
+        String result;
+        try (var socket = new Socket("localhost", classUnderTest.getInstancePort())) {
+            socket.getOutputStream().write(rawRequests.getBytes(StandardCharsets.UTF_8));
+            result = new String(socket.getInputStream().readAllBytes(), StandardCharsets.UTF_8);
+        }
+        // then
+        assertThat(result).startsWith("HTTP/1.1 405 Method Not Allowed");
+        assertThat(result).contains("Allow: GET, PUT, OPTIONS, HEAD\r\n");
+        assertThat(result.indexOf("HTTP/1.1 204 No Content")).isGreaterThan(result.indexOf("HTTP/1.1 405"));
+        assertThat(result.indexOf("HTTP/1.1 404 Not Found")).isGreaterThan(result.indexOf("HTTP/1.1 204"));
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"OPTIONS", "DELETE", "GET"})
+    void testAutomaticResponsesCloseConnection(String method) throws Exception {
+        // given
+        var classUnderTest = new IOServer(0, 10);
+        var router = Router.newRouter()
+                .put("/items/:id", req -> HttpResponse.noContent());
+        classUnderTest.start(router);
+        var rawRequest = method + " /items/1 HTTP/1.1\r\nHost: localhost\r\nConnection: close\r\n\r\n";
+        // when
+        String result;
+        try (var socket = new Socket("localhost", classUnderTest.getInstancePort())) {
+            socket.setSoTimeout(2_000);
+            socket.getOutputStream().write(rawRequest.getBytes(StandardCharsets.UTF_8));
+            result = new String(socket.getInputStream().readAllBytes(), StandardCharsets.UTF_8);
+        }
+        // then
+        assertThat(result).contains("Allow: PUT, OPTIONS\r\n");
+        assertThat(result).contains("Connection: close\r\n");
+    }
+
+    @Test
+    void testHeadRequestUsesGetRoute() throws Exception {
+        // given
+        var classUnderTest = new IOServer(0, 10);
+        var router = Router.newRouter()
+                .get("/items/:id", req -> HttpResponse.ok()
+                        .setBody(ContentType.TEXT_PLAIN, "Item " + req.getPathParameter("id"))
+                );
+        classUnderTest.start(router);
+        var rawRequests = """
+                HEAD /items/1 HTTP/1.1\r
+                Host: localhost\r
+                \r
+                GET /items/2 HTTP/1.1\r
+                Host: localhost\r
+                Connection: close\r
+                \r
+                """;
+        // when
+        String result;
+        try (var socket = new Socket("localhost", classUnderTest.getInstancePort())) {
+            socket.getOutputStream().write(rawRequests.getBytes(StandardCharsets.UTF_8));
+            result = new String(socket.getInputStream().readAllBytes(), StandardCharsets.UTF_8);
+        }
+        // then
+        assertThat(result).startsWith("HTTP/1.1 200 OK");
+        assertThat(result).doesNotContain("Item 1");
+        assertThat(result).contains("\r\n\r\nHTTP/1.1 200 OK");
+        assertThat(result).endsWith("\r\n\r\nItem 2");
+        assertThat(result.indexOf("Content-Length: 6\r\n")).isLessThan(result.indexOf("Item 2"));
+    }
+
+    @Test
+    void testHeadRequestKeepsSharedResponseBody() throws Exception {
+        // given
+        var classUnderTest = new IOServer(0, 10);
+        var shared = HttpResponse.ok().setBody(ContentType.TEXT_PLAIN, "Hello");
+        var router = Router.newRouter()
+                .get("/shared", req -> shared);
+        classUnderTest.start(router);
+        var rawRequests = """
+                HEAD /shared HTTP/1.1\r
+                Host: localhost\r
+                \r
+                GET /shared HTTP/1.1\r
+                Host: localhost\r
+                Connection: close\r
+                \r
+                """;
+        // when
+        String result;
+        try (var socket = new Socket("localhost", classUnderTest.getInstancePort())) {
+            socket.setSoTimeout(5_000);
+            socket.getOutputStream().write(rawRequests.getBytes(StandardCharsets.UTF_8));
+            result = new String(socket.getInputStream().readAllBytes(), StandardCharsets.UTF_8);
+        }
+        // then
+        assertThat(result).endsWith("\r\n\r\nHello");
+        assertThat(result.indexOf("Hello")).isEqualTo(result.lastIndexOf("Hello"));
+        assertThat(result.indexOf("Connection: close")).isGreaterThan(result.indexOf("\r\n\r\nHTTP/1.1 200 OK"));
+    }
+
+    @Test
+    void testVirtualHosts() throws Exception {
+        // given
+        var classUnderTest = new IOServer(0, 10);
+        var router = Router.newRouter()
+                .get("/", req -> HttpResponse.ok()
+                        .setBody(ContentType.TEXT_PLAIN, "Default")
+                )
+                .withHost("api.example.com", Router.newRouter()
+                        .get("/", req -> HttpResponse.ok()
+                                .setBody(ContentType.TEXT_PLAIN, "Api")
+                        )
+                );
+        classUnderTest.start(router);
+        var rawRequests = """
+                GET / HTTP/1.1\r
+                Host: api.example.com\r
+                \r
+                GET / HTTP/1.1\r
+                Host: localhost\r
+                Connection: close\r
+                \r
+                """;
+        // when
+        String result;
+        try (var socket = new Socket("localhost", classUnderTest.getInstancePort())) {
+            socket.getOutputStream().write(rawRequests.getBytes(StandardCharsets.UTF_8));
+            result = new String(socket.getInputStream().readAllBytes(), StandardCharsets.UTF_8);
+        }
+        // then
+        assertThat(result.indexOf("\r\n\r\nApi")).isPositive();
+        assertThat(result.indexOf("\r\n\r\nDefault")).isGreaterThan(result.indexOf("\r\n\r\nApi"));
+    }
+
+    @Test
+    void testStreamingRequestBody() throws Exception {
+        // given
+        var classUnderTest = new IOServer(0, 10);
+        var router = Router.newRouter()
+                .withStreamingRoute(HttpMethod.POST, "/upload", req -> {
+                    try (var bodyStream = req.getBodyStream()) {
+                        var size = bodyStream.transferTo(OutputStream.nullOutputStream());
+                        return HttpResponse.ok()
+                                .setBody(ContentType.TEXT_PLAIN, String.valueOf(size));
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+        classUnderTest.start(router);
+        var url = "http://localhost:" + classUnderTest.getInstancePort() + "/upload";
+        var body = new byte[20 * 1024 * 1024]; // 20MB, above the maximum in-memory body size
+        // when
+        try (var client = HttpClient.newHttpClient()) {
+            var request = java.net.http.HttpRequest.newBuilder()
+                    .uri(java.net.URI.create(url))
+                    .POST(java.net.http.HttpRequest.BodyPublishers.ofByteArray(body))
+                    .build();
+            var response = client.send(request, java.net.http.HttpResponse.BodyHandlers.ofString());
+            // then
+            assertThat(response.statusCode()).isEqualTo(200);
+            assertThat(response.body()).isEqualTo(String.valueOf(body.length));
+        }
+    }
+
+    @Test
+    void testStreamingRequestBodyWithReadError() throws Exception {
+        // given
+        var classUnderTest = new IOServer(0, 10);
+        var router = Router.newRouter()
+                .withStreamingRoute(HttpMethod.POST, "/upload", req -> {
+                    try (var bodyStream = req.getBodyStream()) {
+                        bodyStream.readNBytes(5);
+                        throw new IOException("Body rejected");
+                    }
+                });
+        classUnderTest.start(router);
+        var rawRequest = """
+                POST /upload HTTP/1.1\r
+                Host: localhost\r
+                Content-Length: 5\r
+                \r
+                Hello""";
+        // when
+        String result;
+        try (var socket = new Socket("localhost", classUnderTest.getInstancePort())) {
+            socket.getOutputStream().write(rawRequest.getBytes(StandardCharsets.UTF_8));
+            result = new String(socket.getInputStream().readAllBytes(), StandardCharsets.UTF_8);
+        }
+        // then
+        assertThat(result).startsWith("HTTP/1.1 500 Internal Server Error");
+        assertThat(result).contains("Connection: close\r\n");
+    }
+
+    @Test
+    void testStreamingResponseBody() throws Exception {
+        // given
+        var classUnderTest = new IOServer(0, 10);
+        var router = Router.newRouter()
+                .get("/export", req -> HttpResponse.ok()
+                        .setBody(ContentType.TEXT_PLAIN, outputStream -> {
+                            for (var i = 0; i < 100_000; i++) {
+                                outputStream.write(("line," + i + "\n").getBytes(StandardCharsets.UTF_8));
+                            }
+                        })
+                );
+        classUnderTest.start(router);
+        var url = "http://localhost:" + classUnderTest.getInstancePort() + "/export";
+        // when
+        var response = callEndpoint(url);
+        // then
+        assertThat(response.statusCode()).isEqualTo(200);
+        assertThat(response.headers().firstValue("Transfer-Encoding").orElse(null)).isEqualTo("chunked");
+        assertThat(response.body()).startsWith("line,0\n");
+        assertThat(response.body()).endsWith("line,99999\n");
+    }
+
+    @Test
+    void testExpectContinue() throws Exception {
+        // given
+        var classUnderTest = new IOServer(0, 10);
+        var router = Router.newRouter()
+                .put("/items/:id", req -> HttpResponse.ok()
+                        .setBody(ContentType.TEXT_PLAIN, req.getBody())
+                );
+        classUnderTest.start(router);
+        var rawHead = """
+                PUT /items/1 HTTP/1.1\r
+                Host: localhost\r
+                Content-Length: 5\r
+                Expect: 100-continue\r
+                Connection: close\r
+                \r
+                """;
+        // when
+        String interim;
+        String result;
+        try (var socket = new Socket("localhost", classUnderTest.getInstancePort())) {
+            socket.getOutputStream().write(rawHead.getBytes(StandardCharsets.UTF_8));
+            interim = new String(socket.getInputStream().readNBytes(25), StandardCharsets.UTF_8);
+            socket.getOutputStream().write("Hello".getBytes(StandardCharsets.UTF_8));
+            result = new String(socket.getInputStream().readAllBytes(), StandardCharsets.UTF_8);
+        }
+        // then
+        assertThat(interim).isEqualTo("HTTP/1.1 100 Continue\r\n\r\n");
+        assertThat(result).startsWith("HTTP/1.1 200 OK");
+        assertThat(result).endsWith("\r\n\r\nHello");
+    }
+
+    @Test
+    void testExpectContinueRejectedWithoutReadingBody() throws Exception {
+        // given
+        var classUnderTest = new IOServer(0, 10);
+        var router = Router.newRouter()
+                .put("/items/:id", req -> HttpResponse.noContent());
+        classUnderTest.start(router);
+        var requests = new String[]{
+                "PUT /other HTTP/1.1\r\nHost: localhost\r\nContent-Length: 5\r\nExpect: 100-continue\r\n\r\n",
+                "PUT /items/1 HTTP/1.1\r\nHost: localhost\r\nContent-Length: 20971520\r\nExpect: 100-continue\r\n\r\n",
+                "PUT /items/1 HTTP/1.1\r\nHost: localhost\r\nContent-Length: 5\r\nExpect: something-else\r\n\r\n"
+        };
+        var results = new String[requests.length];
+        // when
+        for (var i = 0; i < requests.length; i++) {
+            try (var socket = new Socket("localhost", classUnderTest.getInstancePort())) {
+                socket.getOutputStream().write(requests[i].getBytes(StandardCharsets.UTF_8));
+                results[i] = new String(socket.getInputStream().readAllBytes(), StandardCharsets.UTF_8);
+            }
+        }
+        // then
+        assertThat(results[0]).startsWith("HTTP/1.1 404 Not Found").contains("Connection: close\r\n").doesNotContain("100 Continue");
+        assertThat(results[1]).startsWith("HTTP/1.1 413 Payload Too Large").contains("Connection: close\r\n");
+        assertThat(results[2]).startsWith("HTTP/1.1 417 Expectation Failed").contains("Connection: close\r\n");
+    }
+
+    @Test
+    void testStreamingResponseBodyOverHttp10() throws Exception {
+        // given
+        var classUnderTest = new IOServer(0, 10);
+        var router = Router.newRouter()
+                .get("/export", req -> HttpResponse.ok()
+                        .setBody(ContentType.TEXT_PLAIN, outputStream -> {
+                            for (var i = 0; i < 3; i++) {
+                                outputStream.write(("line," + i + "\n").getBytes(StandardCharsets.UTF_8));
+                                outputStream.flush();
+                            }
+                        })
+                );
+        classUnderTest.start(router);
+        // when
+        String result;
+        try (var socket = new Socket("localhost", classUnderTest.getInstancePort())) {
+            socket.setSoTimeout(5_000);
+            socket.getOutputStream().write("GET /export HTTP/1.0\r\nHost: localhost\r\n\r\n".getBytes(StandardCharsets.UTF_8));
+            result = new String(socket.getInputStream().readAllBytes(), StandardCharsets.UTF_8);
+        }
+        // then
+        assertThat(result).startsWith("HTTP/1.1 200 OK");
+        assertThat(result).doesNotContain("Transfer-Encoding");
+        assertThat(result).contains("Connection: close\r\n");
+        assertThat(result).endsWith("\r\n\r\nline,0\nline,1\nline,2\n");
+    }
+
     @Test
     void testStop() throws Exception {
         // given
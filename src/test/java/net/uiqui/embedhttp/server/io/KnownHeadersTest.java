@@ -0,0 +1,47 @@
+package net.uiqui.embedhttp.server.io;
+
+import net.uiqui.embedhttp.api.HttpHeader;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class KnownHeadersTest {
+    @ParameterizedTest
+    @MethodSource("headers")
+    void testFromBytes(HttpHeader header) {
+        // given
+        var canonical = header.getValue().getBytes(StandardCharsets.US_ASCII);
+        var lowerCase = header.getValue().toLowerCase(Locale.ROOT).getBytes(StandardCharsets.US_ASCII);
+        var upperCase = (" " + header.getValue().toUpperCase(Locale.ROOT) + ":").getBytes(StandardCharsets.US_ASCII);
+        // when
+        var canonicalResult = KnownHeaders.fromBytes(canonical, 0, canonical.length);
+        var lowerCaseResult = KnownHeaders.fromBytes(lowerCase, 0, lowerCase.length);
+        var upperCaseResult = KnownHeaders.fromBytes(upperCase, 1, upperCase.length - 1);
+        // then
+        assertThat(canonicalResult).isEqualTo(header);
+        assertThat(lowerCaseResult).isEqualTo(header);
+        assertThat(upperCaseResult).isEqualTo(header);
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"", "X-Request-Id", "Hosts", "Hos", "Gost", "Content-Lengths", "A-Very-Long-Custom-Header-Name"})
+    void testFromBytesWithUnknownName(String name) {
+        // given
+        var bytes = name.getBytes(StandardCharsets.US_ASCII);
+        // when
+        var result = KnownHeaders.fromBytes(bytes, 0, bytes.length);
+        // then
+        assertThat(result).isNull();
+    }
+
+    private static Stream<HttpHeader> headers() {
+        return Arrays.stream(HttpHeader.values());
+    }
+}
@@ -0,0 +1,92 @@
+package net.uiqui.embedhttp.server.io;
+
+import net.uiqui.embedhttp.api.HttpHeader;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RawHeadersTest {
+    @Test
+    void testGetWellKnownHeader() {
+        // given
+        var classUnderTest = new RawHeaders();
+        addLine(classUnderTest, "Host: localhost");
+        addLine(classUnderTest, "content-length: 11");
+        // when
+        var host = classUnderTest.get(HttpHeader.HOST);
+        var contentLength = classUnderTest.get(HttpHeader.CONTENT_LENGTH);
+        var connection = classUnderTest.get(HttpHeader.CONNECTION);
+        // then
+        assertThat(host).isEqualTo("localhost");
+        assertThat(contentLength).isEqualTo("11");
+        assertThat(connection).isNull();
+        assertThat(classUnderTest.get(HttpHeader.HOST)).isSameAs(host);
+    }
+
+    @Test
+    void testRepeatedHeaderKeepsLastValue() {
+        // given
+        var classUnderTest = new RawHeaders();
+        addLine(classUnderTest, "Accept: text/plain");
+        addLine(classUnderTest, "accept: application/json");
+        // when
+        var result = classUnderTest.get(HttpHeader.ACCEPT);
+        // then
+        assertThat(result).isEqualTo("application/json");
+        assertThat(classUnderTest.toMap()).hasSize(1)
+                .containsEntry("Accept", "application/json");
+    }
+
+    @Test
+    void testToMap() {
+        // given
+        var classUnderTest = new RawHeaders();
+        addLine(classUnderTest, "X-Request-Id: 123");
+        addLine(classUnderTest, "Host: localhost");
+        addLine(classUnderTest, "X-Empty:");
+        // when
+        var result = classUnderTest.toMap();
+        // then
+        assertThat(classUnderTest.size()).isEqualTo(3);
+        assertThat(List.copyOf(result.keySet())).containsExactly("X-Request-Id", "Host", "X-Empty");
+        assertThat(result).containsEntry("x-request-id", "123")
+                .containsEntry("host", "localhost")
+                .containsEntry("X-Empty", "");
+    }
+
+    @Test
+    void testManyLargeHeaders() {
+        // given
+        var classUnderTest = new RawHeaders();
+        var value = "v".repeat(100);
+        // when
+        for (var i = 0; i < 50; i++) {
+            addLine(classUnderTest, "X-Header-" + i + ": " + value + i);
+        }
+        addLine(classUnderTest, "Connection: close");
+        // then
+        var result = classUnderTest.toMap();
+        assertThat(result).hasSize(51)
+                .containsEntry("X-Header-0", value + 0)
+                .containsEntry("X-Header-49", value + 49);
+        assertThat(classUnderTest.get(HttpHeader.CONNECTION)).isEqualTo("close");
+    }
+
+    private static void addLine(RawHeaders rawHeaders, String line) {
+        // The line is placed in the middle of a larger buffer, like in the connection buffer
+        var bytes = ("GET / HTTP/1.1\r\n" + line + "\r\n").getBytes(StandardCharsets.UTF_8);
+        var start = 16;
+        var end = bytes.length - 2;
+        var colon = line.indexOf(':') + start;
+        var valueStart = colon + 1;
+
+        while (valueStart < end && bytes[valueStart] == ' ') {
+            valueStart++;
+        }
+
+        rawHeaders.add(bytes, start, colon, valueStart, end);
+    }
+}
@@ -1,9 +1,11 @@
 package net.uiqui.embedhttp.server.io;
 
+import net.uiqui.embedhttp.api.HttpHeader;
 import net.uiqui.embedhttp.api.HttpMethod;
 import org.junit.jupiter.api.Test;
 
 import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.net.ProtocolException;
 import java.nio.charset.StandardCharsets;
@@ -23,9 +25,9 @@ class RequestParserTest {
                 User-Agent: TestClient\r
                 \r
                 """;
-        var inputStream = new ByteArrayInputStream(rawRequest.getBytes(StandardCharsets.UTF_8));
+        var connectionBuffer = new ConnectionBuffer(new ByteArrayInputStream(rawRequest.getBytes(StandardCharsets.UTF_8)));
         // when
-        var result = classUnderTest.parseRequest(inputStream);
+        var result = classUnderTest.parseRequest(connectionBuffer);
         // then
         assertThat(result.getMethod()).isEqualTo(HttpMethod.GET);
         assertThat(result.getUrl()).isEqualTo("/test");
@@ -35,6 +37,28 @@ class RequestParserTest {
         assertThat(result.isKeepAlive()).isTrue();
     }
 
+    @Test
+    void testParseWellKnownHeaders() throws Exception {
+        // given
+        var rawRequest = """
+                GET /test HTTP/1.1\r
+                host: localhost\r
+                ACCEPT-ENCODING : gzip\r
+                X-Request-Id: 123\r
+                \r
+                """;
+        var connectionBuffer = new ConnectionBuffer(new ByteArrayInputStream(rawRequest.getBytes(StandardCharsets.UTF_8)));
+        // when
+        var result = classUnderTest.parseRequest(connectionBuffer);
+        // then
+        assertThat(result.header(HttpHeader.HOST)).isEqualTo("localhost");
+        assertThat(result.header(HttpHeader.ACCEPT_ENCODING)).isEqualTo("gzip");
+        assertThat(result.header(HttpHeader.CONNECTION)).isNull();
+        assertThat(result.getHeaders().keySet()).containsExactly("Host", "Accept-Encoding", "X-Request-Id");
+        assertThat(result.getHeaders().keySet().iterator().next()).isSameAs(HttpHeader.HOST.getValue());
+        assertThat(result.getHeaders()).containsEntry("x-request-id", "123");
+    }
+
     @Test
     void testParseValidRequestWithBody() throws Exception {
         // given
@@ -44,9 +68,9 @@ class RequestParserTest {
                 Content-Length: 11\r
                 \r
                 Hello World""";
-        var inputStream = new ByteArrayInputStream(rawRequest.getBytes(StandardCharsets.UTF_8));
+        var connectionBuffer = new ConnectionBuffer(new ByteArrayInputStream(rawRequest.getBytes(StandardCharsets.UTF_8)));
         // when
-        var result = classUnderTest.parseRequest(inputStream);
+        var result = classUnderTest.parseRequest(connectionBuffer);
         // then
         assertThat(result.getMethod()).isEqualTo(HttpMethod.POST);
         assertThat(result.getUrl()).isEqualTo("/submit");
@@ -71,9 +95,9 @@ class RequestParserTest {
                 0\r
                 \r
                 """;
-        var inputStream = new ByteArrayInputStream(rawRequest.getBytes(StandardCharsets.UTF_8));
+        var connectionBuffer = new ConnectionBuffer(new ByteArrayInputStream(rawRequest.getBytes(StandardCharsets.UTF_8)));
         // when
-        var result = classUnderTest.parseRequest(inputStream);
+        var result = classUnderTest.parseRequest(connectionBuffer);
         // then
         assertThat(result.getMethod()).isEqualTo(HttpMethod.POST);
         assertThat(result.getUrl()).isEqualTo("/upload");
@@ -83,6 +107,109 @@ class RequestParserTest {
         assertThat(result.isKeepAlive()).isTrue();
     }
 
+    @Test
+    void testParseBodyWithMultiByteCharacters() throws Exception {
+        // given
+        var rawRequest = """
+                POST /submit HTTP/1.1\r
+                Host: localhost\r
+                Content-Length: 5\r
+                \r
+                Olá!""";
+        var connectionBuffer = new ConnectionBuffer(new ByteArrayInputStream(rawRequest.getBytes(StandardCharsets.UTF_8)));
+        // when
+        var result = classUnderTest.parseRequest(connectionBuffer);
+        // then
+        assertThat(result.getBody()).isEqualTo("Olá!");
+    }
+
+    @Test
+    void testParseBinaryBody() throws Exception {
+        // given
+        var head = """
+                POST /upload HTTP/1.1\r
+                Host: localhost\r
+                Content-Type: application/octet-stream\r
+                Content-Length: 6\r
+                \r
+                """;
+        var body = new byte[]{0x0A, (byte) 0xC3, (byte) 0xFF, 0x00, (byte) 0x80, 0x0D};
+        var rawRequest = new ByteArrayOutputStream();
+        rawRequest.writeBytes(head.getBytes(StandardCharsets.UTF_8));
+        rawRequest.writeBytes(body);
+        var connectionBuffer = new ConnectionBuffer(new ByteArrayInputStream(rawRequest.toByteArray()));
+        // when
+        var result = classUnderTest.parseRequest(connectionBuffer);
+        // then
+        assertThat(result.getBodyBytes()).isEqualTo(body);
+    }
+
+    @Test
+    void testParseConsecutiveRequestsFromSameBuffer() throws Exception {
+        // given
+        var rawRequest = """
+                POST /first HTTP/1.1\r
+                Host: localhost\r
+                Content-Length: 5\r
+                \r
+                HelloGET /second HTTP/1.1\r
+                Host: localhost\r
+                \r
+                """;
+        var connectionBuffer = new ConnectionBuffer(new ByteArrayInputStream(rawRequest.getBytes(StandardCharsets.UTF_8)));
+        // when
+        var first = classUnderTest.parseRequest(connectionBuffer);
+        var second = classUnderTest.parseRequest(connectionBuffer);
+        // then
+        assertThat(first.getUrl()).isEqualTo("/first");
+        assertThat(first.getBody()).isEqualTo("Hello");
+        assertThat(second.getMethod()).isEqualTo(HttpMethod.GET);
+        assertThat(second.getUrl()).isEqualTo("/second");
+        assertThat(second.getBody()).isEmpty();
+    }
+
+    @Test
+    void testParseStreamingRequestBody() throws Exception {
+        // given
+        var rawRequest = """
+                POST /upload HTTP/1.1\r
+                Host: localhost\r
+                Content-Length: 11\r
+                \r
+                Hello WorldGET /next HTTP/1.1\r
+                Host: localhost\r
+                \r
+                """;
+        var connectionBuffer = new ConnectionBuffer(new ByteArrayInputStream(rawRequest.getBytes(StandardCharsets.UTF_8)));
+        // when
+        var result = classUnderTest.parseRequestHead(connectionBuffer);
+        classUnderTest.parseRequestBody(connectionBuffer, result, true);
+        var body = result.getBodyStream().readAllBytes();
+        var next = classUnderTest.parseRequest(connectionBuffer);
+        // then
+        assertThat(result.isBodyStreamed()).isTrue();
+        assertThat(new String(body, StandardCharsets.UTF_8)).isEqualTo("Hello World");
+        assertThat(next.getUrl()).isEqualTo("/next");
+    }
+
+    @Test
+    void testStreamingRequestBodyIgnoresMaxBodySize() throws Exception {
+        // given
+        var contentLength = 10 * 1024 * 1024 + 1; // 10MB + 1 byte
+        var rawRequest = "POST /upload HTTP/1.1\r\n" +
+                "Host: localhost\r\n" +
+                "Content-Length: " + contentLength + "\r\n" +
+                "\r\n" +
+                "X".repeat(contentLength);
+        var connectionBuffer = new ConnectionBuffer(new ByteArrayInputStream(rawRequest.getBytes(StandardCharsets.UTF_8)));
+        // when
+        var result = classUnderTest.parseRequestHead(connectionBuffer);
+        classUnderTest.parseRequestBody(connectionBuffer, result, true);
+        result.getBodyStream().skipNBytes(contentLength);
+        // then
+        assertThat(result.getBodyStream().read()).isEqualTo(-1);
+    }
+
     @Test
     void testKeepAliveHeader() throws Exception {
         // given
@@ -92,9 +219,9 @@ class RequestParserTest {
                 Connection: keep-alive\r
                 \r
                 """;
-        var inputStream = new ByteArrayInputStream(rawRequest.getBytes(StandardCharsets.UTF_8));
+        var connectionBuffer = new ConnectionBuffer(new ByteArrayInputStream(rawRequest.getBytes(StandardCharsets.UTF_8)));
         // when
-        var result = classUnderTest.parseRequest(inputStream);
+        var result = classUnderTest.parseRequest(connectionBuffer);
         // then
         assertThat(result.getMethod()).isEqualTo(HttpMethod.GET);
         assertThat(result.getUrl()).isEqualTo("/test");
@@ -113,9 +240,9 @@ class RequestParserTest {
                 Connection: close\r
                 \r
                 """;
-        var inputStream = new ByteArrayInputStream(rawRequest.getBytes(StandardCharsets.UTF_8));
+        var connectionBuffer = new ConnectionBuffer(new ByteArrayInputStream(rawRequest.getBytes(StandardCharsets.UTF_8)));
         // when
-        var result = classUnderTest.parseRequest(inputStream);
+        var result = classUnderTest.parseRequest(connectionBuffer);
         // then
         assertThat(result.getMethod()).isEqualTo(HttpMethod.GET);
         assertThat(result.getUrl()).isEqualTo("/test");
@@ -129,10 +256,10 @@ class RequestParserTest {
     void testParseInvalidRequestLine() {
         // given
         var rawRequest = "INVALID_REQUEST\r\n";
-        var inputStream = new ByteArrayInputStream(rawRequest.getBytes(StandardCharsets.UTF_8));
+        var connectionBuffer = new ConnectionBuffer(new ByteArrayInputStream(rawRequest.getBytes(StandardCharsets.UTF_8)));
         // when
         var result = catchThrowable(() ->
-                classUnderTest.parseRequest(inputStream)
+                classUnderTest.parseRequest(connectionBuffer)
         );
         // then
         assertThat(result).isInstanceOf(ProtocolException.class);
@@ -146,10 +273,10 @@ class RequestParserTest {
                 InvalidHeader\r
                 \r
                 """;
-        var inputStream = new ByteArrayInputStream(rawRequest.getBytes(StandardCharsets.UTF_8));
+        var connectionBuffer = new ConnectionBuffer(new ByteArrayInputStream(rawRequest.getBytes(StandardCharsets.UTF_8)));
         // when
         var result = catchThrowable(() ->
-                classUnderTest.parseRequest(inputStream)
+                classUnderTest.parseRequest(connectionBuffer)
         );
         // then
         assertThat(result).isInstanceOf(ProtocolException.class);
@@ -163,10 +290,10 @@ class RequestParserTest {
                 "Host: localhost\r\n" +
                 "Content-Length: " + contentLength + "\r\n" +
                 "\r\n";
-        var inputStream = new ByteArrayInputStream(rawRequest.getBytes(StandardCharsets.UTF_8));
+        var connectionBuffer = new ConnectionBuffer(new ByteArrayInputStream(rawRequest.getBytes(StandardCharsets.UTF_8)));
         // when
         var result = catchThrowable(() ->
-                classUnderTest.parseRequest(inputStream)
+                classUnderTest.parseRequest(connectionBuffer)
         );
         // then
         assertThat(result).isInstanceOf(ProtocolException.class);
@@ -174,6 +301,38 @@ class RequestParserTest {
         assertThat(result).hasMessageContaining(String.valueOf(contentLength));
     }
 
+    @Test
+    void testIsBodyTooLargeWithoutReadingBody() throws Exception {
+        // given
+        var rawRequest = "PUT /upload HTTP/1.1\r\n" +
+                "Host: localhost\r\n" +
+                "Content-Length: " + 11 * 1024 * 1024 + "\r\n" +
+                "Expect: 100-continue\r\n" +
+                "\r\n";
+        var connectionBuffer = new ConnectionBuffer(new ByteArrayInputStream(rawRequest.getBytes(StandardCharsets.UTF_8)));
+        var request = classUnderTest.parseRequestHead(connectionBuffer);
+        // when
+        var result = classUnderTest.isBodyTooLarge(request);
+        // then
+        assertThat(result).isTrue();
+        assertThat(request.header(HttpHeader.EXPECT)).isEqualTo("100-continue");
+    }
+
+    @Test
+    void testIsBodyTooLargeWhenBodyIsWithinLimit() throws Exception {
+        // given
+        var rawRequest = "PUT /upload HTTP/1.1\r\n" +
+                "Host: localhost\r\n" +
+                "Content-Length: " + 10 * 1024 * 1024 + "\r\n" +
+                "\r\n";
+        var connectionBuffer = new ConnectionBuffer(new ByteArrayInputStream(rawRequest.getBytes(StandardCharsets.UTF_8)));
+        var request = classUnderTest.parseRequestHead(connectionBuffer);
+        // when
+        var result = classUnderTest.isBodyTooLarge(request);
+        // then
+        assertThat(result).isFalse();
+    }
+
     @Test
     void testAcceptRequestBodyAtMaxSize() throws Exception {
         // given
@@ -184,9 +343,9 @@ class RequestParserTest {
                 "Content-Length: " + contentLength + "\r\n" +
                 "\r\n" +
                 body;
-        var inputStream = new ByteArrayInputStream(rawRequest.getBytes(StandardCharsets.UTF_8));
+        var connectionBuffer = new ConnectionBuffer(new ByteArrayInputStream(rawRequest.getBytes(StandardCharsets.UTF_8)));
         // when
-        var result = classUnderTest.parseRequest(inputStream);
+        var result = classUnderTest.parseRequest(connectionBuffer);
         // then
         assertThat(result.getMethod()).isEqualTo(HttpMethod.POST);
         assertThat(result.getBody()).hasSize(contentLength);
@@ -202,10 +361,10 @@ class RequestParserTest {
                 "Transfer-Encoding: chunked\r\n" +
                 "\r\n" +
                 hexChunkSize + "\r\n";
-        var inputStream = new ByteArrayInputStream(rawRequest.getBytes(StandardCharsets.UTF_8));
+        var connectionBuffer = new ConnectionBuffer(new ByteArrayInputStream(rawRequest.getBytes(StandardCharsets.UTF_8)));
         // when
         var result = catchThrowable(() ->
-                classUnderTest.parseRequest(inputStream)
+                classUnderTest.parseRequest(connectionBuffer)
         );
         // then
         assertThat(result).isInstanceOf(ProtocolException.class);
@@ -227,9 +386,9 @@ class RequestParserTest {
                 body + "\r\n" +
                 "0\r\n" +
                 "\r\n";
-        var inputStream = new ByteArrayInputStream(rawRequest.getBytes(StandardCharsets.UTF_8));
+        var connectionBuffer = new ConnectionBuffer(new ByteArrayInputStream(rawRequest.getBytes(StandardCharsets.UTF_8)));
         // when
-        var result = classUnderTest.parseRequest(inputStream);
+        var result = classUnderTest.parseRequest(connectionBuffer);
         // then
         assertThat(result.getMethod()).isEqualTo(HttpMethod.POST);
         assertThat(result.getBody()).hasSize(chunkSize);
@@ -244,10 +403,10 @@ class RequestParserTest {
             builder.append("Header-").append(i).append(": value\r\n");
         }
         builder.append("\r\n");
-        var inputStream = new ByteArrayInputStream(builder.toString().getBytes(StandardCharsets.UTF_8));
+        var connectionBuffer = new ConnectionBuffer(new ByteArrayInputStream(builder.toString().getBytes(StandardCharsets.UTF_8)));
         // when
         var result = catchThrowable(() ->
-                classUnderTest.parseRequest(inputStream)
+                classUnderTest.parseRequest(connectionBuffer)
         );
         // then
         assertThat(result).isInstanceOf(ProtocolException.class);
@@ -264,9 +423,9 @@ class RequestParserTest {
             builder.append("Header-").append(i).append(": value\r\n");
         }
         builder.append("\r\n");
-        var inputStream = new ByteArrayInputStream(builder.toString().getBytes(StandardCharsets.UTF_8));
+        var connectionBuffer = new ConnectionBuffer(new ByteArrayInputStream(builder.toString().getBytes(StandardCharsets.UTF_8)));
         // when
-        var result = classUnderTest.parseRequest(inputStream);
+        var result = classUnderTest.parseRequest(connectionBuffer);
         // then
         assertThat(result.getMethod()).isEqualTo(HttpMethod.GET);
         assertThat(result.getHeaders()).hasSize(100);
@@ -279,10 +438,10 @@ class RequestParserTest {
         var rawRequest = "GET /test HTTP/1.1\r\n" +
                 "Large-Header: " + headerValue + "\r\n" +
                 "\r\n";
-        var inputStream = new ByteArrayInputStream(rawRequest.getBytes(StandardCharsets.UTF_8));
+        var connectionBuffer = new ConnectionBuffer(new ByteArrayInputStream(rawRequest.getBytes(StandardCharsets.UTF_8)));
         // when
         var result = catchThrowable(() ->
-                classUnderTest.parseRequest(inputStream)
+                classUnderTest.parseRequest(connectionBuffer)
         );
         // then
         assertThat(result).isInstanceOf(ProtocolException.class);
@@ -297,14 +456,92 @@ class RequestParserTest {
         var rawRequest = "GET /test HTTP/1.1\r\n" +
                 "Large-Header: " + headerValue + "\r\n" +
                 "\r\n";
-        var inputStream = new ByteArrayInputStream(rawRequest.getBytes(StandardCharsets.UTF_8));
+        var connectionBuffer = new ConnectionBuffer(new ByteArrayInputStream(rawRequest.getBytes(StandardCharsets.UTF_8)));
         // when
-        var result = classUnderTest.parseRequest(inputStream);
+        var result = classUnderTest.parseRequest(connectionBuffer);
         // then
         assertThat(result.getMethod()).isEqualTo(HttpMethod.GET);
         assertThat(result.getHeaders()).containsKey("Large-Header");
     }
 
+    @Test
+    void testRejectRequestLineTooLarge() {
+        // given
+        var rawRequest = "GET /" + "x".repeat(8192) + " HTTP/1.1\r\n" +
+                "Host: localhost\r\n" +
+                "\r\n";
+        var connectionBuffer = new ConnectionBuffer(new ByteArrayInputStream(rawRequest.getBytes(StandardCharsets.UTF_8)));
+        // when
+        var result = catchThrowable(() ->
+                classUnderTest.parseRequest(connectionBuffer)
+        );
+        // then
+        assertThat(result).isInstanceOf(ProtocolException.class);
+        assertThat(result).hasMessageContaining("Request line too large");
+    }
+
+    @Test
+    void testRejectInvalidContentLength() {
+        // given
+        var rawRequest = """
+                POST /submit HTTP/1.1\r
+                Host: localhost\r
+                Content-Length: eleven\r
+                \r
+                Hello World""";
+        var connectionBuffer = new ConnectionBuffer(new ByteArrayInputStream(rawRequest.getBytes(StandardCharsets.UTF_8)));
+        // when
+        var result = catchThrowable(() ->
+                classUnderTest.parseRequest(connectionBuffer)
+        );
+        // then
+        assertThat(result).isInstanceOf(ProtocolException.class);
+        assertThat(result).hasMessageContaining("Invalid Content-Length");
+    }
+
+    @Test
+    void testRejectInvalidChunkSize() {
+        // given
+        var rawRequest = """
+                POST /upload HTTP/1.1\r
+                Host: localhost\r
+                Transfer-Encoding: chunked\r
+                \r
+                XYZ\r
+                Hello\r
+                0\r
+                \r
+                """;
+        var connectionBuffer = new ConnectionBuffer(new ByteArrayInputStream(rawRequest.getBytes(StandardCharsets.UTF_8)));
+        // when
+        var result = catchThrowable(() ->
+                classUnderTest.parseRequest(connectionBuffer)
+        );
+        // then
+        assertThat(result).isInstanceOf(ProtocolException.class);
+        assertThat(result).hasMessageContaining("Invalid chunk size");
+    }
+
+    @Test
+    void testParseChunkSizeWithExtension() throws Exception {
+        // given
+        var rawRequest = """
+                POST /upload HTTP/1.1\r
+                Host: localhost\r
+                Transfer-Encoding: chunked\r
+                \r
+                5;name=value\r
+                Hello\r
+                0\r
+                \r
+                """;
+        var connectionBuffer = new ConnectionBuffer(new ByteArrayInputStream(rawRequest.getBytes(StandardCharsets.UTF_8)));
+        // when
+        var result = classUnderTest.parseRequest(connectionBuffer);
+        // then
+        assertThat(result.getBody()).isEqualTo("Hello");
+    }
+
     @Test
     void testAcceptHttp10Version() throws Exception {
         // given
@@ -313,12 +550,13 @@ class RequestParserTest {
                 Host: localhost\r
                 \r
                 """;
-        var inputStream = new ByteArrayInputStream(rawRequest.getBytes(StandardCharsets.UTF_8));
+        var connectionBuffer = new ConnectionBuffer(new ByteArrayInputStream(rawRequest.getBytes(StandardCharsets.UTF_8)));
         // when
-        var result = classUnderTest.parseRequest(inputStream);
+        var result = classUnderTest.parseRequest(connectionBuffer);
         // then
         assertThat(result.getMethod()).isEqualTo(HttpMethod.GET);
         assertThat(result.getUrl()).isEqualTo("/test");
+        assertThat(result.getVersion()).isEqualTo(HttpVersion.VERSION_1_0);
     }
 
     @Test
@@ -329,12 +567,13 @@ class RequestParserTest {
                 Host: localhost\r
                 \r
                 """;
-        var inputStream = new ByteArrayInputStream(rawRequest.getBytes(StandardCharsets.UTF_8));
+        var connectionBuffer = new ConnectionBuffer(new ByteArrayInputStream(rawRequest.getBytes(StandardCharsets.UTF_8)));
         // when
-        var result = classUnderTest.parseRequest(inputStream);
+        var result = classUnderTest.parseRequest(connectionBuffer);
         // then
         assertThat(result.getMethod()).isEqualTo(HttpMethod.GET);
         assertThat(result.getUrl()).isEqualTo("/test");
+        assertThat(result.getVersion()).isEqualTo(HttpVersion.VERSION_1_1);
     }
 
     @Test
@@ -345,10 +584,10 @@ class RequestParserTest {
                 Host: localhost\r
                 \r
                 """;
-        var inputStream = new ByteArrayInputStream(rawRequest.getBytes(StandardCharsets.UTF_8));
+        var connectionBuffer = new ConnectionBuffer(new ByteArrayInputStream(rawRequest.getBytes(StandardCharsets.UTF_8)));
         // when
         var result = catchThrowable(() ->
-                classUnderTest.parseRequest(inputStream)
+                classUnderTest.parseRequest(connectionBuffer)
         );
         // then
         assertThat(result).isInstanceOf(ProtocolException.class);
@@ -364,10 +603,10 @@ class RequestParserTest {
                 Host: localhost\r
                 \r
                 """;
-        var inputStream = new ByteArrayInputStream(rawRequest.getBytes(StandardCharsets.UTF_8));
+        var connectionBuffer = new ConnectionBuffer(new ByteArrayInputStream(rawRequest.getBytes(StandardCharsets.UTF_8)));
         // when
         var result = catchThrowable(() ->
-                classUnderTest.parseRequest(inputStream)
+                classUnderTest.parseRequest(connectionBuffer)
         );
         // then
         assertThat(result).isInstanceOf(ProtocolException.class);
@@ -383,10 +622,10 @@ class RequestParserTest {
                 Host: localhost\r
                 \r
                 """;
-        var inputStream = new ByteArrayInputStream(rawRequest.getBytes(StandardCharsets.UTF_8));
+        var connectionBuffer = new ConnectionBuffer(new ByteArrayInputStream(rawRequest.getBytes(StandardCharsets.UTF_8)));
         // when
         var result = catchThrowable(() ->
-                classUnderTest.parseRequest(inputStream)
+                classUnderTest.parseRequest(connectionBuffer)
         );
         // then
         assertThat(result).isInstanceOf(ProtocolException.class);
@@ -402,10 +641,10 @@ class RequestParserTest {
                 Host: localhost\r
                 \r
                 """;
-        var inputStream = new ByteArrayInputStream(rawRequest.getBytes(StandardCharsets.UTF_8));
+        var connectionBuffer = new ConnectionBuffer(new ByteArrayInputStream(rawRequest.getBytes(StandardCharsets.UTF_8)));
         // when
         var result = catchThrowable(() ->
-                classUnderTest.parseRequest(inputStream)
+                classUnderTest.parseRequest(connectionBuffer)
         );
         // then
         assertThat(result).isInstanceOf(ProtocolException.class);
@@ -419,10 +658,10 @@ class RequestParserTest {
                 Host: localhost\r
                 \r
                 """;
-        var inputStream = new ByteArrayInputStream(rawRequest.getBytes(StandardCharsets.UTF_8));
+        var connectionBuffer = new ConnectionBuffer(new ByteArrayInputStream(rawRequest.getBytes(StandardCharsets.UTF_8)));
         // when
         var result = catchThrowable(() ->
-                classUnderTest.parseRequest(inputStream)
+                classUnderTest.parseRequest(connectionBuffer)
         );
         // then
         assertThat(result).isInstanceOf(ProtocolException.class);
@@ -437,10 +676,10 @@ class RequestParserTest {
                 Host: localhost\r
                 \r
                 """;
-        var inputStream = new ByteArrayInputStream(rawRequest.getBytes(StandardCharsets.UTF_8));
+        var connectionBuffer = new ConnectionBuffer(new ByteArrayInputStream(rawRequest.getBytes(StandardCharsets.UTF_8)));
         // when
         var result = catchThrowable(() ->
-                classUnderTest.parseRequest(inputStream)
+                classUnderTest.parseRequest(connectionBuffer)
         );
         // then
         assertThat(result).isInstanceOf(ProtocolException.class);
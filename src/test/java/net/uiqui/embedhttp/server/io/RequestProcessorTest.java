@@ -14,13 +14,10 @@ import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
-import java.net.Socket;
 import java.nio.charset.StandardCharsets;
 import java.time.ZonedDateTime;
 
 import static org.assertj.core.api.Assertions.assertThat;
-import static org.mockito.BDDMockito.given;
-import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.mockStatic;
 
 class RequestProcessorTest {
@@ -45,7 +42,7 @@ class RequestProcessorTest {
     void setUp() {
         mockedNow = mockStatic(Now.class);
         var now = ZonedDateTime.parse("2023-10-01T12:00:00.100Z");
-        mockedNow.when(Now::asZonedDateTime).thenReturn(now);
+        mockedNow.when(Now::currentTimeMillis).thenReturn(now.toInstant().toEpochMilli());
     }
 
     @AfterEach
@@ -65,14 +62,13 @@ class RequestProcessorTest {
                         """
         );
         var outputStream = new ByteArrayOutputStream();
-        var clientSocket = buildClientSocket(inputStream, outputStream);
         // when
-        classUnderTest.process(clientSocket);
+        classUnderTest.process(new ConnectionBuffer(inputStream), outputStream);
         // then
         var expected = """
                 HTTP/1.1 200 OK\r
-                Content-Length: 11\r
                 Content-Type: text/plain\r
+                Content-Length: 11\r
                 Date: Sun, 01 Oct 2023 12:00:00 GMT\r
                 \r
                 Hello World""";
@@ -80,6 +76,49 @@ class RequestProcessorTest {
         assertThat(result).isEqualTo(expected);
     }
 
+    @Test
+    void testProcessPipelinedRequests() throws IOException {
+        // given
+        var inputStream = buildInputStream(
+                """
+                        GET /test HTTP/1.1\r
+                        Host: localhost\r
+                        \r
+                        GET /notFound HTTP/1.1\r
+                        Host: localhost\r
+                        \r
+                        GET /test HTTP/1.1\r
+                        Host: localhost\r
+                        Connection: close\r
+                        \r
+                        """
+        );
+        var outputStream = new ByteArrayOutputStream();
+        // when
+        var result = classUnderTest.process(new ConnectionBuffer(inputStream), outputStream);
+        // then
+        var expected = """
+                HTTP/1.1 200 OK\r
+                Content-Type: text/plain\r
+                Content-Length: 11\r
+                Date: Sun, 01 Oct 2023 12:00:00 GMT\r
+                \r
+                Hello WorldHTTP/1.1 404 Not Found\r
+                Content-Type: text/plain\r
+                Content-Length: 19\r
+                Date: Sun, 01 Oct 2023 12:00:00 GMT\r
+                \r
+                Not Found:/notFoundHTTP/1.1 200 OK\r
+                Content-Type: text/plain\r
+                Content-Length: 11\r
+                Connection: close\r
+                Date: Sun, 01 Oct 2023 12:00:00 GMT\r
+                \r
+                Hello World""";
+        assertThat(result).isFalse();
+        assertThat(outputStream.toString()).isEqualTo(expected);
+    }
+
     @Test
     void testProcessWithInvalidRequest() throws IOException {
         // given
@@ -89,15 +128,14 @@ class RequestProcessorTest {
                         """
         );
         var outputStream = new ByteArrayOutputStream();
-        var clientSocket = buildClientSocket(inputStream, outputStream);
         // when
-        classUnderTest.process(clientSocket);
+        classUnderTest.process(new ConnectionBuffer(inputStream), outputStream);
         // then
         var expected = """
                 HTTP/1.1 400 Bad Request\r
                 Connection: close\r
-                Content-Length: 50\r
                 Content-Type: text/plain\r
+                Content-Length: 50\r
                 Date: Sun, 01 Oct 2023 12:00:00 GMT\r
                 \r
                 Bad Request: Invalid request line: POST /noContent""";
@@ -117,14 +155,13 @@ class RequestProcessorTest {
                         """
         );
         var outputStream = new ByteArrayOutputStream();
-        var clientSocket = buildClientSocket(inputStream, outputStream);
         // when
-        classUnderTest.process(clientSocket);
+        classUnderTest.process(new ConnectionBuffer(inputStream), outputStream);
         // then
         var expected = """
                 HTTP/1.1 404 Not Found\r
-                Content-Length: 19\r
                 Content-Type: text/plain\r
+                Content-Length: 19\r
                 Date: Sun, 01 Oct 2023 12:00:00 GMT\r
                 \r
                 Not Found:/notFound""";
@@ -144,14 +181,13 @@ class RequestProcessorTest {
                         """
         );
         var outputStream = new ByteArrayOutputStream();
-        var clientSocket = buildClientSocket(inputStream, outputStream);
         // when
-        classUnderTest.process(clientSocket);
+        classUnderTest.process(new ConnectionBuffer(inputStream), outputStream);
         // then
         var expected = """
                 HTTP/1.1 500 Internal Server Error\r
-                Content-Length: 34\r
                 Content-Type: text/plain\r
+                Content-Length: 34\r
                 Date: Sun, 01 Oct 2023 12:00:00 GMT\r
                 \r
                 Unexpected error executing request""";
@@ -172,15 +208,14 @@ class RequestProcessorTest {
                         """
         );
         var outputStream = new ByteArrayOutputStream();
-        var clientSocket = buildClientSocket(inputStream, outputStream);
         // when
-        classUnderTest.process(clientSocket);
+        classUnderTest.process(new ConnectionBuffer(inputStream), outputStream);
         // then
         var expected = """
                 HTTP/1.1 200 OK\r
-                Connection: close\r
-                Content-Length: 11\r
                 Content-Type: text/plain\r
+                Content-Length: 11\r
+                Connection: close\r
                 Date: Sun, 01 Oct 2023 12:00:00 GMT\r
                 \r
                 Hello World""";
@@ -201,14 +236,13 @@ class RequestProcessorTest {
                         """
         );
         var outputStream = new ByteArrayOutputStream();
-        var clientSocket = buildClientSocket(inputStream, outputStream);
         // when
-        classUnderTest.process(clientSocket);
+        classUnderTest.process(new ConnectionBuffer(inputStream), outputStream);
         // then
         var expected = """
                 HTTP/1.1 200 OK\r
-                Content-Length: 11\r
                 Content-Type: text/plain\r
+                Content-Length: 11\r
                 Date: Sun, 01 Oct 2023 12:00:00 GMT\r
                 \r
                 Hello World""";
@@ -216,13 +250,6 @@ class RequestProcessorTest {
         assertThat(result).isEqualTo(expected);
     }
 
-    private static Socket buildClientSocket(InputStream inputStream, ByteArrayOutputStream outputStream) throws IOException {
-        var clientSocket = mock(Socket.class);
-        given(clientSocket.getInputStream()).willReturn(inputStream);
-        given(clientSocket.getOutputStream()).willReturn(outputStream);
-        return clientSocket;
-    }
-
     private static InputStream buildInputStream(String rawRequest) {
         return new ByteArrayInputStream(rawRequest.getBytes(StandardCharsets.UTF_8));
     }
@@ -0,0 +1,47 @@
+package net.uiqui.embedhttp.server.io;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ResponseBufferTest {
+    private final ResponseBuffer classUnderTest = new ResponseBuffer();
+
+    @Test
+    void testWriteTextWithAsciiValue() {
+        // when
+        classUnderTest.writeText("attachment; filename=\"report.pdf\"");
+        // then
+        var result = new String(classUnderTest.toByteArray(), StandardCharsets.US_ASCII);
+        assertThat(result).isEqualTo("attachment; filename=\"report.pdf\"");
+    }
+
+    @Test
+    void testWriteTextWithNonAsciiValue() {
+        // given
+        var value = "attachment; filename=\"relatório ção 💡.pdf\"";
+        // when
+        classUnderTest.writeAscii("Content-Disposition: ")
+                .writeText(value)
+                .writeAscii("\r\n");
+        // then
+        var result = new String(classUnderTest.toByteArray(), StandardCharsets.UTF_8);
+        assertThat(result).isEqualTo("Content-Disposition: " + value + "\r\n");
+    }
+
+    @Test
+    void testWriteToResetsBuffer() throws IOException {
+        // given
+        var outputStream = new ByteArrayOutputStream();
+        classUnderTest.writeAscii("Hello ").writeInt(42);
+        // when
+        classUnderTest.writeTo(outputStream);
+        // then
+        assertThat(outputStream.toString(StandardCharsets.US_ASCII)).isEqualTo("Hello 42");
+        assertThat(classUnderTest.size()).isZero();
+    }
+}
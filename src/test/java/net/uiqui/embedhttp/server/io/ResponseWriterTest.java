@@ -11,7 +11,10 @@ import org.mockito.MockedStatic;
 
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
+import java.nio.charset.StandardCharsets;
 import java.time.ZonedDateTime;
+import java.util.Arrays;
+import java.util.List;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.Mockito.mockStatic;
@@ -25,7 +28,7 @@ class ResponseWriterTest {
     void setUp() {
         mockedNow = mockStatic(Now.class);
         var now = ZonedDateTime.parse("2023-10-01T12:00:00.100Z");
-        mockedNow.when(Now::asZonedDateTime).thenReturn(now);
+        mockedNow.when(Now::currentTimeMillis).thenReturn(now.toInstant().toEpochMilli());
     }
 
     @AfterEach
@@ -50,6 +53,17 @@ class ResponseWriterTest {
         assertThat(result).isEqualTo(expected);
     }
 
+    @Test
+    void testWriteContinue() throws IOException {
+        // given
+        var outputStream = new ByteArrayOutputStream();
+        // when
+        classUnderTest.writeContinue(outputStream);
+        // then
+        var result = outputStream.toString();
+        assertThat(result).isEqualTo("HTTP/1.1 100 Continue\r\n\r\n");
+    }
+
     @Test
     void testWriteResponseWithBody() throws IOException {
         // given
@@ -60,8 +74,241 @@ class ResponseWriterTest {
         // then
         var expected = """
                 HTTP/1.1 200 OK\r
+                Content-Type: text/plain\r
+                Content-Length: 11\r
+                Date: Sun, 01 Oct 2023 12:00:00 GMT\r
+                \r
+                Hello World""";
+        var result = outputStream.toString();
+        assertThat(result).isEqualTo(expected);
+    }
+
+    @Test
+    void testWriteResponsesInOrder() throws IOException {
+        // given
+        var responses = List.of(
+                buildResponse(HttpStatusCode.OK, "Hello World"),
+                buildResponse(HttpStatusCode.NO_CONTENT, null)
+        );
+        var outputStream = new ByteArrayOutputStream();
+        // when
+        classUnderTest.writeResponses(outputStream, responses);
+        // then
+        var expected = """
+                HTTP/1.1 200 OK\r
+                Content-Type: text/plain\r
+                Content-Length: 11\r
+                Date: Sun, 01 Oct 2023 12:00:00 GMT\r
+                \r
+                Hello WorldHTTP/1.1 204 No Content\r
+                Date: Sun, 01 Oct 2023 12:00:00 GMT\r
+                \r
+                """;
+        var result = outputStream.toString();
+        assertThat(result).isEqualTo(expected);
+    }
+
+    @Test
+    void testWriteResponseWithUTF8Body() throws IOException {
+        // given
+        var response = buildResponse(HttpStatusCode.OK, "Olá");
+        var outputStream = new ByteArrayOutputStream();
+        // when
+        classUnderTest.writeResponse(outputStream, response);
+        // then
+        var expected = """
+                HTTP/1.1 200 OK\r
+                Content-Type: text/plain\r
+                Content-Length: 4\r
+                Date: Sun, 01 Oct 2023 12:00:00 GMT\r
+                \r
+                Olá""";
+        var result = outputStream.toString(StandardCharsets.UTF_8);
+        assertThat(result).isEqualTo(expected);
+    }
+
+    @Test
+    void testWriteResponseWithLargeBinaryBody() throws IOException {
+        // given
+        var body = new byte[ResponseWriter.MAX_BUFFERED_BODY_SIZE + 1];
+        Arrays.fill(body, (byte) 0xFF);
+        var response = new HttpResponseImpl(HttpStatusCode.OK);
+        response.setBody("application/octet-stream", body);
+        var outputStream = new ByteArrayOutputStream();
+        // when
+        classUnderTest.writeResponse(outputStream, response);
+        // then
+        var head = """
+                HTTP/1.1 200 OK\r
+                Content-Type: application/octet-stream\r
+                Content-Length: 16385\r
+                Date: Sun, 01 Oct 2023 12:00:00 GMT\r
+                \r
+                """.getBytes(StandardCharsets.UTF_8);
+        var result = outputStream.toByteArray();
+        assertThat(Arrays.copyOfRange(result, 0, head.length)).isEqualTo(head);
+        assertThat(Arrays.copyOfRange(result, head.length, result.length)).isEqualTo(body);
+    }
+
+    @Test
+    void testWriteChunkedResponse() throws IOException {
+        // given
+        var response = new HttpResponseImpl(HttpStatusCode.OK);
+        response.setBody(ContentType.TEXT_PLAIN, stream -> {
+            stream.write("Hello".getBytes(StandardCharsets.UTF_8));
+            stream.flush();
+            stream.write(" World".getBytes(StandardCharsets.UTF_8));
+        });
+        var outputStream = new ByteArrayOutputStream();
+        // when
+        classUnderTest.writeResponse(outputStream, response);
+        // then
+        var expected = """
+                HTTP/1.1 200 OK\r
+                Content-Type: text/plain\r
+                Transfer-Encoding: chunked\r
+                Date: Sun, 01 Oct 2023 12:00:00 GMT\r
+                \r
+                5\r
+                Hello\r
+                6\r
+                 World\r
+                0\r
+                \r
+                """;
+        var result = outputStream.toString();
+        assertThat(result).isEqualTo(expected);
+    }
+
+    @Test
+    void testWriteFixedLengthStreamedResponse() throws IOException {
+        // given
+        var response = new HttpResponseImpl(HttpStatusCode.OK);
+        response.setBody(ContentType.TEXT_PLAIN, 11, stream -> stream.write("Hello World".getBytes(StandardCharsets.UTF_8)));
+        var outputStream = new ByteArrayOutputStream();
+        // when
+        classUnderTest.writeResponse(outputStream, response);
+        // then
+        var expected = """
+                HTTP/1.1 200 OK\r
+                Content-Type: text/plain\r
+                Content-Length: 11\r
+                Date: Sun, 01 Oct 2023 12:00:00 GMT\r
+                \r
+                Hello World""";
+        var result = outputStream.toString();
+        assertThat(result).isEqualTo(expected);
+    }
+
+    @Test
+    void testWriteStreamedResponseWithoutChunkedEncoding() throws IOException {
+        // given
+        var response = new HttpResponseImpl(HttpStatusCode.OK);
+        response.setBody(ContentType.TEXT_PLAIN, stream -> {
+            stream.write("Hello".getBytes(StandardCharsets.UTF_8));
+            stream.flush();
+            stream.write(" World".getBytes(StandardCharsets.UTF_8));
+        });
+        var outputStream = new ByteArrayOutputStream();
+        // when
+        classUnderTest.writeResponse(outputStream, response.withoutChunkedEncoding());
+        // then
+        var expected = """
+                HTTP/1.1 200 OK\r
+                Content-Type: text/plain\r
+                Connection: close\r
+                Date: Sun, 01 Oct 2023 12:00:00 GMT\r
+                \r
+                Hello World""";
+        var result = outputStream.toString();
+        assertThat(result).isEqualTo(expected);
+    }
+
+    @Test
+    void testWriteFrozenResponse() throws IOException {
+        // given
+        var response = buildResponse(HttpStatusCode.OK, "Hello World");
+        response.freeze();
+        var outputStream = new ByteArrayOutputStream();
+        // when
+        classUnderTest.writeResponses(outputStream, List.of(response, response.withConnectionClose()));
+        // then
+        var expected = """
+                HTTP/1.1 200 OK\r
+                Content-Type: text/plain\r
+                Content-Length: 11\r
+                Date: Sun, 01 Oct 2023 12:00:00 GMT\r
+                \r
+                Hello WorldHTTP/1.1 200 OK\r
+                Content-Type: text/plain\r
+                Content-Length: 11\r
+                Connection: close\r
+                Date: Sun, 01 Oct 2023 12:00:00 GMT\r
+                \r
+                Hello World""";
+        var result = outputStream.toString();
+        assertThat(result).isEqualTo(expected);
+    }
+
+    @Test
+    void testWriteResponseWithBodyOmitted() throws IOException {
+        // given
+        var response = buildResponse(HttpStatusCode.OK, "Hello World").withoutBody();
+        var outputStream = new ByteArrayOutputStream();
+        // when
+        classUnderTest.writeResponse(outputStream, response);
+        // then
+        var expected = """
+                HTTP/1.1 200 OK\r
+                Content-Type: text/plain\r
+                Content-Length: 11\r
+                Date: Sun, 01 Oct 2023 12:00:00 GMT\r
+                \r
+                """;
+        var result = outputStream.toString();
+        assertThat(result).isEqualTo(expected);
+    }
+
+    @Test
+    void testWriteStreamedResponseWithBodyOmitted() throws IOException {
+        // given
+        var response = new HttpResponseImpl(HttpStatusCode.OK);
+        response.setBody(ContentType.TEXT_PLAIN, 11, outputStream -> {
+            throw new IllegalStateException("The body must not be produced");
+        });
+        var outputStream = new ByteArrayOutputStream();
+        // when
+        classUnderTest.writeResponse(outputStream, response.withoutBody());
+        // then
+        var expected = """
+                HTTP/1.1 200 OK\r
+                Content-Type: text/plain\r
+                Content-Length: 11\r
+                Date: Sun, 01 Oct 2023 12:00:00 GMT\r
+                \r
+                """;
+        var result = outputStream.toString();
+        assertThat(result).isEqualTo(expected);
+    }
+
+    @Test
+    void testWriteFrozenResponseWithBodyOmitted() throws IOException {
+        // given
+        var response = buildResponse(HttpStatusCode.OK, "Hello World");
+        response.freeze();
+        var outputStream = new ByteArrayOutputStream();
+        // when
+        classUnderTest.writeResponses(outputStream, List.of(response.withoutBody(), response));
+        // then
+        var expected = """
+                HTTP/1.1 200 OK\r
+                Content-Type: text/plain\r
                 Content-Length: 11\r
+                Date: Sun, 01 Oct 2023 12:00:00 GMT\r
+                \r
+                HTTP/1.1 200 OK\r
                 Content-Type: text/plain\r
+                Content-Length: 11\r
                 Date: Sun, 01 Oct 2023 12:00:00 GMT\r
                 \r
                 Hello World""";
@@ -0,0 +1,311 @@
+package net.uiqui.embedhttp.server.nio;
+
+import net.uiqui.embedhttp.Router;
+import net.uiqui.embedhttp.api.ContentType;
+import net.uiqui.embedhttp.api.HttpMethod;
+import net.uiqui.embedhttp.api.HttpResponse;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.net.ConnectException;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.net.http.HttpClient;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.AssertionsForClassTypes.catchThrowable;
+
+class NioServerTest {
+    @Test
+    void testStartWithRandomPort() throws Exception {
+        // given
+        var classUnderTest = new NioServer(0, 10);
+        var router = Router.newRouter()
+                .get("/", req -> HttpResponse.ok()
+                        .setBody(ContentType.TEXT_PLAIN, "Hello World")
+                );
+        // when
+        var result = classUnderTest.start(router);
+        var url = "http://localhost:" + classUnderTest.getInstancePort() + "/";
+        var response = callEndpoint(url);
+        // then
+        assertThat(result).isTrue();
+        assertThat(classUnderTest.isRunning()).isTrue();
+        assertThat(response.statusCode()).isEqualTo(200);
+        assertThat(response.body()).isEqualTo("Hello World");
+    }
+
+    @Test
+    void testKeepAliveConnection() throws Exception {
+        // given
+        var classUnderTest = new NioServer(0, 10);
+        var router = Router.newRouter()
+                .post("/echo", req -> HttpResponse.ok()
+                        .setBody(ContentType.TEXT_PLAIN, req.getBody())
+                );
+        classUnderTest.start(router);
+        var url = "http://localhost:" + classUnderTest.getInstancePort() + "/echo";
+        // when
+        try (var client = HttpClient.newHttpClient()) {
+            for (var i = 0; i < 3; i++) {
+                var body = "Request " + i;
+                var request = java.net.http.HttpRequest.newBuilder()
+                        .uri(java.net.URI.create(url))
+                        .POST(java.net.http.HttpRequest.BodyPublishers.ofString(body))
+                        .build();
+                var response = client.send(request, java.net.http.HttpResponse.BodyHandlers.ofString());
+                // then
+                assertThat(response.statusCode()).isEqualTo(200);
+                assertThat(response.body()).isEqualTo(body);
+            }
+        }
+    }
+
+    @Test
+    void testPipelinedRequests() throws Exception {
+        // given
+        var classUnderTest = new NioServer(0, 10);
+        var router = Router.newRouter()
+                .get("/first", req -> HttpResponse.ok()
+                        .setBody(ContentType.TEXT_PLAIN, "First")
+                )
+                .get("/second", req -> HttpResponse.ok()
+                        .setBody(ContentType.TEXT_PLAIN, "Second")
+                );
+        classUnderTest.start(router);
+        var rawRequests = """
+                GET /first HTTP/1.1\r
+                Host: localhost\r
+                \r
+                GET /second HTTP/1.1\r
+                Host: localhost\r
+                Connection: close\r
+                \r
+                """;
+        // when
+        String result;
+        try (var socket = new Socket("localhost", classUnderTest.getInstancePort())) {
+            socket.getOutputStream().write(rawRequests.getBytes(StandardCharsets.UTF_8));
+            result = new String(socket.getInputStream().readAllBytes(), StandardCharsets.UTF_8);
+        }
+        // then
+        assertThat(result).startsWith("HTTP/1.1 200 OK");
+        assertThat(result.indexOf("\r\n\r\nFirst")).isPositive();
+        assertThat(result.indexOf("\r\n\r\nSecond")).isGreaterThan(result.indexOf("\r\n\r\nFirst"));
+    }
+
+    @Test
+    void testStreamingRequestBody() throws Exception {
+        // given
+        var classUnderTest = new NioServer(0, 10);
+        var router = Router.newRouter()
+                .withStreamingRoute(HttpMethod.POST, "/upload", req -> {
+                    try (var bodyStream = req.getBodyStream()) {
+                        var size = bodyStream.transferTo(OutputStream.nullOutputStream());
+                        return HttpResponse.ok()
+                                .setBody(ContentType.TEXT_PLAIN, String.valueOf(size));
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+        classUnderTest.start(router);
+        var url = "http://localhost:" + classUnderTest.getInstancePort() + "/upload";
+        var body = new byte[20 * 1024 * 1024]; // 20MB, above the maximum in-memory body size
+        // when
+        try (var client = HttpClient.newHttpClient()) {
+            var request = java.net.http.HttpRequest.newBuilder()
+                    .uri(java.net.URI.create(url))
+                    .POST(java.net.http.HttpRequest.BodyPublishers.ofByteArray(body))
+                    .build();
+            var response = client.send(request, java.net.http.HttpResponse.BodyHandlers.ofString());
+            // then
+            assertThat(response.statusCode()).isEqualTo(200);
+            assertThat(response.body()).isEqualTo(String.valueOf(body.length));
+        }
+    }
+
+    @Test
+    void testStreamingResponseBody() throws Exception {
+        // given
+        var classUnderTest = new NioServer(0, 10);
+        var router = Router.newRouter()
+                .get("/export", req -> HttpResponse.ok()
+                        .setBody(ContentType.TEXT_PLAIN, outputStream -> {
+                            for (var i = 0; i < 100_000; i++) {
+                                outputStream.write(("line," + i + "\n").getBytes(StandardCharsets.UTF_8));
+                            }
+                        })
+                );
+        classUnderTest.start(router);
+        var url = "http://localhost:" + classUnderTest.getInstancePort() + "/export";
+        // when
+        var response = callEndpoint(url);
+        // then
+        assertThat(response.statusCode()).isEqualTo(200);
+        assertThat(response.headers().firstValue("Transfer-Encoding").orElse(null)).isEqualTo("chunked");
+        assertThat(response.body()).startsWith("line,0\n");
+        assertThat(response.body()).endsWith("line,99999\n");
+    }
+
+    @Test
+    void testCloseConnectionWithIncompleteRequestHead() throws Exception {
+        // given
+        var classUnderTest = new NioServer(0, 10, 200);
+        var router = Router.newRouter()
+                .get("/", req -> HttpResponse.ok()
+                        .setBody(ContentType.TEXT_PLAIN, "Hello World")
+                );
+        classUnderTest.start(router);
+        // when
+        int result;
+        try (var socket = new Socket("localhost", classUnderTest.getInstancePort())) {
+            socket.setSoTimeout(10_000);
+            var outputStream = socket.getOutputStream();
+            for (var part : List.of("GET / HTTP/1.1\r\n", "Host: ", "localhost\r\n")) {
+                outputStream.write(part.getBytes(StandardCharsets.UTF_8));
+                Thread.sleep(100);
+            }
+            result = socket.getInputStream().read();
+        }
+        // then
+        assertThat(result).isEqualTo(-1);
+    }
+
+    @Test
+    void testRequestHeadWithBareLineFeeds() throws Exception {
+        // given
+        var classUnderTest = new NioServer(0, 10);
+        var router = Router.newRouter()
+                .get("/", req -> HttpResponse.ok()
+                        .setBody(ContentType.TEXT_PLAIN, "Hello World")
+                );
+        classUnderTest.start(router);
+        // when
+        String result;
+        try (var socket = new Socket("localhost", classUnderTest.getInstancePort())) {
+            socket.setSoTimeout(5_000);
+            socket.getOutputStream().write("GET / HTTP/1.1\nHost: localhost\nConnection: close\n\n".getBytes(StandardCharsets.UTF_8));
+            result = new String(socket.getInputStream().readAllBytes(), StandardCharsets.UTF_8);
+        }
+        // then
+        assertThat(result).startsWith("HTTP/1.1 200 OK");
+        assertThat(result).endsWith("Hello World");
+    }
+
+    @Test
+    void testCloseConnectionWhenClientStopsReading() throws Exception {
+        // given
+        var classUnderTest = new NioServer(0, 10, 200);
+        var handlerFinished = new CountDownLatch(1);
+        var chunk = new byte[8192];
+        var router = Router.newRouter()
+                .get("/endless", req -> HttpResponse.ok()
+                        .setBody(ContentType.TEXT_PLAIN, outputStream -> {
+                            try {
+                                while (true) {
+                                    outputStream.write(chunk);
+                                }
+                            } finally {
+                                handlerFinished.countDown();
+                            }
+                        })
+                );
+        classUnderTest.start(router);
+        // when
+        boolean result;
+        try (var socket = new Socket()) {
+            socket.setReceiveBufferSize(4096);
+            socket.connect(new InetSocketAddress("localhost", classUnderTest.getInstancePort()));
+            socket.getOutputStream().write("GET /endless HTTP/1.1\r\nHost: localhost\r\n\r\n".getBytes(StandardCharsets.UTF_8));
+            result = handlerFinished.await(5, TimeUnit.SECONDS);
+        }
+        // then
+        assertThat(result).isTrue();
+    }
+
+    @Test
+    void testKeepIdleConnectionWithinTimeout() throws Exception {
+        // given
+        var classUnderTest = new NioServer(0, 10, 5_000);
+        var router = Router.newRouter()
+                .get("/", req -> HttpResponse.ok()
+                        .setBody(ContentType.TEXT_PLAIN, "Hello World")
+                );
+        classUnderTest.start(router);
+        // when
+        String result;
+        try (var socket = new Socket("localhost", classUnderTest.getInstancePort())) {
+            socket.getOutputStream().write("GET / HTTP/1.1\r\n".getBytes(StandardCharsets.UTF_8));
+            Thread.sleep(1_500);
+            socket.getOutputStream().write("Host: localhost\r\nConnection: close\r\n\r\n".getBytes(StandardCharsets.UTF_8));
+            result = new String(socket.getInputStream().readAllBytes(), StandardCharsets.UTF_8);
+        }
+        // then
+        assertThat(result).startsWith("HTTP/1.1 200 OK");
+    }
+
+    @Test
+    void testStreamingResponseBodyOverHttp10() throws Exception {
+        // given
+        var classUnderTest = new NioServer(0, 10);
+        var router = Router.newRouter()
+                .get("/export", req -> HttpResponse.ok()
+                        .setBody(ContentType.TEXT_PLAIN, outputStream -> {
+                            for (var i = 0; i < 3; i++) {
+                                outputStream.write(("line," + i + "\n").getBytes(StandardCharsets.UTF_8));
+                                outputStream.flush();
+                            }
+                        })
+                );
+        classUnderTest.start(router);
+        // when
+        String result;
+        try (var socket = new Socket("localhost", classUnderTest.getInstancePort())) {
+            socket.setSoTimeout(5_000);
+            socket.getOutputStream().write("GET /export HTTP/1.0\r\nHost: localhost\r\n\r\n".getBytes(StandardCharsets.UTF_8));
+            result = new String(socket.getInputStream().readAllBytes(), StandardCharsets.UTF_8);
+        }
+        // then
+        assertThat(result).startsWith("HTTP/1.1 200 OK");
+        assertThat(result).doesNotContain("Transfer-Encoding");
+        assertThat(result).contains("Connection: close\r\n");
+        assertThat(result).endsWith("\r\n\r\nline,0\nline,1\nline,2\n");
+    }
+
+    @Test
+    void testStop() throws Exception {
+        // given
+        var classUnderTest = new NioServer(0, 10);
+        var router = Router.newRouter()
+                .get("/", req -> HttpResponse.ok()
+                        .setBody(ContentType.TEXT_PLAIN, "Hello World")
+                );
+        classUnderTest.start(router);
+        var url = "http://localhost:" + classUnderTest.getInstancePort() + "/";
+        // when
+        var result = classUnderTest.stop();
+        var response = catchThrowable(() ->
+                callEndpoint(url)
+        );
+        // then
+        assertThat(result).isTrue();
+        assertThat(classUnderTest.isRunning()).isFalse();
+        assertThat(response).isInstanceOf(ConnectException.class);
+        assertThat(classUnderTest.getInstancePort()).isEqualTo(-1);
+    }
+
+    private java.net.http.HttpResponse<String> callEndpoint(String url) throws IOException, InterruptedException {
+        try (var client = HttpClient.newHttpClient()) {
+            var request = java.net.http.HttpRequest.newBuilder()
+                    .uri(java.net.URI.create(url))
+                    .build();
+            return client.send(request, java.net.http.HttpResponse.BodyHandlers.ofString());
+        }
+    }
+}